@@ -0,0 +1,88 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.dao.EstudianteRepositoryMemoria;
+import com.sena.estudiantes.modelo.Estudiante;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide el arranque de EstudianteRepositoryMemoria con datos persistidos:
+ * cargar solo la instantanea (cambios = 0) y cargar la instantanea mas una
+ * cola de cambios en el registro de escritura, que es lo que ocurre tras
+ * una caida.
+ *
+ * El repositorio que escribe los datos se abandona sin close(), como si el
+ * proceso hubiera terminado, para que la cola quede en el registro. Las
+ * cargas medidas se abren sin registro propio y no modifican los archivos.
+ *
+ * Uso: java -jar target/benchmarks.jar BenchmarkArranqueMemoria -p filas=1000000 -p cambios=0,100000
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class BenchmarkArranqueMemoria {
+
+    @Param({ "1000000" })
+    public int filas;
+
+    @Param({ "0", "100000" })
+    public int cambios;
+
+    private Path directorio;
+    private Path archivo;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        directorio = Files.createTempDirectory("bench-arranque");
+        archivo = directorio.resolve("estudiantes.mem");
+
+        // Sin sincronizacion ni compactacion: solo interesa el contenido de los archivos
+        EstudianteRepositoryMemoria escritor = new EstudianteRepositoryMemoria(archivo, true, 0, 0, 0);
+        escritor.insertarLote(DatosSinteticos.generar(0, filas));
+        escritor.guardarInstantanea();
+
+        Random aleatorio = new Random(42);
+        for (int i = 0; i < cambios; i++) {
+            Estudiante estudiante = escritor.obtenerPorId(1 + aleatorio.nextInt(filas));
+            estudiante.setSemestre(1 + aleatorio.nextInt(10));
+            escritor.actualizar(estudiante);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void borrar() throws IOException {
+        DatosSinteticos.borrar(directorio);
+    }
+
+    @Benchmark
+    public EstudianteRepositoryMemoria cargar() {
+        EstudianteRepositoryMemoria repositorio = new EstudianteRepositoryMemoria(archivo, false, 0, 0, 0);
+        if (repositorio.contarEstudiantes() != filas) {
+            throw new IllegalStateException("Se esperaban " + filas + " filas y se cargaron "
+                    + repositorio.contarEstudiantes());
+        }
+        return repositorio;
+    }
+}
@@ -0,0 +1,110 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.dao.ConexionBD;
+import com.sena.estudiantes.dao.ConexionPrestada;
+import com.sena.estudiantes.dao.EstudianteDAO;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara la latencia de la busqueda por nombre con LIKE '%x%' (recorrido
+ * completo de la tabla) contra el indice de texto FTS5 que usa
+ * EstudianteDAO.buscarPorNombre, para varios tamanos de tabla y textos.
+ *
+ * Uso: java -jar target/benchmarks.jar BenchmarkBusquedaNombre -p filas=1000000
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkBusquedaNombre {
+
+    private static final String[] NOMBRES = { "Ana", "Andres", "Camila", "Carlos", "Daniela", "Jose", "Maria",
+            "Sebastian", "Valentina", "Ines" };
+    private static final String[] APELLIDOS = { "Muñoz", "Peña", "Gomez", "Rodriguez", "Perez", "Lopez",
+            "Martinez", "Garcia", "Hernandez", "Castaño" };
+
+    @Param({ "10000", "100000", "1000000" })
+    public int filas;
+
+    @Param({ "munoz", "Peña", "castano", "rodri", "Valen", "xyz" })
+    public String busqueda;
+
+    private EstudianteDAO dao;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosSinteticos.usarArchivoTemporal("bench-busqueda");
+        dao = new EstudianteDAO();
+        dao.insertarLote(generar(filas));
+        if (!ConexionBD.obtenerInstancia().tieneIndiceTexto()) {
+            throw new IllegalStateException("El driver no incluye FTS5: buscarPorNombre usaria LIKE");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ConexionBD.obtenerInstancia().cerrarConexion();
+    }
+
+    /** Consulta original con LIKE; devuelve el numero de filas */
+    @Benchmark
+    public int like() throws SQLException {
+        try (ConexionPrestada cp = ConexionBD.obtenerInstancia().prestarLectura();
+                PreparedStatement pstmt = cp.obtener().prepareStatement(Constantes.SQL_BUSCAR_POR_NOMBRE)) {
+            pstmt.setString(1, "%" + busqueda + "%");
+            pstmt.setString(2, "%" + busqueda + "%");
+            int filas = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    filas++;
+                }
+            }
+            return filas;
+        }
+    }
+
+    @Benchmark
+    public List<Estudiante> indiceTexto() {
+        return dao.buscarPorNombre(busqueda);
+    }
+
+    private static List<Estudiante> generar(int cantidad) {
+        Random random = new Random(42);
+        List<Estudiante> estudiantes = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            estudiantes.add(new Estudiante(
+                    NOMBRES[random.nextInt(NOMBRES.length)] + i,
+                    APELLIDOS[random.nextInt(APELLIDOS.length)],
+                    "estudiante" + i + "@sena.edu.co",
+                    "Sistemas", 1 + random.nextInt(10)));
+        }
+        return estudiantes;
+    }
+}
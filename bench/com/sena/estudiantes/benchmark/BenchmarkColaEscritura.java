@@ -0,0 +1,69 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.dao.ColaEscritura;
+import com.sena.estudiantes.dao.ConexionBD;
+import com.sena.estudiantes.dao.EstudianteDAO;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara inserciones concurrentes directas (cada llamada compite por el
+ * escritor y confirma su propia transaccion) con la cola de escritura, que
+ * confirma las operaciones en grupo. Por defecto con 32 hilos.
+ *
+ * Uso: java -jar target/benchmarks.jar BenchmarkColaEscritura -t 32
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class BenchmarkColaEscritura {
+
+    private EstudianteDAO dao;
+    private ColaEscritura cola;
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosSinteticos.usarArchivoTemporal("bench-cola");
+        dao = new EstudianteDAO();
+        cola = new ColaEscritura(dao);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        cola.close();
+        ConexionBD.obtenerInstancia().cerrarConexion();
+    }
+
+    @Benchmark
+    public boolean insertarDirecto() {
+        return dao.insertar(DatosSinteticos.generar(siguiente.getAndIncrement(), 1).get(0));
+    }
+
+    @Benchmark
+    public boolean insertarConCola() throws InterruptedException, ExecutionException {
+        return cola.insertar(DatosSinteticos.generar(siguiente.getAndIncrement(), 1).get(0)).get();
+    }
+}
@@ -0,0 +1,99 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.dao.ConexionBD;
+import com.sena.estudiantes.dao.EstudianteDAO;
+import com.sena.estudiantes.exportacion.ExportadorEstudiantes;
+import com.sena.estudiantes.exportacion.ExportadorEstudiantes.Formato;
+import com.sena.estudiantes.modelo.Estudiante;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara la exportacion en streaming (ExportadorEstudiantes) en cada
+ * formato, con y sin gzip, con la forma ingenua: obtenerTodos y un
+ * toString por estudiante. Cada operacion exporta la tabla completa.
+ *
+ * Uso: java -jar target/benchmarks.jar BenchmarkExportacion -p filas=1000000
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BenchmarkExportacion {
+
+    @Param({ "100000" })
+    public int filas;
+
+    private EstudianteDAO dao;
+    private ExportadorEstudiantes exportador;
+    private Path destino;
+
+    /**
+     * Formato del exportador; solo lo usa el benchmark exportar, asi que la
+     * forma ingenua se mide una sola vez.
+     */
+    @State(Scope.Benchmark)
+    public static class Salida {
+        @Param({ "CSV", "NDJSON" })
+        public Formato formato;
+
+        @Param({ "false", "true" })
+        public boolean comprimir;
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosSinteticos.usarArchivoTemporal("bench-exportacion");
+        dao = new EstudianteDAO();
+        dao.insertarLote(DatosSinteticos.generar(0, filas));
+        exportador = new ExportadorEstudiantes(dao);
+        destino = Files.createTempFile("bench-exportacion", ".out");
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        Files.deleteIfExists(destino);
+        ConexionBD.obtenerInstancia().cerrarConexion();
+    }
+
+    /** Forma ingenua: toda la tabla en memoria y String.format por fila */
+    @Benchmark
+    public void obtenerTodosToString() throws IOException {
+        try (PrintWriter escritor = new PrintWriter(Files.newBufferedWriter(destino, StandardCharsets.UTF_8))) {
+            for (Estudiante estudiante : dao.obtenerTodos()) {
+                escritor.println(estudiante);
+            }
+        }
+    }
+
+    @Benchmark
+    public long exportar(Salida salida) throws IOException {
+        long exportadas = exportador.exportar(destino, salida.formato, salida.comprimir);
+        if (exportadas != filas) {
+            throw new IllegalStateException("Se esperaban " + filas + " filas y se exportaron " + exportadas);
+        }
+        return exportadas;
+    }
+}
@@ -0,0 +1,85 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.dao.ConexionBD;
+import com.sena.estudiantes.dao.EstudianteDAO;
+import com.sena.estudiantes.dao.ResultadoLote;
+import com.sena.estudiantes.modelo.Estudiante;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara la insercion fila a fila (insertar) con la insercion por lotes
+ * (insertarLote) sobre una base de datos temporal. Cada operacion inserta
+ * el parametro filas de estudiantes nuevos; el resultado es el tiempo de
+ * cada carga completa.
+ *
+ * Uso: java -jar target/benchmarks.jar BenchmarkInsercionLote -p filas=20000
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BenchmarkInsercionLote {
+
+    @Param({ "5000" })
+    public int filas;
+
+    private EstudianteDAO dao;
+    private int siguiente;
+    private List<Estudiante> carga;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosSinteticos.usarArchivoTemporal("bench-lote");
+        dao = new EstudianteDAO();
+    }
+
+    /** Estudiantes nuevos para cada carga, fuera de la medicion */
+    @Setup(Level.Invocation)
+    public void generarCarga() {
+        carga = DatosSinteticos.generar(siguiente, filas);
+        siguiente += filas;
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ConexionBD.obtenerInstancia().cerrarConexion();
+    }
+
+    /** Una transaccion (y un commit) por estudiante */
+    @Benchmark
+    public int insertarFilaAFila() {
+        int insertados = 0;
+        for (Estudiante estudiante : carga) {
+            if (dao.insertar(estudiante)) {
+                insertados++;
+            }
+        }
+        return insertados;
+    }
+
+    /** Una transaccion por cada Constantes.TAMANO_LOTE filas */
+    @Benchmark
+    public ResultadoLote insertarLote() {
+        return dao.insertarLote(carga);
+    }
+}
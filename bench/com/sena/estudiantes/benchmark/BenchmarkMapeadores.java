@@ -0,0 +1,150 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.dao.ConexionBD;
+import com.sena.estudiantes.dao.EstudianteDAO;
+import com.sena.estudiantes.dao.LectorFila;
+import com.sena.estudiantes.dao.MapeadorFila;
+import com.sena.estudiantes.dao.Mapeadores;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Mide el recorrido de la tabla completa con cada mapeador: uno que lee las
+ * columnas por nombre en cada fila (como el mapeo anterior), los de
+ * Mapeadores y un sumidero que acumula ID y semestre en arreglos primitivos
+ * sin crear objetos por fila.
+ *
+ * Todos usan EstudianteDAO.recorrerTodos, así que la diferencia es solo el
+ * mapeo y las columnas consultadas. Para filas por segundo, divida el
+ * parametro filas entre el tiempo de cada operacion.
+ *
+ * Uso: java -jar target/benchmarks.jar BenchmarkMapeadores -p filas=1000000
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkMapeadores {
+
+    /** Mapeo por nombre de columna en cada fila */
+    private static final MapeadorFila<Estudiante> POR_NOMBRE = new MapeadorFila<Estudiante>() {
+        @Override
+        public String columnas() {
+            return Constantes.COLUMNAS_ESTUDIANTE;
+        }
+
+        @Override
+        public LectorFila<Estudiante> preparar(ResultSet rs) {
+            return fila -> new Estudiante(fila.getInt("id"), fila.getString("nombre"), fila.getString("apellido"),
+                    fila.getString("email"), fila.getString("carrera"), fila.getInt("semestre"),
+                    fila.getInt("version"));
+        }
+    };
+
+    @Param({ "100000" })
+    public int filas;
+
+    @Param({ "POR_NOMBRE", "ESTUDIANTE", "INMUTABLE", "COMPACTO", "RESUMEN", "SUMIDERO" })
+    public String mapeador;
+
+    private EstudianteDAO dao;
+    private MapeadorFila<?> seleccionado;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosSinteticos.usarArchivoTemporal("bench-mapeadores");
+        dao = new EstudianteDAO();
+        dao.insertarLote(DatosSinteticos.generar(0, filas));
+
+        switch (mapeador) {
+            case "POR_NOMBRE":
+                seleccionado = POR_NOMBRE;
+                break;
+            case "ESTUDIANTE":
+                seleccionado = Mapeadores.ESTUDIANTE;
+                break;
+            case "INMUTABLE":
+                seleccionado = Mapeadores.INMUTABLE;
+                break;
+            case "COMPACTO":
+                seleccionado = Mapeadores.COMPACTO;
+                break;
+            case "RESUMEN":
+                seleccionado = Mapeadores.RESUMEN;
+                break;
+            default:
+                seleccionado = new SumideroColumnas(filas);
+                break;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ConexionBD.obtenerInstancia().cerrarConexion();
+    }
+
+    @Benchmark
+    public long recorrerTodos(Blackhole blackhole) {
+        long leidas = dao.recorrerTodos(seleccionado, blackhole::consume);
+        if (leidas != filas) {
+            throw new IllegalStateException(mapeador + ": se esperaban " + filas + " filas y se leyeron " + leidas);
+        }
+        return leidas;
+    }
+
+    /**
+     * Sumidero columnar: copia ID y semestre a arreglos primitivos y no
+     * devuelve objeto. Cada recorrido reescribe los arreglos desde el inicio.
+     */
+    private static class SumideroColumnas implements MapeadorFila<Void> {
+
+        private final int[] ids;
+        private final int[] semestres;
+        private int posicion;
+
+        SumideroColumnas(int filas) {
+            ids = new int[filas];
+            semestres = new int[filas];
+        }
+
+        @Override
+        public String columnas() {
+            return "id, semestre";
+        }
+
+        @Override
+        public LectorFila<Void> preparar(ResultSet rs) throws SQLException {
+            int id = rs.findColumn("id");
+            int semestre = rs.findColumn("semestre");
+            posicion = 0;
+            return fila -> {
+                ids[posicion] = fila.getInt(id);
+                semestres[posicion++] = fila.getInt(semestre);
+                return null;
+            };
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.dao.ConexionBD;
+import com.sena.estudiantes.dao.EstudianteDAO;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide la carga de la tabla completa en cada representacion y la memoria
+ * que retiene: Estudiante (obtenerTodos), EstudianteInmutable con carreras
+ * canonicas y EstudianteCompacto con textos en UTF-8.
+ *
+ * El tiempo es el de cada carga. La memoria se informa en el contador
+ * secundario bytesPorFila: la diferencia del heap usado antes y despues de
+ * cargar la lista, tras forzar varias recolecciones, dividida entre las
+ * filas; incluye la lista, los objetos y sus cadenas o arreglos. Los forks
+ * usan un heap fijo (-Xms = -Xmx) para que las mediciones sean estables.
+ *
+ * Uso: java -jar target/benchmarks.jar BenchmarkMemoriaEstudiante -p filas=1000000
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class BenchmarkMemoriaEstudiante {
+
+    @Param({ "100000" })
+    public int filas;
+
+    @Param({ "Estudiante", "EstudianteInmutable", "EstudianteCompacto" })
+    public String representacion;
+
+    private EstudianteDAO dao;
+
+    /** Lista cargada por la ultima operacion; se retiene hasta medir la memoria */
+    private List<?> cargada;
+
+    /**
+     * Memoria retenida por la lista de cada operacion, medida fuera del tiempo
+     * de la operacion.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Memoria {
+        public double bytesPorFila;
+        private long antes;
+
+        @Setup(Level.Invocation)
+        public void medirAntes(BenchmarkMemoriaEstudiante benchmark) {
+            benchmark.cargada = null;
+            antes = memoriaUsada();
+        }
+
+        @TearDown(Level.Invocation)
+        public void medirDespues(BenchmarkMemoriaEstudiante benchmark) {
+            long despues = memoriaUsada();
+            if (benchmark.cargada.size() != benchmark.filas) {
+                throw new IllegalStateException(benchmark.representacion + ": se esperaban " + benchmark.filas
+                        + " filas y se leyeron " + benchmark.cargada.size());
+            }
+            bytesPorFila = (despues - antes) / (double) benchmark.filas;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosSinteticos.usarArchivoTemporal("bench-memoria");
+        dao = new EstudianteDAO();
+        dao.insertarLote(DatosSinteticos.generar(0, filas));
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ConexionBD.obtenerInstancia().cerrarConexion();
+    }
+
+    @Benchmark
+    public List<?> cargar(Memoria memoria) {
+        switch (representacion) {
+            case "Estudiante":
+                cargada = dao.obtenerTodos();
+                break;
+            case "EstudianteInmutable":
+                cargada = dao.obtenerTodosInmutables();
+                break;
+            default:
+                cargada = dao.obtenerTodosCompactos();
+                break;
+        }
+        return cargada;
+    }
+
+    /** Heap usado tras forzar recolecciones hasta que deja de bajar */
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        long usada = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long actual = runtime.totalMemory() - runtime.freeMemory();
+            if (actual >= usada) {
+                return usada;
+            }
+            usada = actual;
+        }
+        return usada;
+    }
+}
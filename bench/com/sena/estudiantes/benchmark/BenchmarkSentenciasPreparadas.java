@@ -0,0 +1,102 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.dao.ConexionBD;
+import com.sena.estudiantes.dao.ConexionPrestada;
+import com.sena.estudiantes.dao.EstudianteDAO;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide obtenerPorId e insertar con carga sostenida, comparando la sentencia
+ * preparada en cada llamada (comportamiento anterior) con la cache de
+ * sentencias de ConexionPrestada que usa EstudianteDAO.
+ *
+ * Uso: java -jar target/benchmarks.jar BenchmarkSentenciasPreparadas
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkSentenciasPreparadas {
+
+    @Param({ "10000" })
+    public int filas;
+
+    private EstudianteDAO dao;
+    private ConexionBD pool;
+    private AtomicInteger siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosSinteticos.usarArchivoTemporal("bench-sentencias");
+        dao = new EstudianteDAO();
+        pool = ConexionBD.obtenerInstancia();
+        dao.insertarLote(DatosSinteticos.generar(0, filas));
+        siguiente = new AtomicInteger(filas);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        pool.cerrarConexion();
+    }
+
+    @Benchmark
+    public boolean obtenerPorIdSinCache() throws SQLException {
+        try (ConexionPrestada cp = pool.prestarLectura();
+                PreparedStatement pstmt = cp.obtener().prepareStatement(Constantes.SQL_OBTENER_POR_ID)) {
+            pstmt.setInt(1, 1 + ThreadLocalRandom.current().nextInt(filas));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Benchmark
+    public Estudiante obtenerPorIdConCache() {
+        return dao.obtenerPorId(1 + ThreadLocalRandom.current().nextInt(filas));
+    }
+
+    @Benchmark
+    public int insertarSinCache() throws SQLException {
+        Estudiante e = DatosSinteticos.generar(siguiente.getAndIncrement(), 1).get(0);
+        try (ConexionPrestada cp = pool.prestarEscritura();
+                PreparedStatement pstmt = cp.obtener().prepareStatement(Constantes.SQL_INSERTAR)) {
+            pstmt.setString(1, e.getNombre());
+            pstmt.setString(2, e.getApellido());
+            pstmt.setString(3, e.getEmail());
+            pstmt.setString(4, e.getCarrera());
+            pstmt.setInt(5, e.getSemestre());
+            return pstmt.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public boolean insertarConCache() {
+        return dao.insertar(DatosSinteticos.generar(siguiente.getAndIncrement(), 1).get(0));
+    }
+}
@@ -0,0 +1,103 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos y bases de datos de prueba compartidos por los benchmarks.
+ *
+ * El pool de conexiones (ConexionBD) es unico por JVM y lee la URL de la
+ * base de datos al crearse, asi que cada benchmark elige su base en el
+ * setup de nivel Trial, antes de crear el DAO. JMH ejecuta cada benchmark
+ * y cada combinacion de parametros en su propio fork.
+ *
+ * Todos los benchmarks con SQLite pasan por esta clase antes de crear el
+ * DAO, asi que aqui tambien se aparta el registro de consultas lentas del
+ * arbol de trabajo: salvo que el fork reciba
+ * -Destudiantes.consultas.lentas.archivo, se escribe en un archivo del
+ * directorio temporal del sistema.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+final class DatosSinteticos {
+
+    private static final String[] CARRERAS = { "Sistemas", "Contabilidad", "Enfermeria", "Electronica",
+            "Logistica" };
+
+    static {
+        if (System.getProperty(Constantes.PROP_CONSULTAS_LENTAS_ARCHIVO) == null) {
+            try {
+                File archivo = File.createTempFile("bench-consultas-lentas", ".log");
+                System.setProperty(Constantes.PROP_CONSULTAS_LENTAS_ARCHIVO, archivo.getAbsolutePath());
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo crear el registro de consultas lentas", e);
+            }
+        }
+    }
+
+    private DatosSinteticos() {
+        throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
+    }
+
+    /**
+     * Genera estudiantes sinteticos con emails unicos a partir de un desplazamiento.
+     * El mismo desplazamiento produce siempre los mismos datos.
+     *
+     * @param desde    Numero del primer estudiante
+     * @param cantidad Estudiantes a generar
+     * @return Estudiantes sin ID
+     */
+    static List<Estudiante> generar(int desde, int cantidad) {
+        List<Estudiante> estudiantes = new ArrayList<>(cantidad);
+        for (int i = desde; i < desde + cantidad; i++) {
+            estudiantes.add(new Estudiante("Nombre" + i, "Apellido" + i, "estudiante" + i + "@sena.edu.co",
+                    CARRERAS[i % CARRERAS.length], 1 + i % 10));
+        }
+        return estudiantes;
+    }
+
+    /**
+     * Apunta el pool a una base de datos nueva en un archivo temporal, que
+     * se borra al terminar la JVM junto con sus archivos -wal y -shm.
+     *
+     * @param prefijo Prefijo del archivo
+     */
+    static void usarArchivoTemporal(String prefijo) throws IOException {
+        File archivo = File.createTempFile(prefijo, ".db");
+        archivo.deleteOnExit();
+        new File(archivo.getPath() + "-wal").deleteOnExit();
+        new File(archivo.getPath() + "-shm").deleteOnExit();
+        System.setProperty(Constantes.PROP_DB_URL, "jdbc:sqlite:" + archivo.getAbsolutePath());
+    }
+
+    /**
+     * Apunta el pool a una base de datos SQLite en memoria con cache
+     * compartida, para que todas las conexiones del pool vean la misma base.
+     *
+     * @param nombre Nombre de la base en memoria
+     */
+    static void usarMemoria(String nombre) {
+        System.setProperty(Constantes.PROP_DB_URL, "jdbc:sqlite:file:" + nombre + "?mode=memory&cache=shared");
+    }
+
+    /**
+     * Borra un directorio temporal y los archivos que contiene.
+     *
+     * @param directorio Directorio sin subdirectorios
+     */
+    static void borrar(Path directorio) throws IOException {
+        try (java.util.stream.Stream<Path> archivos = Files.list(directorio)) {
+            for (Path archivo : (Iterable<Path>) archivos::iterator) {
+                Files.delete(archivo);
+            }
+        }
+        Files.delete(directorio);
+    }
+}
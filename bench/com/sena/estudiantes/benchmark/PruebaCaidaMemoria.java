@@ -0,0 +1,203 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.dao.EstudianteRepository;
+import com.sena.estudiantes.dao.EstudianteRepositoryMemoria;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.modelo.EstudianteInmutable;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de consistencia ante caidas de EstudianteRepositoryMemoria con
+ * registro de escritura.
+ *
+ * En cada ronda un proceso hijo aplica una secuencia determinista de
+ * inserciones, actualizaciones y eliminaciones, e imprime el numero de cada
+ * operacion cuando termina. El padre lo mata (destroyForcibly, como kill -9)
+ * en un momento aleatorio, con escrituras del registro e instantaneas en
+ * curso, y abre el repositorio: su contenido debe ser exactamente el de
+ * aplicar en memoria las operaciones confirmadas, o esas mas la que estaba
+ * en curso. La compactacion se configura muy pequena para que las caidas
+ * tambien ocurran al rotar el registro y al escribir instantaneas.
+ *
+ * Las rondas impares ademas recortan unos bytes del final del registro, como
+ * un corte de energia que deja el ultimo cambio a medias: entonces basta con
+ * que el contenido corresponda a un prefijo reciente de las operaciones.
+ *
+ * Uso: java -cp target/benchmarks.jar com.sena.estudiantes.benchmark.PruebaCaidaMemoria [rondas] [semilla]
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class PruebaCaidaMemoria {
+
+    private static final String[] CARRERAS = { "Sistemas", "Contabilidad", "Enfermería", "Diseño" };
+    private static final String[] APELLIDOS = { "Gómez", "Muñoz", "Pérez", "O'Neil", "Zapata", "Ñúñez" };
+
+    /** Bytes de un cambio completo como minimo; recortar menos solo puede dañar el ultimo */
+    private static final int RECORTE_MAXIMO = 20;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("hijo")) {
+            ejecutarHijo(Paths.get(args[1]), Long.parseLong(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+
+        int rondas = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        System.out.println("# rondas=" + rondas + " semilla=" + semilla);
+
+        Random aleatorio = new Random(semilla);
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            ejecutarRonda(ronda, aleatorio.nextLong(), aleatorio);
+        }
+        System.out.println("[OK] " + rondas + " rondas sin perdidas ni cambios parciales");
+    }
+
+    private static void ejecutarRonda(int ronda, long semilla, Random aleatorio) throws Exception {
+        Path directorio = Files.createTempDirectory("prueba-caida");
+        Path archivo = directorio.resolve("estudiantes.mem");
+        int registrosPorSync = ronda % 4 < 2 ? 1 : 0;
+
+        Process hijo = new ProcessBuilder(System.getProperty("java.home") + File.separator + "bin" + File.separator
+                + "java", "-cp", System.getProperty("java.class.path"), PruebaCaidaMemoria.class.getName(), "hijo",
+                archivo.toString(), Long.toString(semilla), Integer.toString(registrosPorSync))
+                .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+
+        AtomicLong confirmadas = new AtomicLong(-1);
+        Thread lector = new Thread(() -> {
+            try (BufferedReader entrada = new BufferedReader(
+                    new InputStreamReader(hijo.getInputStream(), StandardCharsets.UTF_8))) {
+                String linea;
+                while ((linea = entrada.readLine()) != null) {
+                    confirmadas.set(Long.parseLong(linea.trim()));
+                }
+            } catch (IOException e) {
+                // El hijo murio a mitad de una linea
+            }
+        });
+        lector.start();
+
+        Thread.sleep(300 + aleatorio.nextInt(1500));
+        hijo.destroyForcibly().waitFor();
+        lector.join();
+        long ultima = confirmadas.get();
+
+        boolean recortado = ronda % 2 == 1;
+        Path registro = directorio.resolve("estudiantes.mem.wal");
+        if (recortado && Files.exists(registro) && Files.size(registro) > 0) {
+            try (RandomAccessFile salida = new RandomAccessFile(registro.toFile(), "rw")) {
+                salida.setLength(Math.max(0, salida.length() - 1 - aleatorio.nextInt(RECORTE_MAXIMO)));
+            }
+        }
+
+        EstudianteRepositoryMemoria recuperado = new EstudianteRepositoryMemoria(archivo, true, 1, 0, 0);
+        List<EstudianteInmutable> filas = recuperado.obtenerTodosInmutables();
+        long coincide = buscarPrefijo(semilla, filas, recortado ? Math.max(-1, ultima - 50) : ultima, ultima + 1);
+        if (coincide == Long.MIN_VALUE) {
+            throw new IllegalStateException("Ronda " + ronda + " (semilla " + semilla + "): " + filas.size()
+                    + " filas recuperadas que no corresponden a las operaciones confirmadas hasta " + ultima);
+        }
+        comprobarIndices(recuperado, filas.size());
+
+        // El repositorio recuperado sigue funcionando y lo que escribe sobrevive a un cierre normal
+        Estudiante nuevo = new Estudiante("Despues", "Caida", "despues.caida@sena.edu.co", "Sistemas", 1);
+        if (!recuperado.insertar(nuevo)) {
+            throw new IllegalStateException("Ronda " + ronda + ": no se pudo insertar tras recuperar");
+        }
+        recuperado.close();
+        EstudianteRepositoryMemoria reabierto = new EstudianteRepositoryMemoria(archivo, true, 1, 0, 0);
+        if (reabierto.contarEstudiantes() != filas.size() + 1 || reabierto.obtenerPorId(nuevo.getId()) == null) {
+            throw new IllegalStateException("Ronda " + ronda + ": se perdieron datos al cerrar y reabrir");
+        }
+        reabierto.close();
+
+        System.out.printf("ronda %2d  sync=%d  confirmadas=%,7d  recuperadas=%,7d  filas=%,6d%s%n", ronda,
+                registrosPorSync, ultima + 1, coincide + 1, filas.size(), recortado ? "  (registro recortado)" : "");
+        borrar(directorio);
+    }
+
+    /**
+     * Aplica las operaciones en un repositorio sin archivo y devuelve la
+     * ultima operacion k (desde <= k <= hasta; -1 si ninguna) tras la que el
+     * contenido es igual al recuperado, o Long.MIN_VALUE si no hay ninguna.
+     */
+    private static long buscarPrefijo(long semilla, List<EstudianteInmutable> recuperadas, long desde, long hasta) {
+        EstudianteRepositoryMemoria esperado = new EstudianteRepositoryMemoria();
+        for (long k = -1; k <= hasta; k++) {
+            if (k >= 0) {
+                aplicar(esperado, semilla, k);
+            }
+            if (k >= desde && esperado.obtenerTodosInmutables().equals(recuperadas)) {
+                return k;
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private static void comprobarIndices(EstudianteRepository repositorio, int filas) {
+        int porSemestre = 0;
+        for (int cantidad : repositorio.contarPorSemestre()) {
+            porSemestre += cantidad;
+        }
+        if (repositorio.contarEstudiantes() != filas || porSemestre != filas
+                || repositorio.buscarPorApellido("", Integer.MAX_VALUE).size() != filas
+                || repositorio.contar(null, 1, 10) != filas) {
+            throw new IllegalStateException("Indices inconsistentes con " + filas + " filas");
+        }
+    }
+
+    /**
+     * Proceso hijo: aplica operaciones sin fin e imprime cada una al terminar.
+     */
+    private static void ejecutarHijo(Path archivo, long semilla, int registrosPorSync) {
+        EstudianteRepositoryMemoria repositorio = new EstudianteRepositoryMemoria(archivo, true, registrosPorSync, 5,
+                64 * 1024);
+        for (long i = 0;; i++) {
+            aplicar(repositorio, semilla, i);
+            System.out.println(i);
+        }
+    }
+
+    /**
+     * Operacion i de la secuencia: depende solo de la semilla, de i y del
+     * contenido del repositorio, asi que se repite igual en cualquier proceso.
+     */
+    private static void aplicar(EstudianteRepository repositorio, long semilla, long i) {
+        Random aleatorio = new Random(semilla * 31 + i);
+        int tipo = aleatorio.nextInt(100);
+        if (tipo < 60) {
+            repositorio.insertar(new Estudiante("Nombre" + i, APELLIDOS[aleatorio.nextInt(APELLIDOS.length)] + i,
+                    "estudiante" + i + "@sena.edu.co", CARRERAS[aleatorio.nextInt(CARRERAS.length)],
+                    1 + aleatorio.nextInt(10)));
+        } else if (tipo < 85) {
+            Estudiante estudiante = repositorio.obtenerPorId(1 + aleatorio.nextInt((int) i + 1));
+            if (estudiante != null) {
+                estudiante.setNombre("Nombre" + i + " 🎓");
+                estudiante.setSemestre(1 + aleatorio.nextInt(10));
+                repositorio.actualizarCambios(estudiante);
+            }
+        } else {
+            repositorio.eliminar(1 + aleatorio.nextInt((int) i + 1));
+        }
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        try (java.util.stream.Stream<Path> archivos = Files.list(directorio)) {
+            for (Path archivo : (Iterable<Path>) archivos::iterator) {
+                Files.delete(archivo);
+            }
+        }
+        Files.delete(directorio);
+    }
+}
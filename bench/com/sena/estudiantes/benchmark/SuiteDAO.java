@@ -0,0 +1,172 @@
+package com.sena.estudiantes.benchmark;
+
+import com.sena.estudiantes.dao.ConexionBD;
+import com.sena.estudiantes.dao.EstudianteDAO;
+import com.sena.estudiantes.dao.EstudianteRepository;
+import com.sena.estudiantes.dao.EstudianteRepositoryMemoria;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Suite JMH de los caminos principales de EstudianteRepository:
+ * insertar, obtenerTodos, obtenerPorId, buscarPorNombre, buscarPorApellido,
+ * actualizar, eliminar y contarEstudiantes.
+ *
+ * Cada fork usa una base de datos nueva con datos sinteticos de tamano fijo
+ * (parametro filas, datos deterministas), segun el parametro almacenamiento:
+ * "archivo" (SQLite en archivo temporal), "memoria" (SQLite en memoria) o
+ * "motor-memoria" (EstudianteRepositoryMemoria, sin SQLite). El perfil de
+ * SQLite se elige con el parametro perfil (DURABLE, BALANCEADO,
+ * CARGA_MASIVA). Los hilos se eligen con la opcion -t de JMH.
+ *
+ * Los forks arrancan con -Destudiantes.planes.estricto=true: la ejecucion
+ * se detiene si alguna consulta frecuente del DAO recorre toda la tabla.
+ *
+ * Uso: java -jar target/benchmarks.jar SuiteDAO -p filas=10000 -p almacenamiento=archivo -t 4
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-D" + Constantes.PROP_PLANES_ESTRICTO + "=true")
+public class SuiteDAO {
+
+    /** Filas que cada hilo elimina por iteracion de eliminar */
+    private static final int LOTE_ELIMINAR = 1_000;
+
+    @Param({ "1000", "10000", "100000" })
+    public int filas;
+
+    @Param({ "archivo", "memoria", "motor-memoria" })
+    public String almacenamiento;
+
+    @Param({ "BALANCEADO" })
+    public String perfil;
+
+    private EstudianteRepository dao;
+
+    /** Numero del siguiente estudiante sintetico; los primeros filas ya estan insertados */
+    private AtomicInteger siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        if (almacenamiento.equals("memoria")) {
+            DatosSinteticos.usarMemoria("suite");
+        } else if (!almacenamiento.equals("motor-memoria")) {
+            DatosSinteticos.usarArchivoTemporal("bench-suite");
+        }
+        System.setProperty(Constantes.PROP_PERFIL, perfil);
+
+        dao = almacenamiento.equals("motor-memoria") ? new EstudianteRepositoryMemoria() : new EstudianteDAO();
+        dao.insertarLote(DatosSinteticos.generar(0, filas));
+        siguiente = new AtomicInteger(filas);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        if (dao instanceof EstudianteDAO) {
+            ConexionBD.obtenerInstancia().cerrarConexion();
+        }
+    }
+
+    /**
+     * Estudiantes insertados antes de cada iteracion de eliminar, para que
+     * cada hilo elimine filas existentes sin medir su insercion.
+     */
+    @State(Scope.Thread)
+    public static class PorEliminar {
+        private int[] ids;
+        private int posicion;
+
+        @Setup(Level.Iteration)
+        public void preparar(SuiteDAO suite) {
+            List<Estudiante> nuevos = DatosSinteticos.generar(suite.siguiente.getAndAdd(LOTE_ELIMINAR),
+                    LOTE_ELIMINAR);
+            suite.dao.insertarLote(nuevos);
+            ids = new int[nuevos.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = nuevos.get(i).getId();
+            }
+            posicion = 0;
+        }
+    }
+
+    @Benchmark
+    public Estudiante obtenerPorId() {
+        return dao.obtenerPorId(idAleatorio());
+    }
+
+    @Benchmark
+    public List<Estudiante> buscarPorNombre() {
+        return dao.buscarPorNombre("Nombre" + idAleatorio());
+    }
+
+    @Benchmark
+    public List<Estudiante> buscarPorApellido() {
+        return dao.buscarPorApellido("Apellido" + idAleatorio(), 20);
+    }
+
+    @Benchmark
+    public int contarEstudiantes() {
+        return dao.contarEstudiantes();
+    }
+
+    @Benchmark
+    public List<Estudiante> obtenerTodos() {
+        return dao.obtenerTodos();
+    }
+
+    @Benchmark
+    public boolean insertar() {
+        return dao.insertar(DatosSinteticos.generar(siguiente.getAndIncrement(), 1).get(0));
+    }
+
+    @Benchmark
+    public boolean actualizar() {
+        // La fila N se genero con el numero N - 1: se conservan sus textos y su
+        // email (unico) y solo cambia el semestre, para que la actualizacion tenga exito
+        int id = idAleatorio();
+        int numero = id - 1;
+        return dao.actualizar(new Estudiante(id, "Nombre" + numero, "Apellido" + numero,
+                "estudiante" + numero + "@sena.edu.co", "Sistemas", 1 + ThreadLocalRandom.current().nextInt(10)));
+    }
+
+    /**
+     * eliminar consume filas: cada iteracion es un lote fijo de LOTE_ELIMINAR
+     * eliminaciones por hilo y el resultado es el tiempo de cada lote.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2, batchSize = LOTE_ELIMINAR)
+    @Measurement(iterations = 5, batchSize = LOTE_ELIMINAR)
+    public boolean eliminar(PorEliminar porEliminar) {
+        return dao.eliminar(porEliminar.ids[porEliminar.posicion++]);
+    }
+
+    private int idAleatorio() {
+        return 1 + ThreadLocalRandom.current().nextInt(filas);
+    }
+}
@@ -0,0 +1,36 @@
+#!/bin/sh
+# ========================================
+#   Benchmarks del Sistema de Estudiantes
+# ========================================
+#
+# Compila los benchmarks JMH (perfil jmh de Maven) y ejecuta la suite de
+# EstudianteRepository para cada combinacion de tamano de tabla,
+# almacenamiento, hilos y perfil de SQLite. JMH corre cada combinacion en su
+# propia JVM.
+#
+# Uso: ./benchmark.sh [tamanos] [hilos] [perfiles]
+#   ./benchmark.sh                    -> tamanos "1000 10000 100000", hilos "1 <nucleos>", perfil BALANCEADO
+#   ./benchmark.sh "10000" "1 8" "DURABLE BALANCEADO CARGA_MASIVA"
+
+TAMANOS=${1:-"1000 10000 100000"}
+HILOS=${2:-"1 $(nproc)"}
+PERFILES=${3:-"BALANCEADO"}
+
+# JMH recibe los valores de un parametro separados por comas
+separar() {
+    echo "$1" | tr -s ' ' ','
+}
+
+echo "Compilando benchmarks..."
+mvn -B -q -P jmh package -DskipTests || {
+    echo "[ERROR] Error en la compilacion."
+    exit 1
+}
+
+for hilos in $HILOS; do
+    java -jar target/benchmarks.jar SuiteDAO -t "$hilos" \
+        -p filas="$(separar "$TAMANOS")" \
+        -p almacenamiento=archivo,memoria,motor-memoria \
+        -p perfil="$(separar "$PERFILES")"
+    echo
+done
@@ -0,0 +1,452 @@
+package com.sena.estudiantes.analitica;
+
+import com.sena.estudiantes.dao.EscuchaCambios;
+import com.sena.estudiantes.dao.EstudianteDAO;
+import com.sena.estudiantes.dao.LectorFila;
+import com.sena.estudiantes.dao.MapeadorFila;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.MapaEnteros;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Instantánea en memoria de la tabla de estudiantes, organizada por columnas,
+ * para consultas de análisis (conteos por carrera y semestre, distribuciones).
+ *
+ * Cada columna es un arreglo: IDs y semestres como int[], la carrera como un
+ * código int[] de un diccionario y los nombres como cadenas deduplicadas
+ * (cada cadena se conserva mientras alguna fila la use).
+ * Las agrupaciones y filtros recorren los arreglos primitivos sin consultar
+ * la base de datos ni crear objetos por fila; con muchas filas se reparten
+ * entre núcleos con streams paralelos.
+ *
+ * Se construye con un solo recorrido de la tabla y luego se mantiene al día
+ * con los cambios que notifica el DAO (EscuchaCambios).
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class InstantaneaEstudiantes implements EscuchaCambios {
+
+    /** Filas a partir de las cuales las agregaciones se ejecutan en paralelo */
+    private static final int UMBRAL_PARALELO = 100_000;
+
+    /** Semestres válidos según el CHECK de la tabla: 1 a 10 */
+    private static final int SEMESTRES = 10;
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    // Columnas; las posiciones [0, filas) están ocupadas
+    private int[] ids = new int[1024];
+    private int[] semestres = new int[1024];
+    private int[] carreras = new int[1024];
+    private String[] nombres = new String[1024];
+    private String[] apellidos = new String[1024];
+    private int filas;
+
+    // Posición de cada ID en las columnas
+    private final MapaEnteros posiciones = new MapaEnteros(1024);
+
+    // Diccionario de carreras: código <-> texto
+    private final List<String> carrerasPorCodigo = new ArrayList<>();
+    private final Map<String, Integer> codigosPorCarrera = new HashMap<>();
+
+    // Cadenas deduplicadas de nombres y apellidos, con el número de usos
+    private final Map<String, Cadena> cadenas = new HashMap<>();
+
+    // Cambios recibidos durante la carga, en orden; null una vez cargada
+    private List<Runnable> diferidos = new ArrayList<>();
+
+    /**
+     * Construye la instantánea recorriendo la tabla una vez y la suscribe a
+     * los cambios del DAO.
+     *
+     * Se suscribe antes del recorrido y encola los cambios que llegan
+     * mientras tanto; al terminar los aplica en orden sobre lo leído. El
+     * recorrido es una sola consulta y ve la tabla en un único momento, así
+     * que un cambio confirmado después no aparece en él pero sí en la cola, y
+     * uno confirmado antes queda igual al repetirse (insertar y actualizar se
+     * aplican como reemplazo y eliminar una fila ausente no hace nada).
+     *
+     * El recorrido consulta solo las columnas de la instantánea y escribe
+     * cada fila directamente en los arreglos, sin crear un Estudiante.
+     *
+     * @param dao DAO del que se leen los datos y se reciben los cambios
+     * @return Instantánea cargada
+     * @throws IllegalStateException Si el recorrido de la tabla falla; la
+     *                               instantánea incompleta se descarta
+     */
+    public static InstantaneaEstudiantes construir(EstudianteDAO dao) {
+        InstantaneaEstudiantes instantanea = new InstantaneaEstudiantes();
+        dao.agregarEscucha(instantanea);
+        boolean cargada = false;
+        try {
+            long leidas = dao.recorrerTodos(instantanea.new Columnas(), fila -> {
+            });
+            if (leidas < 0) {
+                throw new IllegalStateException("No se pudo recorrer la tabla de estudiantes para la instantanea");
+            }
+            instantanea.terminarCarga();
+            cargada = true;
+            return instantanea;
+        } finally {
+            if (!cargada) {
+                // Una instantánea incompleta no debe seguir recibiendo cambios
+                dao.quitarEscucha(instantanea);
+            }
+        }
+    }
+
+    /**
+     * Mapeador que vuelca cada fila en las columnas de la instantánea y no
+     * devuelve objeto.
+     */
+    private class Columnas implements MapeadorFila<Void> {
+
+        @Override
+        public String columnas() {
+            return "id, nombre, apellido, carrera, semestre";
+        }
+
+        @Override
+        public LectorFila<Void> preparar(ResultSet rs) throws SQLException {
+            int id = rs.findColumn("id");
+            int nombre = rs.findColumn("nombre");
+            int apellido = rs.findColumn("apellido");
+            int carrera = rs.findColumn("carrera");
+            int semestre = rs.findColumn("semestre");
+            return fila -> {
+                guardar(fila.getInt(id), fila.getString(nombre), fila.getString(apellido),
+                        fila.getString(carrera), fila.getInt(semestre));
+                return null;
+            };
+        }
+    }
+
+    // ==================== CAMBIOS DEL DAO ====================
+
+    @Override
+    public void alInsertar(Estudiante estudiante) {
+        guardar(estudiante);
+    }
+
+    @Override
+    public void alActualizar(Estudiante estudiante) {
+        guardar(estudiante);
+    }
+
+    @Override
+    public void alEliminar(int id) {
+        aplicar(() -> eliminarFila(id));
+    }
+
+    /**
+     * Inserta o reemplaza la fila de un estudiante. Copia sus campos al
+     * recibir el aviso, porque el objeto puede cambiar antes de aplicarlo.
+     */
+    private void guardar(Estudiante estudiante) {
+        int id = estudiante.getId();
+        String nombre = estudiante.getNombre();
+        String apellido = estudiante.getApellido();
+        String carrera = estudiante.getCarrera();
+        int semestre = estudiante.getSemestre();
+        aplicar(() -> guardarFila(id, nombre, apellido, carrera, semestre));
+    }
+
+    /**
+     * Aplica un cambio del DAO, o lo encola si la carga no ha terminado.
+     */
+    private void aplicar(Runnable cambio) {
+        candado.writeLock().lock();
+        try {
+            if (diferidos != null) {
+                diferidos.add(cambio);
+            } else {
+                cambio.run();
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica en orden los cambios recibidos durante la carga y desde ahí
+     * aplica los nuevos directamente.
+     */
+    private void terminarCarga() {
+        candado.writeLock().lock();
+        try {
+            for (Runnable cambio : diferidos) {
+                cambio.run();
+            }
+            diferidos = null;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserta o reemplaza una fila leída en la carga.
+     */
+    private void guardar(int id, String nombre, String apellido, String carrera, int semestre) {
+        candado.writeLock().lock();
+        try {
+            guardarFila(id, nombre, apellido, carrera, semestre);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserta o reemplaza una fila a partir de sus columnas. Requiere el
+     * candado de escritura.
+     */
+    private void guardarFila(int id, String nombre, String apellido, String carrera, int semestre) {
+        // Se retienen las cadenas nuevas antes de liberar las anteriores por si son las mismas
+        String nombreRetenido = retener(nombre);
+        String apellidoRetenido = retener(apellido);
+        int posicion = posiciones.obtener(id);
+        if (posicion < 0) {
+            if (filas == ids.length) {
+                crecer();
+            }
+            posicion = filas++;
+            posiciones.poner(id, posicion);
+        } else {
+            liberar(nombres[posicion]);
+            liberar(apellidos[posicion]);
+        }
+        ids[posicion] = id;
+        semestres[posicion] = semestre;
+        carreras[posicion] = codificarCarrera(carrera);
+        nombres[posicion] = nombreRetenido;
+        apellidos[posicion] = apellidoRetenido;
+    }
+
+    /**
+     * Quita la fila de un ID si existe. Requiere el candado de escritura.
+     */
+    private void eliminarFila(int id) {
+        int posicion = posiciones.quitar(id);
+        if (posicion < 0) {
+            return;
+        }
+        liberar(nombres[posicion]);
+        liberar(apellidos[posicion]);
+
+        // La última fila ocupa el hueco para mantener las columnas compactas
+        int ultima = --filas;
+        if (posicion != ultima) {
+            ids[posicion] = ids[ultima];
+            semestres[posicion] = semestres[ultima];
+            carreras[posicion] = carreras[ultima];
+            nombres[posicion] = nombres[ultima];
+            apellidos[posicion] = apellidos[ultima];
+            posiciones.poner(ids[posicion], posicion);
+        }
+        nombres[ultima] = null;
+        apellidos[ultima] = null;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * @return Número de estudiantes
+     */
+    public int contar() {
+        candado.readLock().lock();
+        try {
+            return filas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta los estudiantes de una carrera en un rango de semestres.
+     *
+     * @param carrera      Carrera exacta, o null para todas
+     * @param semestreDesde Semestre inicial (incluido)
+     * @param semestreHasta Semestre final (incluido)
+     * @return Número de estudiantes que cumplen el filtro
+     */
+    public int contar(String carrera, int semestreDesde, int semestreHasta) {
+        candado.readLock().lock();
+        try {
+            int codigo;
+            if (carrera == null) {
+                codigo = -1;
+            } else {
+                Integer encontrado = codigosPorCarrera.get(carrera);
+                if (encontrado == null) {
+                    return 0;
+                }
+                codigo = encontrado;
+            }
+            int[] columnaCarreras = carreras;
+            int[] columnaSemestres = semestres;
+            return (int) rango().filter(i -> (codigo < 0 || columnaCarreras[i] == codigo)
+                    && columnaSemestres[i] >= semestreDesde && columnaSemestres[i] <= semestreHasta).count();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distribución de estudiantes por semestre.
+     *
+     * @return Arreglo donde la posición s tiene el número de estudiantes del semestre s (1 a 10)
+     */
+    public int[] contarPorSemestre() {
+        candado.readLock().lock();
+        try {
+            int[] columna = semestres;
+            return rango().collect(() -> new int[SEMESTRES + 1],
+                    (conteo, i) -> conteo[columna[i]]++,
+                    InstantaneaEstudiantes::sumar);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Número de estudiantes por carrera.
+     *
+     * @return Mapa carrera a número de estudiantes, en orden de aparición
+     */
+    public Map<String, Integer> contarPorCarrera() {
+        candado.readLock().lock();
+        try {
+            int[] columna = carreras;
+            int[] conteo = rango().collect(() -> new int[carrerasPorCodigo.size()],
+                    (c, i) -> c[columna[i]]++,
+                    InstantaneaEstudiantes::sumar);
+            Map<String, Integer> resultado = new LinkedHashMap<>();
+            for (int codigo = 0; codigo < conteo.length; codigo++) {
+                if (conteo[codigo] > 0) {
+                    resultado.put(carrerasPorCodigo.get(codigo), conteo[codigo]);
+                }
+            }
+            return resultado;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Matriz de conteos carrera x semestre.
+     * La fila es el código de carrera (ver nombreCarrera) y la columna el semestre.
+     *
+     * @return Matriz [carreras][11] con los conteos
+     */
+    public int[][] contarPorCarreraYSemestre() {
+        candado.readLock().lock();
+        try {
+            int[] columnaCarreras = carreras;
+            int[] columnaSemestres = semestres;
+            int totalCarreras = carrerasPorCodigo.size();
+            // Matriz aplanada para que cada hilo acumule en un solo arreglo
+            int[] plana = rango().collect(() -> new int[totalCarreras * (SEMESTRES + 1)],
+                    (c, i) -> c[columnaCarreras[i] * (SEMESTRES + 1) + columnaSemestres[i]]++,
+                    InstantaneaEstudiantes::sumar);
+            int[][] matriz = new int[totalCarreras][];
+            for (int codigo = 0; codigo < totalCarreras; codigo++) {
+                matriz[codigo] = Arrays.copyOfRange(plana, codigo * (SEMESTRES + 1), (codigo + 1) * (SEMESTRES + 1));
+            }
+            return matriz;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre de la carrera correspondiente a un código del diccionario.
+     *
+     * @param codigo Código de carrera (fila de contarPorCarreraYSemestre)
+     * @return Nombre de la carrera
+     */
+    public String nombreCarrera(int codigo) {
+        candado.readLock().lock();
+        try {
+            return carrerasPorCodigo.get(codigo);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    // ==================== METODOS AUXILIARES ====================
+
+    /**
+     * Posiciones ocupadas, en paralelo si hay suficientes filas.
+     */
+    private IntStream rango() {
+        IntStream posicionesOcupadas = IntStream.range(0, filas);
+        return filas >= UMBRAL_PARALELO ? posicionesOcupadas.parallel() : posicionesOcupadas;
+    }
+
+    private static void sumar(int[] destino, int[] origen) {
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] += origen[i];
+        }
+    }
+
+    private int codificarCarrera(String carrera) {
+        Integer codigo = codigosPorCarrera.get(carrera);
+        if (codigo == null) {
+            codigo = carrerasPorCodigo.size();
+            carrerasPorCodigo.add(carrera);
+            codigosPorCarrera.put(carrera, codigo);
+        }
+        return codigo;
+    }
+
+    /**
+     * Devuelve la copia compartida de un texto y suma un uso.
+     */
+    private String retener(String texto) {
+        Cadena cadena = cadenas.get(texto);
+        if (cadena == null) {
+            cadena = new Cadena(texto);
+            cadenas.put(texto, cadena);
+        }
+        cadena.usos++;
+        return cadena.texto;
+    }
+
+    /**
+     * Resta un uso a un texto y lo olvida cuando ninguna fila lo usa.
+     */
+    private void liberar(String texto) {
+        Cadena cadena = cadenas.get(texto);
+        if (cadena != null && --cadena.usos == 0) {
+            cadenas.remove(texto);
+        }
+    }
+
+    private void crecer() {
+        int capacidad = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacidad);
+        semestres = Arrays.copyOf(semestres, capacidad);
+        carreras = Arrays.copyOf(carreras, capacidad);
+        nombres = Arrays.copyOf(nombres, capacidad);
+        apellidos = Arrays.copyOf(apellidos, capacidad);
+    }
+
+    /** Texto compartido y número de filas que lo usan */
+    private static final class Cadena {
+        private final String texto;
+        private int usos;
+
+        Cadena(String texto) {
+            this.texto = texto;
+        }
+    }
+}
@@ -2,11 +2,25 @@ package com.sena.estudiantes.app;
 
 import com.sena.estudiantes.dao.ConexionBD;
 import com.sena.estudiantes.dao.EstudianteDAO;
+import com.sena.estudiantes.dao.EstudianteDAOCache;
+import com.sena.estudiantes.dao.EstudianteRepository;
+import com.sena.estudiantes.dao.EstudianteRepositoryMemoria;
+import com.sena.estudiantes.exportacion.ExportadorEstudiantes;
+import com.sena.estudiantes.importacion.ImportadorCSV;
+import com.sena.estudiantes.importacion.ResultadoImportacion;
+import com.sena.estudiantes.metricas.MetricaOperacion;
+import com.sena.estudiantes.metricas.MetricasDAO;
+import com.sena.estudiantes.metricas.OperacionDAO;
 import com.sena.estudiantes.modelo.Estudiante;
 import com.sena.estudiantes.util.Constantes;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.IntFunction;
 
 /**
  * Clase principal de la aplicacion.
@@ -18,7 +32,8 @@ import java.util.Scanner;
 public class Main {
 
     private static final Scanner scanner = new Scanner(System.in);
-    private static EstudianteDAO estudianteDAO;
+    private static EstudianteRepository estudianteDAO;
+    private static final TablaConsola tabla = new TablaConsola(System.out);
 
     /**
      * Metodo principal de la aplicacion.
@@ -31,19 +46,42 @@ public class Main {
         System.out.println("   Evidencia GA7-220501096-AA2-EV01");
         System.out.println(Constantes.SEPARADOR);
 
-        // Inicializar la conexion y el DAO
-        estudianteDAO = new EstudianteDAO();
+        // Inicializar el almacenamiento
+        estudianteDAO = crearRepositorio();
 
         // Ejecutar el menu principal
         ejecutarMenuPrincipal();
 
-        // Cerrar la conexion al salir
-        ConexionBD.obtenerInstancia().cerrarConexion();
+        // Guardar la instantanea o cerrar la conexion al salir
+        if (estudianteDAO instanceof EstudianteRepositoryMemoria) {
+            ((EstudianteRepositoryMemoria) estudianteDAO).close();
+        } else {
+            ConexionBD.obtenerInstancia().cerrarConexion();
+        }
         scanner.close();
 
         System.out.println("\nGracias por usar el Sistema de Gestion de Estudiantes!");
     }
 
+    /**
+     * Crea el repositorio segun -Destudiantes.almacenamiento: "memoria" usa
+     * EstudianteRepositoryMemoria con registro de escritura e instantaneas
+     * en el archivo configurado, sin abrir SQLite; cualquier otro valor usa
+     * SQLite, con cache si esta habilitada.
+     *
+     * @return Repositorio de estudiantes
+     */
+    private static EstudianteRepository crearRepositorio() {
+        if ("memoria".equalsIgnoreCase(System.getProperty(Constantes.PROP_ALMACENAMIENTO, "sqlite"))) {
+            String archivo = System.getProperty(Constantes.PROP_MEMORIA_ARCHIVO, Constantes.MEMORIA_ARCHIVO);
+            System.out.println("[OK] Almacenamiento en memoria (archivo: " + archivo + ")");
+            return new EstudianteRepositoryMemoria(Paths.get(archivo));
+        }
+        return Constantes.CACHE_HABILITADA
+                ? new EstudianteDAOCache(new EstudianteDAO(), Constantes.CACHE_TAMANO_MAXIMO, Constantes.CACHE_TTL_MS)
+                : new EstudianteDAO();
+    }
+
     /**
      * Muestra y ejecuta el menu principal de la aplicacion.
      */
@@ -73,6 +111,15 @@ public class Main {
                 case 6:
                     eliminarEstudiante();
                     break;
+                case 7:
+                    importarEstudiantes();
+                    break;
+                case 8:
+                    exportarEstudiantes();
+                    break;
+                case 9:
+                    mostrarMetricas();
+                    break;
                 case 0:
                     System.out.println("\nSaliendo del sistema...");
                     break;
@@ -97,6 +144,9 @@ public class Main {
         System.out.println("  4. Buscar estudiantes por nombre");
         System.out.println("  5. Actualizar datos de estudiante");
         System.out.println("  6. Eliminar estudiante");
+        System.out.println("  7. Importar estudiantes desde CSV");
+        System.out.println("  8. Exportar estudiantes (CSV / NDJSON)");
+        System.out.println("  9. Ver metricas del sistema");
         System.out.println("  0. Salir");
         System.out.println(Constantes.SEPARADOR_LINEA);
     }
@@ -132,13 +182,13 @@ public class Main {
     private static void listarEstudiantes() {
         System.out.println("\n--- LISTA DE ESTUDIANTES ---\n");
 
-        List<Estudiante> estudiantes = estudianteDAO.obtenerTodos();
+        int mostrados = mostrarTablaPaginada(
+                despuesDeId -> estudianteDAO.obtenerPagina(despuesDeId, Constantes.TAMANO_PAGINA));
 
-        if (estudiantes.isEmpty()) {
+        if (mostrados == 0) {
             System.out.println(Constantes.MSG_LISTA_VACIA);
         } else {
-            mostrarTablaEstudiantes(estudiantes);
-            System.out.println("\nTotal de estudiantes: " + estudiantes.size());
+            System.out.println("\nTotal de estudiantes: " + estudianteDAO.contarEstudiantes());
         }
     }
 
@@ -170,14 +220,15 @@ public class Main {
         System.out.println("\n--- BUSCAR ESTUDIANTES POR NOMBRE ---\n");
 
         String nombre = leerTexto("Ingrese el nombre o apellido a buscar: ");
-        List<Estudiante> estudiantes = estudianteDAO.buscarPorNombre(nombre);
+        List<Estudiante> primera = estudianteDAO.buscarPorNombre(nombre, 0, Constantes.TAMANO_PAGINA);
 
-        if (estudiantes.isEmpty()) {
+        if (primera.isEmpty()) {
             System.out.println("\nNo se encontraron estudiantes con ese criterio.");
         } else {
             System.out.println("\nEstudiantes encontrados:");
-            mostrarTablaEstudiantes(estudiantes);
-            System.out.println("\nResultados: " + estudiantes.size());
+            int mostrados = mostrarTablaPaginada(despuesDeId -> despuesDeId == 0 ? primera
+                    : estudianteDAO.buscarPorNombre(nombre, despuesDeId, Constantes.TAMANO_PAGINA));
+            System.out.println("\nResultados mostrados: " + mostrados);
         }
     }
 
@@ -234,10 +285,31 @@ public class Main {
             }
         }
 
-        if (estudianteDAO.actualizar(estudiante)) {
-            System.out.println("\n" + Constantes.MSG_EXITO_ACTUALIZAR);
-        } else {
-            System.out.println("\n[ERROR] Error al actualizar el estudiante.");
+        // Solo se escriben los campos cambiados, y solo si nadie modifico
+        // al estudiante mientras se editaba
+        switch (estudianteDAO.actualizarCambios(estudiante)) {
+            case ACTUALIZADO:
+                System.out.println("\n" + Constantes.MSG_EXITO_ACTUALIZAR);
+                break;
+            case SIN_CAMBIOS:
+                System.out.println("\nNo se modifico ningun dato.");
+                break;
+            case CONFLICTO:
+                System.out.println("\n" + Constantes.MSG_CONFLICTO_ACTUALIZAR);
+                Estudiante actual = estudianteDAO.obtenerPorId(id);
+                if (actual != null) {
+                    System.out.println("Datos actuales:");
+                    List<Estudiante> vigentes = new ArrayList<>();
+                    vigentes.add(actual);
+                    mostrarTablaEstudiantes(vigentes);
+                }
+                break;
+            case NO_ENCONTRADO:
+                System.out.println("\n" + Constantes.MSG_NO_ENCONTRADO);
+                break;
+            default:
+                System.out.println("\n[ERROR] Error al actualizar el estudiante.");
+                break;
         }
     }
 
@@ -274,6 +346,96 @@ public class Main {
         }
     }
 
+    // ==================== IMPORTACION Y EXPORTACION ====================
+
+    /**
+     * Importa estudiantes desde un archivo CSV.
+     * Si hay lineas rechazadas se guardan en un reporte junto al archivo.
+     */
+    private static void importarEstudiantes() {
+        System.out.println("\n--- IMPORTAR ESTUDIANTES DESDE CSV ---\n");
+        System.out.println("Columnas requeridas: nombre,apellido,email,carrera,semestre\n");
+
+        Path archivo = Paths.get(leerTexto("Ruta del archivo CSV: "));
+        if (!Files.isRegularFile(archivo)) {
+            System.out.println("\n[ERROR] El archivo no existe.");
+            return;
+        }
+
+        try {
+            ResultadoImportacion resultado = new ImportadorCSV(estudianteDAO).importar(archivo);
+            System.out.println("\n[OK] " + resultado);
+
+            if (!resultado.getErrores().isEmpty()) {
+                Path reporte = archivo.resolveSibling(archivo.getFileName() + ".errores.txt");
+                resultado.escribirReporte(reporte);
+                System.out.println("Lineas rechazadas guardadas en: " + reporte);
+            }
+            if (resultado.isInterrumpido()) {
+                System.out.println("Repita la importacion con el mismo archivo para continuar.");
+            }
+        } catch (IOException e) {
+            System.out.println("\n[ERROR] No se pudo importar el archivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Exporta todos los estudiantes a un archivo.
+     * El formato se elige por la extension: .csv, .ndjson o .jsonl, con .gz opcional.
+     */
+    private static void exportarEstudiantes() {
+        System.out.println("\n--- EXPORTAR ESTUDIANTES ---\n");
+        System.out.println("Extensiones: .csv, .ndjson o .jsonl (agregue .gz para comprimir)\n");
+
+        Path archivo = Paths.get(leerTexto("Ruta del archivo de destino: "));
+        try {
+            long inicio = System.nanoTime();
+            long exportados = new ExportadorEstudiantes(estudianteDAO).exportar(archivo);
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+            System.out.println("\n[OK] " + exportados + " estudiantes exportados en " + ms + " ms a " + archivo);
+        } catch (IOException e) {
+            System.out.println("\n[ERROR] No se pudo exportar: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Muestra llamadas, errores y latencias de las operaciones del DAO que
+     * se han usado, y la espera por conexiones del pool.
+     */
+    private static void mostrarMetricas() {
+        System.out.println("\n--- METRICAS DEL SISTEMA ---\n");
+        if (!MetricasDAO.HABILITADAS) {
+            System.out.println("[ERROR] Las metricas estan desactivadas (-D" + Constantes.PROP_METRICAS + "=false).");
+            return;
+        }
+
+        System.out.println(String.format("%-26s %9s %7s %9s %9s %9s %9s", "Operacion", "Llamadas", "Errores",
+                "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        System.out.println(Constantes.SEPARADOR_LINEA);
+        for (OperacionDAO operacion : OperacionDAO.values()) {
+            MetricaOperacion metrica = MetricasDAO.obtener(operacion);
+            if (metrica.getLlamadas() > 0) {
+                System.out.println(String.format("%-26s %9d %7d %9.3f %9.3f %9.3f %9.3f", operacion.getEtiqueta(),
+                        metrica.getLlamadas(), metrica.getErrores(), metrica.getLatenciaP50Ms(),
+                        metrica.getLatenciaP99Ms(), metrica.getLatenciaP999Ms(), metrica.getLatenciaMaximaMs()));
+            }
+        }
+
+        if (estudianteDAO instanceof EstudianteRepositoryMemoria) {
+            System.out.println("\nEl almacenamiento en memoria no usa el pool de conexiones.");
+            return;
+        }
+
+        ConexionBD conexionBD = ConexionBD.obtenerInstancia();
+        System.out.println(Constantes.SEPARADOR_LINEA);
+        System.out.println(String.format("Pool: %d activas, %d libres, %d prestamos, %d expiraciones",
+                conexionBD.obtenerConexionesActivas(), conexionBD.obtenerConexionesInactivas(),
+                conexionBD.obtenerPrestamosTotales(), conexionBD.obtenerExpiraciones()));
+        System.out.println(String.format("Espera por conexion: p99 %.3f ms, maxima %.3f ms",
+                MetricasDAO.getEsperaConexion().percentil(0.99) / 1_000_000.0, conexionBD.obtenerEsperaMaximaMs()));
+        System.out.println("\nLas metricas tambien se publican por JMX en el dominio " + Constantes.JMX_DOMINIO + ".");
+    }
+
     // ==================== METODOS AUXILIARES ====================
 
     /**
@@ -282,15 +444,59 @@ public class Main {
      * @param estudiantes Lista de estudiantes a mostrar
      */
     private static void mostrarTablaEstudiantes(List<Estudiante> estudiantes) {
-        System.out.println(Constantes.SEPARADOR_LINEA);
-        System.out.println(Constantes.ENCABEZADO_TABLA);
-        System.out.println(Constantes.SEPARADOR_LINEA);
+        tabla.escribirEncabezado();
 
         for (Estudiante e : estudiantes) {
-            System.out.println(e);
+            tabla.escribirFila(e);
         }
 
-        System.out.println(Constantes.SEPARADOR_LINEA);
+        tabla.escribirSeparador();
+        tabla.vaciar();
+    }
+
+    /**
+     * Muestra estudiantes página por página.
+     * Solo pide la siguiente página cuando el usuario la solicita; con 'T'
+     * muestra el resto sin pausas.
+     * 
+     * @param siguientePagina Función que recibe el ID del último estudiante
+     *                        mostrado (0 al inicio) y devuelve la página siguiente
+     * @return Número de estudiantes mostrados
+     */
+    private static int mostrarTablaPaginada(IntFunction<List<Estudiante>> siguientePagina) {
+        List<Estudiante> pagina = siguientePagina.apply(0);
+        if (pagina.isEmpty()) {
+            return 0;
+        }
+
+        tabla.escribirEncabezado();
+        int mostrados = 0;
+        boolean sinPausas = false;
+
+        while (!pagina.isEmpty()) {
+            for (Estudiante e : pagina) {
+                tabla.escribirFila(e);
+            }
+            mostrados += pagina.size();
+
+            if (pagina.size() < Constantes.TAMANO_PAGINA) {
+                break;
+            }
+
+            if (!sinPausas) {
+                tabla.vaciar();
+                String respuesta = leerTextoOpcional("-- Enter para ver mas, 'T' para ver todos, 'Q' para terminar: ");
+                if (respuesta.equalsIgnoreCase("Q")) {
+                    break;
+                }
+                sinPausas = respuesta.equalsIgnoreCase("T");
+            }
+            pagina = siguientePagina.apply(pagina.get(pagina.size() - 1).getId());
+        }
+
+        tabla.escribirSeparador();
+        tabla.vaciar();
+        return mostrados;
     }
 
     /**
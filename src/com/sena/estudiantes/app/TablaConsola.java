@@ -0,0 +1,224 @@
+package com.sena.estudiantes.app;
+
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+
+/**
+ * Dibuja la tabla de estudiantes en la consola.
+ *
+ * Cada fila se arma en un único buffer de caracteres reutilizable, rellenando
+ * y recortando cada campo al ancho de su columna (Constantes.ANCHOS_TABLA),
+ * y se escribe a través de un BufferedWriter grande que solo se vacía al
+ * llamar a vaciar(). Así listar miles de estudiantes, o redirigir la salida
+ * a un archivo, no paga un String.format ni una escritura a la consola por fila.
+ *
+ * Los valores más largos que su columna se recortan y terminan en '~' para
+ * que la tabla siga alineada con Constantes.ENCABEZADO_TABLA.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class TablaConsola {
+
+    /** Marca de valor recortado; ASCII para que se vea en cualquier consola */
+    private static final char RECORTE = '~';
+
+    private static final char[] SALTO_LINEA = System.lineSeparator().toCharArray();
+
+    private final Writer escritor;
+    private final char[] fila;
+    private int posicion;
+
+    /**
+     * Constructor con la codificación de System.out (ver codificacionConsola).
+     *
+     * @param salida Flujo de salida, normalmente System.out
+     */
+    public TablaConsola(OutputStream salida) {
+        this(salida, codificacionConsola());
+    }
+
+    /**
+     * @param salida       Flujo de salida
+     * @param codificacion Codificación de los caracteres escritos
+     */
+    public TablaConsola(OutputStream salida, Charset codificacion) {
+        this.escritor = new BufferedWriter(new OutputStreamWriter(salida, codificacion), Constantes.CONSOLA_BUFFER);
+        int ancho = 1;
+        for (int columna : Constantes.ANCHOS_TABLA) {
+            ancho += columna + 3;
+        }
+        // Holgura para números más anchos que su columna, que no se recortan
+        this.fila = new char[ancho + 2 * 11];
+    }
+
+    /**
+     * Codificación con la que System.out escribe: la de la consola, que en
+     * Windows no suele coincidir con la del sistema (file.encoding). La JVM
+     * la publica en stdout.encoding (Java 19+) o sun.stdout.encoding; si no
+     * hay consola se usa la codificación por defecto, como hace System.out.
+     *
+     * @return Codificación de la salida estándar
+     */
+    public static Charset codificacionConsola() {
+        for (String propiedad : new String[] { "stdout.encoding", "sun.stdout.encoding" }) {
+            String nombre = System.getProperty(propiedad);
+            if (nombre != null) {
+                try {
+                    return Charset.forName(nombre);
+                } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                    // Se prueba la siguiente propiedad
+                }
+            }
+        }
+        return Charset.defaultCharset();
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Escribe el encabezado de la tabla entre separadores.
+     */
+    public void escribirEncabezado() {
+        escribirLinea(Constantes.SEPARADOR_LINEA);
+        escribirLinea(Constantes.ENCABEZADO_TABLA);
+        escribirLinea(Constantes.SEPARADOR_LINEA);
+    }
+
+    /**
+     * Escribe la línea que cierra la tabla.
+     */
+    public void escribirSeparador() {
+        escribirLinea(Constantes.SEPARADOR_LINEA);
+    }
+
+    /**
+     * Escribe la fila de un estudiante.
+     *
+     * @param estudiante Estudiante a mostrar
+     */
+    public void escribirFila(Estudiante estudiante) {
+        escribirFila(estudiante.getId(), estudiante.getNombre(), estudiante.getApellido(),
+                estudiante.getEmail(), estudiante.getCarrera(), estudiante.getSemestre());
+    }
+
+    /**
+     * Escribe una fila a partir de los valores de cada columna.
+     * Tiene la forma de ConsumidorFila para usarse con EstudianteDAO.recorrerFilas.
+     */
+    public void escribirFila(int id, String nombre, String apellido, String email, String carrera,
+            int semestre) {
+        int[] anchos = Constantes.ANCHOS_TABLA;
+        posicion = 0;
+        fila[posicion++] = '|';
+        columna(id, anchos[0]);
+        columna(nombre, anchos[1]);
+        columna(apellido, anchos[2]);
+        columna(email, anchos[3]);
+        columna(carrera, anchos[4]);
+        columna(semestre, anchos[5]);
+        escribir(fila, posicion);
+    }
+
+    /**
+     * Envía a la salida todo lo escrito. Debe llamarse al terminar una tabla
+     * y antes de pedir datos al usuario.
+     */
+    public void vaciar() {
+        try {
+            escritor.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== METODOS AUXILIARES ====================
+
+    /**
+     * Agrega " valor |" con el valor rellenado o recortado al ancho indicado.
+     */
+    private void columna(String valor, int ancho) {
+        fila[posicion++] = ' ';
+        int largo = valor == null ? 0 : valor.length();
+        int copiar = Math.min(largo, ancho);
+        boolean recortado = largo > ancho;
+        if (recortado) {
+            copiar = ancho - 1;
+            // No dejar medio par sustituto (emojis y otros caracteres fuera del BMP)
+            if (copiar > 0 && Character.isHighSurrogate(valor.charAt(copiar - 1))) {
+                copiar--;
+            }
+        }
+
+        for (int i = 0; i < copiar; i++) {
+            char c = valor.charAt(i);
+            // Tabuladores y saltos de línea desalinearían la tabla
+            fila[posicion++] = c < ' ' ? ' ' : c;
+        }
+        if (recortado) {
+            fila[posicion++] = RECORTE;
+            copiar++;
+        }
+        rellenar(ancho - copiar);
+    }
+
+    /**
+     * Agrega " numero |" alineado a la izquierda. Los números no se recortan.
+     */
+    private void columna(int numero, int ancho) {
+        fila[posicion++] = ' ';
+        int inicio = posicion;
+        long valor = numero;
+        if (valor < 0) {
+            fila[posicion++] = '-';
+            valor = -valor;
+        }
+        int digitos = posicion;
+        do {
+            fila[posicion++] = (char) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor > 0);
+        // Los dígitos quedaron al revés
+        for (int i = digitos, j = posicion - 1; i < j; i++, j--) {
+            char c = fila[i];
+            fila[i] = fila[j];
+            fila[j] = c;
+        }
+        rellenar(ancho - (posicion - inicio));
+    }
+
+    private void rellenar(int espacios) {
+        for (int i = 0; i < espacios; i++) {
+            fila[posicion++] = ' ';
+        }
+        fila[posicion++] = ' ';
+        fila[posicion++] = '|';
+    }
+
+    private void escribirLinea(String linea) {
+        try {
+            escritor.write(linea);
+            escritor.write(SALTO_LINEA);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escribir(char[] datos, int largo) {
+        try {
+            escritor.write(datos, 0, largo);
+            escritor.write(SALTO_LINEA);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.sena.estudiantes.cambios;
+
+import com.sena.estudiantes.modelo.EventoCambio;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Anillo de eventos sin bloqueos, con un solo productor (el hilo lector de
+ * FlujoCambios) y cualquier número de lectores.
+ *
+ * Cada evento ocupa una posición creciente; la ranura de la posición p se
+ * reutiliza en p + capacidad. El productor nunca espera a los lectores: un
+ * lector que se queda atrás detecta que su posición fue sobrescrita y debe
+ * seguir desde el registro de cambios en la base de datos.
+ *
+ * El anillo contiene, en orden, todos los eventos con secuencia mayor que
+ * la secuencia base (la última del registro al crearlo), salvo los que ya
+ * se sobrescribieron.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+final class AnilloEventos {
+
+    private final AtomicReferenceArray<EventoCambio> ranuras;
+    private final int capacidad;
+    private final int mascara;
+    private final long secuenciaBase;
+
+    // Eventos publicados; la siguiente posición a escribir
+    private final AtomicLong publicados = new AtomicLong();
+
+    /**
+     * @param capacidad     Número de ranuras (potencia de 2)
+     * @param secuenciaBase Secuencia a partir de la cual se publicarán todos los eventos
+     */
+    AnilloEventos(int capacidad, long secuenciaBase) {
+        if (capacidad < 2 || Integer.bitCount(capacidad) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de 2: " + capacidad);
+        }
+        this.ranuras = new AtomicReferenceArray<>(capacidad);
+        this.capacidad = capacidad;
+        this.mascara = capacidad - 1;
+        this.secuenciaBase = secuenciaBase;
+    }
+
+    /**
+     * Publica un evento. Solo debe llamarse desde el hilo productor.
+     *
+     * @param evento Evento con secuencia mayor que la del anterior
+     */
+    void publicar(EventoCambio evento) {
+        long posicion = publicados.get();
+        ranuras.set((int) (posicion & mascara), evento);
+        // La escritura de la ranura queda visible antes que la nueva posición
+        publicados.lazySet(posicion + 1);
+    }
+
+    /**
+     * @return Número de eventos publicados (posición del siguiente)
+     */
+    long publicados() {
+        return publicados.get();
+    }
+
+    /**
+     * Lee el evento de una posición.
+     *
+     * @param posicion Posición a leer
+     * @return Evento, o null si aún no se publicó o ya pudo sobrescribirse
+     */
+    EventoCambio leer(long posicion) {
+        if (posicion < 0 || posicion >= publicados.get()) {
+            return null;
+        }
+        EventoCambio evento = ranuras.get((int) (posicion & mascara));
+        // La ranura se reescribe al publicar posicion + capacidad; si el
+        // productor ya llegó ahí, lo leído puede ser el evento nuevo
+        return publicados.get() - posicion < capacidad ? evento : null;
+    }
+
+    /**
+     * Ubica la posición del primer evento con secuencia mayor que la dada.
+     *
+     * @param secuencia Última secuencia procesada por el lector
+     * @return Posición desde la que leer, o -1 si los eventos siguientes ya
+     *         no están en el anillo (o nunca estuvieron) y deben leerse del registro
+     */
+    long posicionSiguiente(long secuencia) {
+        long fin = publicados.get();
+        long inicio = Math.max(0, fin - capacidad + 1);
+        if (inicio == fin) {
+            return secuencia >= secuenciaBase ? fin : -1;
+        }
+
+        EventoCambio primero = leer(inicio);
+        if (primero == null) {
+            return -1;
+        }
+        if (primero.getSecuencia() > secuencia) {
+            // Solo se puede empezar en el primer evento si no se perdió ninguno anterior
+            return inicio == 0 && secuencia >= secuenciaBase ? 0 : -1;
+        }
+
+        // Búsqueda binaria de la última posición con secuencia <= la dada
+        long bajo = inicio;
+        long alto = fin - 1;
+        while (bajo < alto) {
+            long medio = (bajo + alto + 1) >>> 1;
+            EventoCambio evento = leer(medio);
+            if (evento == null) {
+                return -1;
+            }
+            if (evento.getSecuencia() <= secuencia) {
+                bajo = medio;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return bajo + 1;
+    }
+}
@@ -0,0 +1,206 @@
+package com.sena.estudiantes.cambios;
+
+import com.sena.estudiantes.dao.ConexionBD;
+import com.sena.estudiantes.dao.EscuchaCambios;
+import com.sena.estudiantes.dao.EstudianteDAO;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.modelo.EventoCambio;
+import com.sena.estudiantes.util.Constantes;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Flujo de eventos del registro de cambios (estudiantes_cambios) para
+ * consumidores que mantienen vistas derivadas: cachés, índices de búsqueda,
+ * reportes.
+ *
+ * Un hilo lee del registro los eventos nuevos y los publica en un anillo
+ * en memoria (AnilloEventos) que los suscriptores leen sin bloqueos. El DAO
+ * avisa de cada cambio confirmado para que la lectura sea inmediata; además
+ * el registro se revisa cada CAMBIOS_INTERVALO_MS para ver cambios hechos
+ * por otros procesos.
+ *
+ * La entrega es al menos una vez: el registro en la base de datos es la
+ * fuente de verdad y el anillo solo una copia de los eventos recientes. Un
+ * suscriptor que se queda atrás, o que reanuda desde una secuencia
+ * antigua, lee del registro hasta alcanzar el anillo.
+ *
+ * El registro se llena solo si algún proceso lo activó con
+ * -Destudiantes.cambios=true (Constantes.PROP_CAMBIOS) y crece hasta que se
+ * llama a purgar.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class FlujoCambios implements EscuchaCambios, AutoCloseable {
+
+    private final EstudianteDAO dao;
+    private final AnilloEventos anillo;
+    private final Thread lector;
+    private volatile boolean activo = true;
+
+    // Secuencia del último evento publicado en el anillo
+    private volatile long ultimaPublicada;
+
+    // Suscriptores esperando eventos nuevos
+    private final Object senal = new Object();
+    private final AtomicInteger esperando = new AtomicInteger();
+
+    private FlujoCambios(EstudianteDAO dao, long secuenciaBase) {
+        this.dao = dao;
+        this.anillo = new AnilloEventos(Constantes.CAMBIOS_CAPACIDAD_ANILLO, secuenciaBase);
+        this.ultimaPublicada = secuenciaBase;
+        this.lector = new Thread(this::leerRegistro, "flujo-cambios");
+        this.lector.setDaemon(true);
+    }
+
+    /**
+     * Crea el flujo, lo suscribe a los avisos del DAO e inicia el hilo
+     * lector. El anillo empieza en el último evento del registro; los
+     * anteriores se leen del registro al reanudar desde ellos.
+     *
+     * @param dao DAO del que se leen los eventos y se reciben los avisos
+     * @return Flujo iniciado; debe cerrarse al terminar
+     */
+    public static FlujoCambios iniciar(EstudianteDAO dao) {
+        if (!ConexionBD.obtenerInstancia().tieneRegistroCambios()) {
+            System.err.println("[ERROR] El registro de cambios esta desactivado: inicie con -D"
+                    + Constantes.PROP_CAMBIOS + "=true para que se anoten las escrituras.");
+        }
+        FlujoCambios flujo = new FlujoCambios(dao, Math.max(0, dao.obtenerUltimaSecuenciaCambio()));
+        dao.agregarEscucha(flujo);
+        flujo.lector.start();
+        return flujo;
+    }
+
+    /**
+     * Crea una suscripción que entrega los eventos posteriores a una
+     * secuencia. Para recibir solo los cambios nuevos se usa
+     * getUltimaSecuencia(); para reanudar, la última secuencia que el
+     * consumidor procesó.
+     *
+     * @param despuesDe Última secuencia ya procesada (0 para todo el registro)
+     * @return Suscripción para un solo hilo consumidor
+     */
+    public SuscripcionCambios suscribir(long despuesDe) {
+        return new SuscripcionCambios(this, despuesDe);
+    }
+
+    /**
+     * @return Secuencia del último evento publicado
+     */
+    public long getUltimaSecuencia() {
+        return ultimaPublicada;
+    }
+
+    /**
+     * Elimina del registro los eventos hasta una secuencia. Solo debe
+     * usarse con la menor secuencia procesada por todos los consumidores.
+     *
+     * @param hastaSecuencia Última secuencia a eliminar (incluida)
+     * @return Eventos eliminados
+     */
+    public int purgar(long hastaSecuencia) {
+        return dao.purgarCambios(hastaSecuencia);
+    }
+
+    /**
+     * Detiene el hilo lector y despierta a los suscriptores que esperan.
+     */
+    @Override
+    public void close() {
+        activo = false;
+        LockSupport.unpark(lector);
+        try {
+            lector.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (senal) {
+            senal.notifyAll();
+        }
+    }
+
+    // ==================== AVISOS DEL DAO ====================
+
+    @Override
+    public void alInsertar(Estudiante estudiante) {
+        LockSupport.unpark(lector);
+    }
+
+    @Override
+    public void alActualizar(Estudiante estudiante) {
+        LockSupport.unpark(lector);
+    }
+
+    @Override
+    public void alEliminar(int id) {
+        LockSupport.unpark(lector);
+    }
+
+    // ==================== USO DE LAS SUSCRIPCIONES ====================
+
+    AnilloEventos anillo() {
+        return anillo;
+    }
+
+    boolean estaActivo() {
+        return activo;
+    }
+
+    List<EventoCambio> leerRegistro(long despuesDe, int maximo) {
+        return dao.obtenerCambios(despuesDe, maximo);
+    }
+
+    /**
+     * Espera a que se publique un evento posterior a la secuencia dada, o a
+     * que pase el tiempo indicado.
+     */
+    void esperar(long despuesDe, long nanos) throws InterruptedException {
+        esperando.incrementAndGet();
+        try {
+            synchronized (senal) {
+                // Se vuelve a comprobar después de anunciarse, para no perder el aviso del productor
+                if (ultimaPublicada <= despuesDe && activo) {
+                    TimeUnit.NANOSECONDS.timedWait(senal, nanos);
+                }
+            }
+        } finally {
+            esperando.decrementAndGet();
+        }
+    }
+
+    // ==================== HILO LECTOR ====================
+
+    /**
+     * Publica en el anillo los eventos nuevos del registro. Cuando no hay
+     * más, espera un aviso del DAO o el intervalo de revisión; un aviso que
+     * llega mientras se lee no se pierde porque deja el permiso de unpark.
+     */
+    private void leerRegistro() {
+        long intervalo = TimeUnit.MILLISECONDS.toNanos(Constantes.CAMBIOS_INTERVALO_MS);
+        while (activo) {
+            List<EventoCambio> lote = dao.obtenerCambios(ultimaPublicada, Constantes.CAMBIOS_LOTE_LECTURA);
+            for (EventoCambio evento : lote) {
+                anillo.publicar(evento);
+            }
+            if (!lote.isEmpty()) {
+                ultimaPublicada = lote.get(lote.size() - 1).getSecuencia();
+                despertar();
+            }
+            if (lote.size() < Constantes.CAMBIOS_LOTE_LECTURA) {
+                LockSupport.parkNanos(this, intervalo);
+            }
+        }
+    }
+
+    private void despertar() {
+        if (esperando.get() > 0) {
+            synchronized (senal) {
+                senal.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.sena.estudiantes.cambios;
+
+import com.sena.estudiantes.modelo.EventoCambio;
+import com.sena.estudiantes.util.Constantes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suscripción a un FlujoCambios. Entrega los eventos en orden de secuencia,
+ * sin repetirlos dentro de la suscripción, leyéndolos del anillo en memoria
+ * o, si el anillo ya no los tiene, del registro de cambios.
+ *
+ * Para la entrega al menos una vez el consumidor guarda, junto con su vista
+ * derivada, la secuencia del último evento aplicado; tras un fallo crea una
+ * nueva suscripción desde esa secuencia y recibe otra vez lo que no había
+ * guardado.
+ *
+ * Cada suscripción debe usarse desde un solo hilo.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class SuscripcionCambios {
+
+    private final FlujoCambios flujo;
+    private final AnilloEventos anillo;
+
+    // Secuencia del último evento entregado
+    private long ultima;
+
+    // Posición del siguiente evento en el anillo; -1 si hay que ubicarla
+    private long posicion = -1;
+
+    SuscripcionCambios(FlujoCambios flujo, long despuesDe) {
+        this.flujo = flujo;
+        this.anillo = flujo.anillo();
+        this.ultima = despuesDe;
+    }
+
+    /**
+     * Recibe los siguientes eventos, esperando si aún no hay ninguno.
+     *
+     * @param maximo   Máximo de eventos a devolver
+     * @param esperaMs Tiempo máximo de espera si no hay eventos (milisegundos)
+     * @return Eventos en orden de secuencia; vacía si no llegó ninguno a tiempo
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera
+     */
+    public List<EventoCambio> recibir(int maximo, long esperaMs) throws InterruptedException {
+        List<EventoCambio> eventos = new ArrayList<>();
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs);
+
+        while (true) {
+            leerDisponibles(eventos, maximo);
+            long restante = limite - System.nanoTime();
+            if (!eventos.isEmpty() || restante <= 0 || !flujo.estaActivo()) {
+                return eventos;
+            }
+            flujo.esperar(ultima, restante);
+        }
+    }
+
+    /**
+     * @return Secuencia del último evento entregado
+     */
+    public long getUltimaSecuencia() {
+        return ultima;
+    }
+
+    private void leerDisponibles(List<EventoCambio> eventos, int maximo) {
+        if (posicion < 0) {
+            posicion = anillo.posicionSiguiente(ultima);
+        }
+        if (posicion < 0) {
+            // El anillo ya no tiene los eventos siguientes: se leen del registro
+            for (EventoCambio evento : flujo.leerRegistro(ultima, Math.min(maximo, Constantes.CAMBIOS_LOTE_LECTURA))) {
+                eventos.add(evento);
+                ultima = evento.getSecuencia();
+            }
+            return;
+        }
+
+        long fin = anillo.publicados();
+        while (eventos.size() < maximo && posicion < fin) {
+            EventoCambio evento = anillo.leer(posicion);
+            if (evento == null) {
+                // Sobrescrito mientras se leía: la próxima vez se ubica de nuevo
+                posicion = -1;
+                return;
+            }
+            posicion++;
+            // Los eventos ya entregados desde el registro se saltan
+            if (evento.getSecuencia() > ultima) {
+                eventos.add(evento);
+                ultima = evento.getSecuencia();
+            }
+        }
+    }
+}
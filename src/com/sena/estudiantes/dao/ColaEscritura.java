@@ -0,0 +1,269 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Cola de escritura con un único hilo escritor (group commit).
+ *
+ * SQLite admite un solo escritor a la vez, así que en lugar de que cada
+ * llamador compita por el bloqueo, las inserciones, actualizaciones y
+ * eliminaciones se encolan y un hilo dedicado las confirma en grupos: una
+ * transacción por cada COLA_MAX_OPERACIONES operaciones o cada COLA_ESPERA_MS
+ * milisegundos, lo que ocurra primero. El costo de sincronizar con el disco
+ * se reparte entre todo el grupo.
+ *
+ * Cada llamador recibe un futuro que se completa cuando su cambio quedó
+ * confirmado: true si afectó una fila, false si no (por ejemplo, un ID
+ * inexistente), o la excepción de la operación si falló (normalmente una
+ * SQLException, por ejemplo un email duplicado). Una operación fallida no
+ * afecta al resto del grupo ni detiene el escritor. El estudiante recibe su
+ * ID o versión y queda sin cambios pendientes solo después del commit; si el
+ * grupo no se confirma, no se modifica. Si un EscuchaCambios lanza una
+ * excepción al ser avisado, el cambio ya está confirmado y el futuro se
+ * completa con esa excepción.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class ColaEscritura implements AutoCloseable {
+
+    /**
+     * Operación de escritura sobre la conexión del escritor. Devuelve un
+     * valor positivo (filas afectadas o ID generado) si afectó una fila.
+     */
+    private interface Mutacion {
+        int ejecutar(ConexionPrestada cp) throws SQLException;
+    }
+
+    /** Operación encolada con el futuro de su llamador */
+    private static class Pendiente {
+        private final Mutacion mutacion;
+        private final IntConsumer confirmacion;
+        private final CompletableFuture<Boolean> resultado = new CompletableFuture<>();
+        private int valor;
+        private Throwable error;
+
+        /**
+         * @param mutacion     Sentencia a ejecutar
+         * @param confirmacion Tras el commit, si la operación afectó una fila: actualiza
+         *                     el estudiante con el valor de la mutación y avisa a los
+         *                     EscuchaCambios del DAO
+         */
+        Pendiente(Mutacion mutacion, IntConsumer confirmacion) {
+            this.mutacion = mutacion;
+            this.confirmacion = confirmacion;
+        }
+    }
+
+    private final EstudianteDAO dao;
+    private final ConexionBD conexionBD;
+    private final int maxOperaciones;
+    private final long esperaNanos;
+    private final BlockingQueue<Pendiente> cola = new LinkedBlockingQueue<>(Constantes.COLA_CAPACIDAD);
+    private final Thread escritor;
+    private volatile boolean activa = true;
+
+    /**
+     * Los llamadores encolan con el candado de lectura y close lo toma de
+     * escritura para cerrar: así ninguna operación entra después de que el
+     * escritor vea la cola cerrada y vacía.
+     */
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor con los límites de grupo por defecto.
+     *
+     * @param dao DAO que ejecuta las sentencias; una EstudianteDAOCache que lo
+     *            envuelva se invalida igual, porque escucha sus cambios
+     */
+    public ColaEscritura(EstudianteDAO dao) {
+        this(dao, Constantes.COLA_MAX_OPERACIONES, Constantes.COLA_ESPERA_MS);
+    }
+
+    /**
+     * Constructor completo. Inicia el hilo escritor.
+     *
+     * @param dao            DAO que ejecuta las sentencias
+     * @param maxOperaciones Operaciones máximas por transacción
+     * @param esperaMs       Espera máxima para completar un grupo
+     */
+    public ColaEscritura(EstudianteDAO dao, int maxOperaciones, long esperaMs) {
+        this.dao = dao;
+        this.conexionBD = ConexionBD.obtenerInstancia();
+        this.maxOperaciones = maxOperaciones;
+        this.esperaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMs);
+        this.escritor = new Thread(this::procesar, "cola-escritura");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    // ==================== OPERACIONES ====================
+
+    public CompletableFuture<Boolean> insertar(Estudiante estudiante) {
+        return encolar(new Pendiente(cp -> dao.ejecutarInsertar(cp, estudiante), id -> {
+            estudiante.setId(id);
+            estudiante.setVersion(1);
+            dao.notificarInsertar(estudiante);
+        }));
+    }
+
+    public CompletableFuture<Boolean> actualizar(Estudiante estudiante) {
+        return encolar(new Pendiente(cp -> dao.ejecutarActualizar(cp, estudiante), filas -> {
+            estudiante.limpiarCambios();
+            dao.notificarActualizar(estudiante);
+        }));
+    }
+
+    public CompletableFuture<Boolean> eliminar(int id) {
+        return encolar(new Pendiente(cp -> dao.ejecutarEliminar(cp, id),
+                filas -> dao.notificarEliminar(id)));
+    }
+
+    /**
+     * Deja de aceptar operaciones, confirma las pendientes y detiene el escritor.
+     */
+    @Override
+    public void close() {
+        // Espera a los llamadores que están encolando (la cola se sigue vaciando)
+        candado.writeLock().lock();
+        try {
+            activa = false;
+        } finally {
+            candado.writeLock().unlock();
+        }
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== HILO ESCRITOR ====================
+
+    /**
+     * Encola una operación. Si la cola está llena el llamador espera
+     * (contrapresión) hasta que el escritor libere espacio.
+     */
+    private CompletableFuture<Boolean> encolar(Pendiente pendiente) {
+        candado.readLock().lock();
+        try {
+            if (!activa) {
+                throw new IllegalStateException("La cola de escritura esta cerrada");
+            }
+            cola.put(pendiente);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendiente.resultado.completeExceptionally(e);
+        } finally {
+            candado.readLock().unlock();
+        }
+        return pendiente.resultado;
+    }
+
+    /**
+     * Bucle del escritor: forma grupos y los confirma hasta que la cola se
+     * cierra y queda vacía.
+     */
+    private void procesar() {
+        List<Pendiente> grupo = new ArrayList<>(maxOperaciones);
+
+        while (activa || !cola.isEmpty()) {
+            try {
+                Pendiente primera = cola.poll(100, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                grupo.add(primera);
+
+                // Completar el grupo hasta el máximo de operaciones o de espera
+                long limite = System.nanoTime() + esperaNanos;
+                while (grupo.size() < maxOperaciones) {
+                    long resta = limite - System.nanoTime();
+                    Pendiente siguiente = resta > 0 ? cola.poll(resta, TimeUnit.NANOSECONDS) : cola.poll();
+                    if (siguiente == null) {
+                        break;
+                    }
+                    grupo.add(siguiente);
+                }
+            } catch (InterruptedException e) {
+                // Se confirma lo que ya se tomó de la cola antes de seguir
+            }
+
+            if (!grupo.isEmpty()) {
+                try {
+                    confirmar(grupo);
+                } catch (Throwable e) {
+                    // El escritor sigue vivo y ningún llamador del grupo queda esperando
+                    System.err.println("✗ Error inesperado en el escritor de la cola:");
+                    e.printStackTrace();
+                    for (Pendiente pendiente : grupo) {
+                        pendiente.resultado.completeExceptionally(e);
+                    }
+                } finally {
+                    grupo.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Ejecuta un grupo en una transacción y completa los futuros tras el commit.
+     */
+    private void confirmar(List<Pendiente> grupo) {
+        try (ConexionPrestada cp = conexionBD.prestarEscritura()) {
+            Connection conexion = cp.obtener();
+            conexion.setAutoCommit(false);
+
+            // SQLite solo revierte la sentencia que falla, no la transacción
+            for (Pendiente pendiente : grupo) {
+                try {
+                    pendiente.valor = pendiente.mutacion.ejecutar(cp);
+                } catch (Throwable e) {
+                    pendiente.error = e;
+                }
+            }
+
+            conexion.commit();
+            conexion.setAutoCommit(true);
+
+        } catch (Throwable e) {
+            // El commit o el préstamo fallaron: ninguna operación del grupo quedó
+            // confirmada (el pool revierte la transacción abierta al recibir la conexión)
+            System.err.println("✗ Error al confirmar grupo de escrituras:");
+            e.printStackTrace();
+            for (Pendiente pendiente : grupo) {
+                pendiente.resultado.completeExceptionally(pendiente.error != null ? pendiente.error : e);
+            }
+            return;
+        }
+
+        for (Pendiente pendiente : grupo) {
+            if (pendiente.error != null) {
+                pendiente.resultado.completeExceptionally(pendiente.error);
+                continue;
+            }
+            try {
+                if (pendiente.valor > 0) {
+                    pendiente.confirmacion.accept(pendiente.valor);
+                }
+                pendiente.resultado.complete(pendiente.valor > 0);
+            } catch (Throwable e) {
+                System.err.println("✗ Error al avisar una escritura confirmada:");
+                e.printStackTrace();
+                pendiente.resultado.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -1,15 +1,32 @@
 package com.sena.estudiantes.dao;
 
+import com.sena.estudiantes.metricas.MetricasDAO;
+import com.sena.estudiantes.metricas.PoolConexionesMBean;
+import com.sena.estudiantes.metricas.RegistroConsultasLentas;
 import com.sena.estudiantes.util.Constantes;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Clase Singleton para gestionar la conexión a la base de datos.
- * Implementa el patrón Singleton para asegurar una única instancia de conexión.
- * 
+ * Clase Singleton para gestionar las conexiones a la base de datos.
+ * Implementa el patrón Singleton para asegurar una única instancia del pool.
+ *
+ * El pool mantiene varias conexiones de solo lectura y una única conexión
+ * de escritura (SQLite admite un solo escritor a la vez). Con el modo WAL
+ * los lectores no se bloquean mientras el escritor trabaja.
+ *
  * @author SENA
  * @version 1.0
  */
@@ -17,24 +34,64 @@ public class ConexionBD {
 
     // Instancia única (Patrón Singleton)
     private static ConexionBD instancia;
-    private Connection conexion;
+
+    // Conexiones libres de cada grupo
+    private final BlockingQueue<ConexionPrestada> lectoresLibres;
+    private final BlockingQueue<ConexionPrestada> escritorLibre;
+    private final List<ConexionPrestada> todas = new ArrayList<>();
+
+    // Metricas del pool
+    private final AtomicInteger activas = new AtomicInteger();
+    private final AtomicLong prestamos = new AtomicLong();
+    private final AtomicLong expiraciones = new AtomicLong();
+    private final AtomicLong esperaTotalNanos = new AtomicLong();
+    private final AtomicLong esperaMaximaNanos = new AtomicLong();
+
+    // Ajustes de SQLite aplicados a cada conexion
+    private final PerfilRendimiento perfil;
+
+    // true si el driver soporta FTS5 y el indice de texto esta creado
+    private boolean indiceTextoDisponible;
+
+    // true si al iniciar existian los triggers del registro de cambios
+    private boolean registroCambiosActivo;
+
+    // Total de estudiantes mantenido por el DAO; -1 si no se pudo contar al iniciar
+    private final AtomicInteger totalEstudiantes = new AtomicInteger(-1);
 
     /**
      * Constructor privado.
-     * Inicializa la conexión y crea la tabla si no existe.
+     * Abre las conexiones del pool y crea la tabla si no existe.
      */
     private ConexionBD() {
+        lectoresLibres = new ArrayBlockingQueue<>(Constantes.POOL_LECTORES);
+        escritorLibre = new ArrayBlockingQueue<>(1);
+        perfil = PerfilRendimiento.seleccionado();
+        MetricasDAO.registrarPool(crearVistaMetricas());
+        RegistroConsultasLentas.registrarPlanificador(this::obtenerPlan);
+
         try {
             // Cargar el driver JDBC de SQLite
             Class.forName(Constantes.DRIVER_JDBC);
 
-            // Establecer la conexion
-            conexion = DriverManager.getConnection(Constantes.DB_URL);
+            // Conexion de escritura: activa WAL y crea la tabla antes de abrir lectores
+            Connection escritor = abrirConexion(false);
+            perfil.aplicarModoDiario(escritor);
+            crearTablaEstudiantes(escritor);
+            migrarColumnaVersion(escritor);
+            crearIndices(escritor);
+            crearIndiceTexto(escritor);
+            crearRegistroCambios(escritor);
+            verificarPlanes(escritor);
+            contarEstudiantes(escritor);
+            registrar(escritorLibre, false, escritor);
 
-            // Crear la tabla si no existe
-            crearTablaEstudiantes();
+            // Conexiones de solo lectura
+            for (int i = 0; i < Constantes.POOL_LECTORES; i++) {
+                registrar(lectoresLibres, true, abrirConexion(true));
+            }
 
-            System.out.println("[OK] Conexion a la base de datos establecida correctamente.");
+            System.out.println("[OK] Conexion a la base de datos establecida correctamente (perfil " + perfil + ").");
 
         } catch (ClassNotFoundException e) {
             System.err.println("[ERROR] Driver JDBC no encontrado.");
@@ -48,7 +105,7 @@ public class ConexionBD {
 
     /**
      * Obtiene la instancia única de ConexionBD (Patrón Singleton).
-     * 
+     *
      * @return Instancia de ConexionBD
      */
     public static synchronized ConexionBD obtenerInstancia() {
@@ -58,44 +115,285 @@ public class ConexionBD {
         return instancia;
     }
 
+    // ==================== PRESTAMO DE CONEXIONES ====================
+
+    /**
+     * Presta una conexión de solo lectura del pool.
+     * Debe cerrarse (try-with-resources) para devolverla.
+     *
+     * @return Conexión prestada
+     * @throws SQLException Si no hay conexiones libres dentro del tiempo límite
+     */
+    public ConexionPrestada prestarLectura() throws SQLException {
+        return prestar(lectoresLibres);
+    }
+
+    /**
+     * Presta la conexión de escritura del pool.
+     * Debe cerrarse (try-with-resources) para devolverla.
+     *
+     * @return Conexión prestada
+     * @throws SQLException Si el escritor no se libera dentro del tiempo límite
+     */
+    public ConexionPrestada prestarEscritura() throws SQLException {
+        return prestar(escritorLibre);
+    }
+
     /**
-     * Obtiene la conexión activa a la base de datos.
-     * 
-     * @return Objeto Connection
+     * Toma una conexión libre de la cola indicada, esperando como máximo
+     * POOL_TIMEOUT_MS, y la valida antes de entregarla.
      */
-    public Connection obtenerConexion() {
+    private ConexionPrestada prestar(BlockingQueue<ConexionPrestada> libres) throws SQLException {
+        long inicio = System.nanoTime();
+        ConexionPrestada conexion;
         try {
-            // Verificar si la conexion esta cerrada y reconectar
-            if (conexion == null || conexion.isClosed()) {
-                conexion = DriverManager.getConnection(Constantes.DB_URL);
-            }
+            conexion = libres.poll(Constantes.POOL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido mientras esperaba una conexion del pool.", e);
+        }
+
+        long espera = System.nanoTime() - inicio;
+        esperaTotalNanos.addAndGet(espera);
+        esperaMaximaNanos.accumulateAndGet(espera, Math::max);
+        MetricasDAO.registrarEsperaConexion(espera);
+
+        if (conexion == null) {
+            expiraciones.incrementAndGet();
+            throw new SQLTimeoutException("No hay conexiones libres tras "
+                    + Constantes.POOL_TIMEOUT_MS + " ms de espera.");
+        }
+
+        try {
+            conexion.validar();
         } catch (SQLException e) {
-            System.err.println("[ERROR] Error al verificar/reconectar la conexion:");
-            e.printStackTrace();
+            libres.offer(conexion);
+            throw e;
         }
+
+        conexion.marcarPrestada();
+        activas.incrementAndGet();
+        prestamos.incrementAndGet();
         return conexion;
     }
 
     /**
-     * Cierra la conexión a la base de datos.
+     * Devuelve una conexión al pool.
+     * Si quedó una transacción abierta se revierte antes de reutilizarla.
+     *
+     * @param conexion Conexión a devolver
      */
-    public void cerrarConexion() {
+    void devolver(ConexionPrestada conexion) {
+        Connection fisica = conexion.obtener();
         try {
-            if (conexion != null && !conexion.isClosed()) {
-                conexion.close();
-                System.out.println("[OK] Conexion a la base de datos cerrada correctamente.");
+            if (fisica != null && !fisica.isClosed() && !fisica.getAutoCommit()) {
+                fisica.rollback();
+                fisica.setAutoCommit(true);
             }
         } catch (SQLException e) {
-            System.err.println("[ERROR] Error al cerrar la conexion:");
+            System.err.println("[ERROR] Error al restablecer la conexion devuelta:");
             e.printStackTrace();
+            conexion.cerrarFisica();
+        }
+        activas.decrementAndGet();
+        conexion.obtenerCola().offer(conexion);
+    }
+
+    /**
+     * Abre una conexión física a la base de datos y le aplica el perfil de rendimiento.
+     *
+     * @param soloLectura true para impedir escrituras en la conexión
+     * @return Conexión abierta
+     * @throws SQLException Si no se puede abrir la conexión
+     */
+    Connection abrirConexion(boolean soloLectura) throws SQLException {
+        Connection conexion = DriverManager.getConnection(
+                System.getProperty(Constantes.PROP_DB_URL, Constantes.DB_URL));
+        perfil.aplicar(conexion);
+        if (soloLectura) {
+            try (Statement statement = conexion.createStatement()) {
+                statement.execute("PRAGMA query_only = ON");
+            }
         }
+        return conexion;
+    }
+
+    /**
+     * Registra una conexión nueva en el pool.
+     */
+    private void registrar(BlockingQueue<ConexionPrestada> libres, boolean soloLectura, Connection conexion) {
+        ConexionPrestada prestada = new ConexionPrestada(this, libres, soloLectura, conexion);
+        todas.add(prestada);
+        libres.offer(prestada);
+    }
+
+    /**
+     * @return Perfil de rendimiento aplicado a las conexiones
+     */
+    public PerfilRendimiento obtenerPerfil() {
+        return perfil;
+    }
+
+    /**
+     * Indica si las búsquedas por nombre pueden usar el índice de texto FTS5.
+     *
+     * @return true si el índice existe y está sincronizado con la tabla
+     */
+    public boolean tieneIndiceTexto() {
+        return indiceTextoDisponible;
+    }
+
+    /**
+     * Indica si las escrituras se anotan en el registro de cambios.
+     *
+     * @return true si los triggers del registro existían al iniciar
+     */
+    public boolean tieneRegistroCambios() {
+        return registroCambiosActivo;
+    }
+
+    /**
+     * Total de estudiantes, contado al iniciar y mantenido por las
+     * inserciones y eliminaciones confirmadas del DAO.
+     *
+     * @return Número de estudiantes, o -1 si no se conoce
+     */
+    public int obtenerTotalEstudiantes() {
+        return totalEstudiantes.get();
     }
 
+    /**
+     * Suma (o resta) estudiantes al total tras un cambio confirmado.
+     * Si el total no se conoce se deja así.
+     *
+     * @param diferencia Estudiantes insertados (positivo) o eliminados (negativo)
+     */
+    void ajustarTotalEstudiantes(int diferencia) {
+        totalEstudiantes.getAndUpdate(total -> total < 0 ? total : total + diferencia);
+    }
+
+    // ==================== METRICAS DEL POOL ====================
+
+    /**
+     * @return Número de conexiones prestadas en este momento
+     */
+    public int obtenerConexionesActivas() {
+        return activas.get();
+    }
+
+    /**
+     * @return Número de conexiones libres en este momento
+     */
+    public int obtenerConexionesInactivas() {
+        return lectoresLibres.size() + escritorLibre.size();
+    }
+
+    /**
+     * @return Total de préstamos realizados
+     */
+    public long obtenerPrestamosTotales() {
+        return prestamos.get();
+    }
+
+    /**
+     * @return Préstamos que fallaron por agotar el tiempo de espera
+     */
+    public long obtenerExpiraciones() {
+        return expiraciones.get();
+    }
+
+    /**
+     * @return Tiempo medio de espera por una conexión, en milisegundos
+     */
+    public double obtenerEsperaPromedioMs() {
+        long total = prestamos.get() + expiraciones.get();
+        return total == 0 ? 0 : esperaTotalNanos.get() / 1_000_000.0 / total;
+    }
+
+    /**
+     * @return Tiempo máximo de espera por una conexión, en milisegundos
+     */
+    public double obtenerEsperaMaximaMs() {
+        return esperaMaximaNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Plan de una sentencia para el registro de consultas lentas, con una
+     * conexión de lectura del pool.
+     */
+    private List<String> obtenerPlan(String sql) {
+        try (ConexionPrestada cp = prestarLectura()) {
+            return VerificadorPlanes.obtenerPlan(cp.obtener(), sql);
+        } catch (SQLException e) {
+            return Collections.singletonList("(no disponible: " + e.getMessage() + ")");
+        }
+    }
+
+    /**
+     * Vista del pool para JMX y el volcado de Prometheus (MetricasDAO).
+     * Los percentiles de espera salen del histograma de MetricasDAO.
+     */
+    private PoolConexionesMBean crearVistaMetricas() {
+        return new PoolConexionesMBean() {
+            @Override
+            public int getConexionesActivas() {
+                return obtenerConexionesActivas();
+            }
+
+            @Override
+            public int getConexionesInactivas() {
+                return obtenerConexionesInactivas();
+            }
+
+            @Override
+            public long getPrestamosTotales() {
+                return obtenerPrestamosTotales();
+            }
+
+            @Override
+            public long getExpiraciones() {
+                return obtenerExpiraciones();
+            }
+
+            @Override
+            public double getEsperaP50Ms() {
+                return MetricasDAO.getEsperaConexion().percentil(0.5) / 1_000_000.0;
+            }
+
+            @Override
+            public double getEsperaP99Ms() {
+                return MetricasDAO.getEsperaConexion().percentil(0.99) / 1_000_000.0;
+            }
+
+            @Override
+            public double getEsperaMaximaMs() {
+                return obtenerEsperaMaximaMs();
+            }
+        };
+    }
+
+    // ==================== CIERRE ====================
+
+    /**
+     * Cierra todas las conexiones del pool.
+     */
+    public void cerrarConexion() {
+        lectoresLibres.clear();
+        escritorLibre.clear();
+        for (ConexionPrestada conexion : todas) {
+            conexion.cerrarFisica();
+        }
+        todas.clear();
+        System.out.println("[OK] Conexion a la base de datos cerrada correctamente.");
+    }
+
+    // ==================== ESQUEMA ====================
+
     /**
      * Crea la tabla de estudiantes si no existe.
      * Se ejecuta automáticamente al iniciar la conexión.
      */
-    private void crearTablaEstudiantes() {
+    private void crearTablaEstudiantes(Connection conexion) {
         try (Statement statement = conexion.createStatement()) {
             statement.execute(Constantes.SQL_CREAR_TABLA);
         } catch (SQLException e) {
@@ -103,4 +401,130 @@ public class ConexionBD {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Migración de la columna version: las tablas creadas antes de agregarla
+     * la reciben con valor 1 en todas las filas.
+     */
+    private void migrarColumnaVersion(Connection conexion) {
+        try (Statement statement = conexion.createStatement()) {
+            try (ResultSet rs = statement.executeQuery(Constantes.SQL_EXISTE_COLUMNA_VERSION)) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+            statement.execute(Constantes.SQL_AGREGAR_COLUMNA_VERSION);
+        } catch (SQLException e) {
+            System.err.println("[ERROR] Error al agregar la columna version:");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Migración de índices secundarios: crea los que falten en la base de datos.
+     */
+    private void crearIndices(Connection conexion) {
+        try (Statement statement = conexion.createStatement()) {
+            for (String indice : Constantes.SQL_CREAR_INDICES) {
+                statement.execute(indice);
+            }
+        } catch (SQLException e) {
+            System.err.println("[ERROR] Error al crear los indices de estudiantes:");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Comprueba que las consultas frecuentes usen índices.
+     * Por defecto solo advierte; con -Destudiantes.planes.estricto=true el
+     * arranque falla, para detectar regresiones en pruebas y benchmarks.
+     */
+    private void verificarPlanes(Connection conexion) throws SQLException {
+        List<String> fallas = VerificadorPlanes.verificar(conexion, indiceTextoDisponible);
+        if (fallas.isEmpty()) {
+            return;
+        }
+
+        System.err.println("[ERROR] Consultas frecuentes que recorren toda la tabla:");
+        for (String falla : fallas) {
+            System.err.println("  " + falla);
+        }
+        if (Boolean.getBoolean(Constantes.PROP_PLANES_ESTRICTO)) {
+            throw new IllegalStateException("Consultas sin indice: " + fallas);
+        }
+    }
+
+    /**
+     * Cuenta los estudiantes existentes una sola vez; luego el total se
+     * mantiene con ajustarTotalEstudiantes.
+     */
+    private void contarEstudiantes(Connection conexion) {
+        try (Statement statement = conexion.createStatement();
+                ResultSet rs = statement.executeQuery(Constantes.SQL_CONTAR)) {
+            if (rs.next()) {
+                totalEstudiantes.set(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            System.err.println("[ERROR] Error al contar los estudiantes existentes:");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Crea el índice de texto completo sobre nombre y apellido y los triggers
+     * que lo mantienen sincronizado. Si el índice es nuevo se llena con los
+     * estudiantes existentes. Si el driver no incluye FTS5 las búsquedas
+     * siguen usando LIKE.
+     */
+    private void crearIndiceTexto(Connection conexion) {
+        try (Statement statement = conexion.createStatement()) {
+            boolean existia;
+            try (ResultSet rs = statement.executeQuery(Constantes.SQL_EXISTE_INDICE_TEXTO)) {
+                existia = rs.next();
+            }
+
+            statement.execute(Constantes.SQL_CREAR_INDICE_TEXTO);
+            for (String trigger : Constantes.SQL_TRIGGERS_INDICE_TEXTO) {
+                statement.execute(trigger);
+            }
+            if (!existia) {
+                statement.execute(Constantes.SQL_RECONSTRUIR_INDICE_TEXTO);
+            }
+            indiceTextoDisponible = true;
+
+        } catch (SQLException e) {
+            System.err.println("[ERROR] No se pudo crear el indice de texto; se usara LIKE:");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Crea el registro de cambios. Los triggers que lo llenan solo se crean
+     * con -Destudiantes.cambios=true, porque cada escritura anotada escribe
+     * otra fila con la imagen anterior y posterior (casi el doble de datos en
+     * lotes e importaciones), y solo se quitan con -Destudiantes.cambios=false.
+     * Sin la propiedad se respeta lo que haya en la base: otro proceso puede
+     * depender de los triggers para no perder eventos.
+     */
+    private void crearRegistroCambios(Connection conexion) {
+        try (Statement statement = conexion.createStatement()) {
+            statement.execute(Constantes.SQL_CREAR_TABLA_CAMBIOS);
+            String valor = System.getProperty(Constantes.PROP_CAMBIOS);
+            if ("true".equalsIgnoreCase(valor)) {
+                for (String sql : Constantes.SQL_TRIGGERS_CAMBIOS) {
+                    statement.execute(sql);
+                }
+            } else if ("false".equalsIgnoreCase(valor)) {
+                for (String sql : Constantes.SQL_ELIMINAR_TRIGGERS_CAMBIOS) {
+                    statement.execute(sql);
+                }
+            }
+            try (ResultSet rs = statement.executeQuery(Constantes.SQL_EXISTEN_TRIGGERS_CAMBIOS)) {
+                registroCambiosActivo = rs.next();
+            }
+        } catch (SQLException e) {
+            System.err.println("[ERROR] Error al crear el registro de cambios:");
+            e.printStackTrace();
+        }
+    }
 }
@@ -0,0 +1,169 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.metricas.MetricasDAO;
+import com.sena.estudiantes.util.Constantes;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Conexion del pool prestada temporalmente a un DAO.
+ * Se usa con try-with-resources: al cerrarla vuelve al pool en lugar de
+ * cerrar la conexion fisica.
+ *
+ * Cada conexion guarda sus sentencias preparadas para no volver a compilar
+ * el mismo SQL en cada llamada. Como una conexion solo la usa el hilo que la
+ * tiene prestada, la cache no necesita sincronizacion.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class ConexionPrestada implements AutoCloseable {
+
+    private final ConexionBD pool;
+    private final BlockingQueue<ConexionPrestada> libres;
+    private final boolean soloLectura;
+    private Connection conexion;
+    private boolean prestada;
+    private long inicioPrestamo;
+    private final Map<String, PreparedStatement> sentencias = new HashMap<>();
+
+    /**
+     * Constructor usado unicamente por ConexionBD al crear el pool.
+     *
+     * @param pool        Pool propietario de la conexion
+     * @param libres      Cola a la que se devuelve la conexion al cerrarla
+     * @param soloLectura true si es una conexion de lectura
+     * @param conexion    Conexion fisica JDBC
+     */
+    ConexionPrestada(ConexionBD pool, BlockingQueue<ConexionPrestada> libres,
+            boolean soloLectura, Connection conexion) {
+        this.pool = pool;
+        this.libres = libres;
+        this.soloLectura = soloLectura;
+        this.conexion = conexion;
+    }
+
+    /**
+     * Obtiene la conexion JDBC subyacente.
+     * No debe cerrarse directamente; se devuelve al pool cerrando este objeto.
+     *
+     * @return Objeto Connection
+     */
+    public Connection obtener() {
+        return conexion;
+    }
+
+    /**
+     * Obtiene una sentencia preparada para el SQL indicado, reutilizando la
+     * de la cache si ya existe. Los parametros se limpian antes de entregarla.
+     * La sentencia pertenece a la conexion: no debe cerrarse. Usar solo con
+     * los SQL de Constantes, ya que la cache no tiene limite de tamano.
+     *
+     * @param sql Consulta SQL parametrizada
+     * @return Sentencia lista para asignar parametros
+     * @throws SQLException Si no se puede preparar la sentencia
+     */
+    public PreparedStatement preparar(String sql) throws SQLException {
+        PreparedStatement sentencia = sentencias.get(sql);
+        if (sentencia != null && !sentencia.isClosed()) {
+            sentencia.clearParameters();
+            sentencia.clearBatch();
+            return sentencia;
+        }
+        sentencia = conexion.prepareStatement(sql);
+        sentencias.put(sql, sentencia);
+        return sentencia;
+    }
+
+    /**
+     * Instante en que se presto la conexion, en el formato de
+     * MetricasDAO.iniciar(). El registro de consultas lentas mide desde aqui
+     * para no contar la espera por la conexion, que se mide aparte.
+     *
+     * @return Inicio del prestamo actual
+     */
+    public long obtenerInicioPrestamo() {
+        return inicioPrestamo;
+    }
+
+    /**
+     * Indica si la conexion es de solo lectura.
+     *
+     * @return true si pertenece al grupo de lectores
+     */
+    public boolean esSoloLectura() {
+        return soloLectura;
+    }
+
+    /**
+     * Verifica que la conexion siga viva y la reabre si no lo esta.
+     *
+     * @throws SQLException Si no se puede reabrir la conexion
+     */
+    void validar() throws SQLException {
+        if (conexion != null && !conexion.isClosed()
+                && conexion.isValid(Constantes.POOL_VALIDACION_TIMEOUT_S)) {
+            return;
+        }
+        cerrarFisica();
+        conexion = pool.abrirConexion(soloLectura);
+    }
+
+    /**
+     * Marca la conexion como prestada.
+     */
+    void marcarPrestada() {
+        prestada = true;
+        inicioPrestamo = MetricasDAO.iniciar();
+    }
+
+    /**
+     * Cola a la que pertenece esta conexion.
+     *
+     * @return Cola de conexiones libres
+     */
+    BlockingQueue<ConexionPrestada> obtenerCola() {
+        return libres;
+    }
+
+    /**
+     * Cierra la conexion fisica y sus sentencias en cache
+     * (solo al cerrar el pool o al reemplazarla).
+     */
+    void cerrarFisica() {
+        for (PreparedStatement sentencia : sentencias.values()) {
+            try {
+                sentencia.close();
+            } catch (SQLException ignored) {
+            }
+        }
+        sentencias.clear();
+        if (conexion == null) {
+            return;
+        }
+        try {
+            conexion.close();
+        } catch (SQLException e) {
+            System.err.println("[ERROR] Error al cerrar una conexion del pool:");
+            e.printStackTrace();
+        }
+        conexion = null;
+    }
+
+    /**
+     * Devuelve la conexion al pool.
+     * Llamadas repetidas no tienen efecto.
+     */
+    @Override
+    public void close() {
+        if (!prestada) {
+            return;
+        }
+        prestada = false;
+        pool.devolver(this);
+    }
+}
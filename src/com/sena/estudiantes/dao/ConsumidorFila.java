@@ -0,0 +1,26 @@
+package com.sena.estudiantes.dao;
+
+/**
+ * Recibe los valores de cada fila de estudiantes tal como salen del
+ * ResultSet, sin crear un objeto Estudiante por fila.
+ * Se usa con EstudianteDAO.recorrerFilas para exportaciones y otros
+ * recorridos completos de la tabla.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ConsumidorFila {
+
+    /**
+     * Procesa una fila.
+     *
+     * @param id       ID del estudiante
+     * @param nombre   Nombre
+     * @param apellido Apellido
+     * @param email    Correo electrónico
+     * @param carrera  Carrera
+     * @param semestre Semestre
+     */
+    void aceptar(int id, String nombre, String apellido, String email, String carrera, int semestre);
+}
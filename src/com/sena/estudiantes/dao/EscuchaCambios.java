@@ -0,0 +1,41 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.modelo.Estudiante;
+
+/**
+ * Recibe los cambios confirmados en la tabla de estudiantes.
+ * Se registra con EstudianteDAO.agregarEscucha y se invoca después del commit,
+ * en el hilo que hizo la escritura, tanto para operaciones directas como
+ * para inserciones por lotes y la cola de escritura.
+ *
+ * Las implementaciones deben ser rápidas y seguras para varios hilos.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public interface EscuchaCambios {
+
+    /**
+     * Un estudiante fue insertado.
+     *
+     * @param estudiante Estudiante insertado, con el ID asignado por la base de datos
+     */
+    default void alInsertar(Estudiante estudiante) {
+    }
+
+    /**
+     * Un estudiante fue actualizado.
+     *
+     * @param estudiante Estudiante con los datos nuevos
+     */
+    default void alActualizar(Estudiante estudiante) {
+    }
+
+    /**
+     * Un estudiante fue eliminado.
+     *
+     * @param id ID del estudiante eliminado
+     */
+    default void alEliminar(int id) {
+    }
+}
@@ -1,58 +1,244 @@
 package com.sena.estudiantes.dao;
 
+import com.sena.estudiantes.modelo.ConteoCarreras;
 import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.modelo.EstudianteCompacto;
+import com.sena.estudiantes.modelo.EstudianteInmutable;
+import com.sena.estudiantes.modelo.EventoCambio;
+import com.sena.estudiantes.modelo.TipoCambio;
+import com.sena.estudiantes.metricas.MetricasDAO;
+import com.sena.estudiantes.metricas.OperacionDAO;
+import com.sena.estudiantes.metricas.RegistroConsultasLentas;
+import com.sena.estudiantes.modelo.MatrizCarreraSemestre;
 import com.sena.estudiantes.util.Constantes;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object para la entidad Estudiante.
- * Implementa las operaciones CRUD (Create, Read, Update, Delete).
+ * Implementa las operaciones CRUD (Create, Read, Update, Delete) de
+ * EstudianteRepository sobre SQLite.
+ * 
+ * Cada operación pública registra su latencia, filas y errores en
+ * MetricasDAO (ver OperacionDAO). Las sentencias que superan el umbral de
+ * lentitud se anotan, con sus parámetros, en RegistroConsultasLentas; los
+ * recorridos (recorrerTodos, recorrerFilas) y los lotes no, porque su
+ * duración depende del consumidor y del tamaño de la carga.
  * 
  * @author SENA
  * @version 1.0
  */
-public class EstudianteDAO {
+public class EstudianteDAO implements EstudianteRepository {
+
+    /** Columnas en el orden de los bits Estudiante.CAMPO_* */
+    private static final String[] COLUMNAS_ACTUALIZABLES = { "nombre", "apellido", "email", "carrera", "semestre" };
+
+    /**
+     * UPDATE condicional para cada combinación de campos modificados,
+     * indexado por Estudiante.getCamposModificados(). Se genera una sola vez;
+     * cada combinación queda en la caché de sentencias de la conexión.
+     */
+    private static final String[] SQL_ACTUALIZAR_CAMPOS = construirActualizacionesParciales();
+
+    /**
+     * SELECT de cada consulta de lectura con las columnas de un mapeador que
+     * no lee la fila completa, indexado por columnas y consulta base.
+     */
+    private static final Map<String, String> CONSULTAS_PROYECTADAS = new ConcurrentHashMap<>();
 
-    private final Connection conexion;
+    private final ConexionBD conexionBD;
+    private final List<EscuchaCambios> escuchas = new CopyOnWriteArrayList<>();
 
     /**
-     * Constructor que inicializa la conexión a la base de datos.
+     * Constructor que obtiene el pool de conexiones a la base de datos.
+     * Las lecturas usan conexiones de solo lectura y las escrituras la
+     * conexión de escritura; cada operación la devuelve al terminar.
+     * Las sentencias se obtienen de la caché de la conexión prestada
+     * (ConexionPrestada.preparar) y no se cierran tras usarlas.
      */
     public EstudianteDAO() {
-        this.conexion = ConexionBD.obtenerInstancia().obtenerConexion();
+        this.conexionBD = ConexionBD.obtenerInstancia();
+    }
+
+    /**
+     * Registra un objeto que será notificado de cada cambio confirmado
+     * (cachés, instantáneas en memoria, etc.).
+     * 
+     * @param escucha Objeto a notificar
+     */
+    @Override
+    public void agregarEscucha(EscuchaCambios escucha) {
+        escuchas.add(escucha);
+    }
+
+    @Override
+    public void quitarEscucha(EscuchaCambios escucha) {
+        escuchas.remove(escucha);
     }
 
     // ==================== OPERACIÓN CREATE (INSERTAR) ====================
 
     /**
      * Inserta un nuevo estudiante en la base de datos.
+     * Si la inserción es exitosa se asigna al objeto el ID generado.
      * 
      * @param estudiante Objeto Estudiante a insertar
      * @return true si la inserción fue exitosa, false en caso contrario
      */
+    @Override
     public boolean insertar(Estudiante estudiante) {
-        try (PreparedStatement pstmt = conexion.prepareStatement(Constantes.SQL_INSERTAR)) {
-
-            // Establecer los parámetros del PreparedStatement
-            pstmt.setString(1, estudiante.getNombre());
-            pstmt.setString(2, estudiante.getApellido());
-            pstmt.setString(3, estudiante.getEmail());
-            pstmt.setString(4, estudiante.getCarrera());
-            pstmt.setInt(5, estudiante.getSemestre());
-
-            // Ejecutar la inserción
-            int filasAfectadas = pstmt.executeUpdate();
-            return filasAfectadas > 0;
+        long inicio = MetricasDAO.iniciar();
+        try (ConexionPrestada cp = conexionBD.prestarEscritura()) {
+            int id = ejecutarInsertar(cp, estudiante);
+            int filas = id > 0 ? 1 : 0;
+            MetricasDAO.registrar(OperacionDAO.INSERTAR, inicio, filas);
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(Constantes.SQL_INSERTAR, cp.obtenerInicioPrestamo(), filas, estudiante.getNombre(),
+                        estudiante.getApellido(), estudiante.getEmail(), estudiante.getCarrera(), estudiante.getSemestre());
+            }
+            if (filas == 0) {
+                return false;
+            }
+            estudiante.setId(id);
+            estudiante.setVersion(1);
+            notificarInsertar(estudiante);
+            return true;
 
         } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.INSERTAR, inicio, e);
             System.err.println("✗ Error al insertar estudiante:");
             e.printStackTrace();
             return false;
         }
     }
 
+    /**
+     * Inserta una colección de estudiantes por lotes de Constantes.TAMANO_LOTE.
+     * 
+     * @param estudiantes Estudiantes a insertar
+     * @return Resultado con las filas insertadas y las rechazadas
+     * @see #insertarLote(Iterator, int)
+     */
+    @Override
+    public ResultadoLote insertarLote(Collection<Estudiante> estudiantes) {
+        return insertarLote(estudiantes.iterator(), Constantes.TAMANO_LOTE);
+    }
+
+    /**
+     * Inserta estudiantes por lotes reutilizando el PreparedStatement en caché.
+     * Cada lote se ejecuta con addBatch/executeBatch en su propia transacción.
+     * Si un lote falla (por ejemplo, por un email duplicado) se revierte y se
+     * repite fila a fila para insertar las válidas y registrar las rechazadas,
+     * sin abortar el resto de la carga. A cada estudiante insertado se le
+     * asigna el ID generado.
+     * 
+     * @param estudiantes Iterador con los estudiantes a insertar
+     * @param tamanoLote  Filas por transacción
+     * @return Resultado con las filas insertadas y las rechazadas
+     */
+    @Override
+    public ResultadoLote insertarLote(Iterator<Estudiante> estudiantes, int tamanoLote) {
+        if (tamanoLote < 1) {
+            throw new IllegalArgumentException("El tamano de lote debe ser mayor que cero");
+        }
+
+        long inicio = MetricasDAO.iniciar();
+        ResultadoLote resultado = new ResultadoLote();
+        List<Estudiante> lote = new ArrayList<>(tamanoLote);
+        int posicion = 0;
+
+        try (ConexionPrestada cp = conexionBD.prestarEscritura()) {
+            PreparedStatement pstmt = cp.preparar(Constantes.SQL_INSERTAR);
+
+            Connection conexion = cp.obtener();
+            conexion.setAutoCommit(false);
+
+            while (estudiantes.hasNext()) {
+                lote.add(estudiantes.next());
+                if (lote.size() == tamanoLote || !estudiantes.hasNext()) {
+                    ejecutarLote(cp, pstmt, lote, posicion, resultado);
+                    posicion += lote.size();
+                    lote.clear();
+                }
+            }
+
+            conexion.setAutoCommit(true);
+            MetricasDAO.registrar(OperacionDAO.INSERTAR_LOTE, inicio, resultado.getInsertados());
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.INSERTAR_LOTE, inicio, e);
+            System.err.println("✗ Error en la insercion por lotes (fila " + posicion + "):");
+            e.printStackTrace();
+            resultado.marcarInterrumpido();
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Ejecuta y confirma un lote. Si el lote completo falla, lo revierte y
+     * lo repite fila a fila dentro de una nueva transacción.
+     */
+    private void ejecutarLote(ConexionPrestada cp, PreparedStatement pstmt, List<Estudiante> lote,
+            int inicio, ResultadoLote resultado) throws SQLException {
+        Connection conexion = cp.obtener();
+        for (Estudiante estudiante : lote) {
+            asignarParametros(pstmt, estudiante);
+            pstmt.addBatch();
+        }
+
+        try {
+            pstmt.executeBatch();
+            // Con el único escritor dentro de la transacción, AUTOINCREMENT
+            // asigna IDs consecutivos que terminan en last_insert_rowid()
+            int primerId = obtenerUltimoId(cp) - lote.size() + 1;
+            conexion.commit();
+            for (int i = 0; i < lote.size(); i++) {
+                lote.get(i).setId(primerId + i);
+                lote.get(i).setVersion(1);
+                notificarInsertar(lote.get(i));
+            }
+            resultado.sumarInsertados(lote.size());
+            return;
+        } catch (SQLException e) {
+            conexion.rollback();
+            pstmt.clearBatch();
+        }
+
+        // SQLite solo revierte la sentencia que viola la restricción,
+        // así que las filas válidas del lote se conservan en la transacción
+        List<Estudiante> insertados = new ArrayList<>(lote.size());
+        int[] ids = new int[lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            Estudiante estudiante = lote.get(i);
+            try {
+                int id = ejecutarInsertar(cp, estudiante);
+                if (id > 0) {
+                    ids[insertados.size()] = id;
+                    insertados.add(estudiante);
+                }
+            } catch (SQLException e) {
+                resultado.registrarFalla(inicio + i, estudiante, e.getMessage());
+            }
+        }
+        conexion.commit();
+        for (int i = 0; i < insertados.size(); i++) {
+            Estudiante estudiante = insertados.get(i);
+            estudiante.setId(ids[i]);
+            estudiante.setVersion(1);
+            notificarInsertar(estudiante);
+        }
+        resultado.sumarInsertados(insertados.size());
+    }
+
     // ==================== OPERACIÓN READ (CONSULTAR) ====================
 
     /**
@@ -60,72 +246,213 @@ public class EstudianteDAO {
      * 
      * @return Lista de todos los estudiantes
      */
+    @Override
     public List<Estudiante> obtenerTodos() {
-        List<Estudiante> estudiantes = new ArrayList<>();
+        return obtenerTodos(Mapeadores.ESTUDIANTE);
+    }
 
-        try (Statement stmt = conexion.createStatement();
-                ResultSet rs = stmt.executeQuery(Constantes.SQL_OBTENER_TODOS)) {
+    /**
+     * Obtiene todos los estudiantes con el mapeador indicado, consultando
+     * solo las columnas que este declara.
+     * 
+     * @param mapeador Mapeador de cada fila (ver Mapeadores)
+     * @return Resultado de cada fila, en orden de ID
+     */
+    public <T> List<T> obtenerTodos(MapeadorFila<T> mapeador) {
+        return listarTodos(OperacionDAO.OBTENER_TODOS, mapeador);
+    }
 
-            while (rs.next()) {
-                Estudiante estudiante = mapearResultSet(rs);
-                estudiantes.add(estudiante);
+    /**
+     * Obtiene todos los estudiantes como objetos inmutables, con la carrera
+     * canónica de TablaCarreras en lugar de un String nuevo por fila.
+     * 
+     * @return Lista de todos los estudiantes, en orden de ID
+     */
+    @Override
+    public List<EstudianteInmutable> obtenerTodosInmutables() {
+        return listarTodos(OperacionDAO.OBTENER_TODOS_INMUTABLES, Mapeadores.INMUTABLE);
+    }
+
+    /**
+     * Obtiene todos los estudiantes en la representación compacta: nombre,
+     * apellido y email se leen como bytes UTF-8 sin crear un String por
+     * campo, y la carrera es la instancia canónica de TablaCarreras.
+     * 
+     * @return Lista de todos los estudiantes, en orden de ID
+     */
+    public List<EstudianteCompacto> obtenerTodosCompactos() {
+        return listarTodos(OperacionDAO.OBTENER_TODOS_COMPACTOS, Mapeadores.COMPACTO);
+    }
+
+    /**
+     * Recorre todos los estudiantes sin cargarlos en memoria.
+     * Cada fila se mapea y se entrega al consumidor a medida que avanza el
+     * ResultSet, así que el consumo de memoria no depende del tamaño de la tabla.
+     * La conexión queda prestada mientras dura el recorrido.
+     * 
+     * @param consumidor Acción a ejecutar con cada estudiante, en orden de ID
+     * @return Número de estudiantes recorridos, o 0 si la consulta falló
+     */
+    @Override
+    public int recorrerTodos(Consumer<Estudiante> consumidor) {
+        return (int) Math.max(0, recorrerTodos(Mapeadores.ESTUDIANTE, consumidor));
+    }
+
+    /**
+     * Recorre todos los estudiantes con el mapeador indicado, consultando
+     * solo sus columnas. Con un mapeador que acumula en columnas (que
+     * devuelve null) el consumidor puede no hacer nada.
+     * La conexión queda prestada mientras dura el recorrido.
+     * 
+     * @param mapeador   Mapeador de cada fila
+     * @param consumidor Acción a ejecutar con el resultado de cada fila, en orden de ID
+     * @return Número de filas recorridas, o -1 si la consulta falló
+     */
+    public <T> long recorrerTodos(MapeadorFila<T> mapeador, Consumer<? super T> consumidor) {
+        long inicio = MetricasDAO.iniciar();
+        long filas = 0;
+
+        try (ConexionPrestada cp = conexionBD.prestarLectura()) {
+
+            PreparedStatement pstmt = cp.preparar(proyectar(Constantes.SQL_OBTENER_TODOS, mapeador));
+            pstmt.setFetchSize(Constantes.TAMANO_FETCH);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                LectorFila<T> lector = mapeador.preparar(rs);
+                while (rs.next()) {
+                    consumidor.accept(lector.leer(rs));
+                    filas++;
+                }
             }
+            MetricasDAO.registrar(OperacionDAO.RECORRER_TODOS, inicio, filas);
 
         } catch (SQLException e) {
-            System.err.println("✗ Error al obtener estudiantes:");
+            MetricasDAO.registrarError(OperacionDAO.RECORRER_TODOS, inicio, e);
+            System.err.println("✗ Error al recorrer estudiantes:");
             e.printStackTrace();
+            return -1;
         }
 
-        return estudiantes;
+        return filas;
     }
 
     /**
-     * Obtiene un estudiante por su ID.
+     * Recorre todos los estudiantes entregando los valores de cada columna,
+     * sin crear objetos Estudiante. El ResultSet se lee hacia adelante por
+     * posición de columna y el consumo de memoria es constante.
+     * La conexión queda prestada mientras dura el recorrido.
      * 
-     * @param id ID del estudiante a buscar
-     * @return Estudiante encontrado o null si no existe
+     * @param consumidor Acción a ejecutar con cada fila, en orden de ID
+     * @return Número de filas recorridas, o -1 si la consulta falló
      */
-    public Estudiante obtenerPorId(int id) {
-        try (PreparedStatement pstmt = conexion.prepareStatement(Constantes.SQL_OBTENER_POR_ID)) {
+    @Override
+    public long recorrerFilas(ConsumidorFila consumidor) {
+        long inicio = MetricasDAO.iniciar();
+        long filas = 0;
 
-            pstmt.setInt(1, id);
+        try (ConexionPrestada cp = conexionBD.prestarLectura()) {
+
+            PreparedStatement pstmt = cp.preparar(Constantes.SQL_OBTENER_TODOS);
+            pstmt.setFetchSize(Constantes.TAMANO_FETCH);
 
+            // Columnas en el orden de SQL_OBTENER_TODOS
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapearResultSet(rs);
+                while (rs.next()) {
+                    consumidor.aceptar(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                            rs.getString(5), rs.getInt(6));
+                    filas++;
                 }
             }
+            MetricasDAO.registrar(OperacionDAO.RECORRER_FILAS, inicio, filas);
 
         } catch (SQLException e) {
-            System.err.println("✗ Error al buscar estudiante por ID:");
+            MetricasDAO.registrarError(OperacionDAO.RECORRER_FILAS, inicio, e);
+            System.err.println("✗ Error al recorrer estudiantes:");
             e.printStackTrace();
+            return -1;
         }
 
-        return null;
+        return filas;
+    }
+
+    /**
+     * Obtiene un estudiante por su ID.
+     * 
+     * @param id ID del estudiante a buscar
+     * @return Estudiante encontrado o null si no existe
+     */
+    @Override
+    public Estudiante obtenerPorId(int id) {
+        return obtenerPorId(id, Mapeadores.ESTUDIANTE);
+    }
+
+    /**
+     * Obtiene un estudiante por su ID con el mapeador indicado.
+     * 
+     * @param id       ID del estudiante a buscar
+     * @param mapeador Mapeador de la fila
+     * @return Resultado del mapeador, o null si no existe
+     */
+    public <T> T obtenerPorId(int id, MapeadorFila<T> mapeador) {
+        return leerPorId(OperacionDAO.OBTENER_POR_ID, id, mapeador);
     }
 
     /**
-     * Busca estudiantes cuyo nombre o apellido coincida parcialmente.
+     * Obtiene un estudiante por su ID como objeto inmutable.
+     * 
+     * @param id ID del estudiante a buscar
+     * @return Estudiante encontrado o null si no existe
+     */
+    @Override
+    public EstudianteInmutable obtenerPorIdInmutable(int id) {
+        return leerPorId(OperacionDAO.OBTENER_POR_ID_INMUTABLE, id, Mapeadores.INMUTABLE);
+    }
+
+    /**
+     * Busca estudiantes cuyo nombre o apellido coincida con el texto.
+     * Con el índice de texto disponible, cada palabra buscada debe ser prefijo
+     * de una palabra del nombre o apellido, sin distinguir mayúsculas ni tildes.
+     * Sin índice se usa LIKE '%texto%'.
      * 
      * @param nombre Texto a buscar en nombre o apellido
      * @return Lista de estudiantes que coinciden con la búsqueda
      */
+    @Override
     public List<Estudiante> buscarPorNombre(String nombre) {
+        long inicio = MetricasDAO.iniciar();
         List<Estudiante> estudiantes = new ArrayList<>();
+        if (nombre == null) {
+            return estudiantes;
+        }
+        String consultaTexto = construirConsultaTexto(nombre);
+        String sql = consultaTexto != null ? Constantes.SQL_BUSCAR_POR_NOMBRE_TEXTO : Constantes.SQL_BUSCAR_POR_NOMBRE;
 
-        try (PreparedStatement pstmt = conexion.prepareStatement(Constantes.SQL_BUSCAR_POR_NOMBRE)) {
+        try (ConexionPrestada cp = conexionBD.prestarLectura()) {
+            PreparedStatement pstmt = cp.preparar(sql);
 
-            String busqueda = "%" + nombre + "%";
-            pstmt.setString(1, busqueda);
-            pstmt.setString(2, busqueda);
+            if (consultaTexto != null) {
+                pstmt.setString(1, consultaTexto);
+            } else {
+                String busqueda = "%" + nombre + "%";
+                pstmt.setString(1, busqueda);
+                pstmt.setString(2, busqueda);
+            }
 
             try (ResultSet rs = pstmt.executeQuery()) {
+                LectorFila<Estudiante> lector = Mapeadores.ESTUDIANTE.preparar(rs);
                 while (rs.next()) {
-                    estudiantes.add(mapearResultSet(rs));
+                    estudiantes.add(lector.leer(rs));
                 }
             }
+            MetricasDAO.registrar(OperacionDAO.BUSCAR_POR_NOMBRE, inicio, estudiantes.size());
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                Object[] parametros = consultaTexto != null ? new Object[] { consultaTexto }
+                        : new Object[] { "%" + nombre + "%", "%" + nombre + "%" };
+                RegistroConsultasLentas.registrar(sql, cp.obtenerInicioPrestamo(), estudiantes.size(), parametros);
+            }
 
         } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.BUSCAR_POR_NOMBRE, inicio, e);
             System.err.println("✗ Error al buscar estudiantes por nombre:");
             e.printStackTrace();
         }
@@ -133,31 +460,322 @@ public class EstudianteDAO {
         return estudiantes;
     }
 
+    /**
+     * Busca estudiantes cuyo apellido empieza por el prefijo indicado.
+     * Recorre un rango del índice (apellido, nombre): la comparación
+     * distingue mayúsculas y las filas salen ya ordenadas.
+     * 
+     * @param prefijo Inicio del apellido; vacío para todos
+     * @param maximo  Máximo de estudiantes a devolver
+     * @return Estudiantes ordenados por apellido, nombre e ID
+     */
+    @Override
+    public List<Estudiante> buscarPorApellido(String prefijo, int maximo) {
+        long inicio = MetricasDAO.iniciar();
+        List<Estudiante> estudiantes = new ArrayList<>();
+        if (prefijo == null) {
+            return estudiantes;
+        }
+        // Ningún apellido que empiece por el prefijo es mayor que prefijo + U+FFFF
+        String hasta = prefijo + Character.MAX_VALUE;
+
+        try (ConexionPrestada cp = conexionBD.prestarLectura()) {
+            PreparedStatement pstmt = cp.preparar(Constantes.SQL_BUSCAR_POR_APELLIDO);
+
+            pstmt.setString(1, prefijo);
+            pstmt.setString(2, hasta);
+            pstmt.setInt(3, maximo);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                LectorFila<Estudiante> lector = Mapeadores.ESTUDIANTE.preparar(rs);
+                while (rs.next()) {
+                    estudiantes.add(lector.leer(rs));
+                }
+            }
+            MetricasDAO.registrar(OperacionDAO.BUSCAR_POR_APELLIDO, inicio, estudiantes.size());
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(Constantes.SQL_BUSCAR_POR_APELLIDO, cp.obtenerInicioPrestamo(), estudiantes.size(),
+                        prefijo, hasta, maximo);
+            }
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.BUSCAR_POR_APELLIDO, inicio, e);
+            System.err.println("✗ Error al buscar estudiantes por apellido:");
+            e.printStackTrace();
+        }
+
+        return estudiantes;
+    }
+
+    /**
+     * Obtiene una página de estudiantes ordenada por ID.
+     * Usa paginación por clave (id > ?) en lugar de OFFSET, así que el costo
+     * de cada página no crece con la profundidad.
+     * 
+     * @param despuesDeId  ID del último estudiante de la página anterior (0 para la primera)
+     * @param tamanoPagina Máximo de estudiantes a devolver
+     * @return Estudiantes de la página; lista vacía si no hay más
+     */
+    @Override
+    public List<Estudiante> obtenerPagina(int despuesDeId, int tamanoPagina) {
+        return obtenerPagina(despuesDeId, tamanoPagina, Mapeadores.ESTUDIANTE);
+    }
+
+    /**
+     * Obtiene una página ordenada por ID con el mapeador indicado,
+     * consultando solo sus columnas.
+     * 
+     * @param despuesDeId  ID del último estudiante de la página anterior (0 para la primera)
+     * @param tamanoPagina Máximo de filas a devolver
+     * @param mapeador     Mapeador de cada fila
+     * @return Filas de la página; lista vacía si no hay más
+     */
+    public <T> List<T> obtenerPagina(int despuesDeId, int tamanoPagina, MapeadorFila<T> mapeador) {
+        long inicio = MetricasDAO.iniciar();
+        List<T> estudiantes = new ArrayList<>(tamanoPagina);
+        String sql = proyectar(Constantes.SQL_OBTENER_PAGINA, mapeador);
+
+        try (ConexionPrestada cp = conexionBD.prestarLectura()) {
+            PreparedStatement pstmt = cp.preparar(sql);
+
+            pstmt.setInt(1, despuesDeId);
+            pstmt.setInt(2, tamanoPagina);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                LectorFila<T> lector = mapeador.preparar(rs);
+                while (rs.next()) {
+                    estudiantes.add(lector.leer(rs));
+                }
+            }
+            MetricasDAO.registrar(OperacionDAO.OBTENER_PAGINA, inicio, estudiantes.size());
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(sql, cp.obtenerInicioPrestamo(), estudiantes.size(), despuesDeId, tamanoPagina);
+            }
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.OBTENER_PAGINA, inicio, e);
+            System.err.println("✗ Error al obtener pagina de estudiantes:");
+            e.printStackTrace();
+        }
+
+        return estudiantes;
+    }
+
+    /**
+     * Busca una página de estudiantes cuyo nombre o apellido coincida parcialmente,
+     * ordenada por ID.
+     * 
+     * @param nombre       Texto a buscar en nombre o apellido
+     * @param despuesDeId  ID del último estudiante de la página anterior (0 para la primera)
+     * @param tamanoPagina Máximo de estudiantes a devolver
+     * @return Estudiantes de la página; lista vacía si no hay más
+     */
+    @Override
+    public List<Estudiante> buscarPorNombre(String nombre, int despuesDeId, int tamanoPagina) {
+        return buscarPorNombre(nombre, despuesDeId, tamanoPagina, Mapeadores.ESTUDIANTE);
+    }
+
+    /**
+     * Busca una página de estudiantes por nombre con el mapeador indicado,
+     * consultando solo sus columnas.
+     * 
+     * @param nombre       Texto a buscar en nombre o apellido
+     * @param despuesDeId  ID del último estudiante de la página anterior (0 para la primera)
+     * @param tamanoPagina Máximo de filas a devolver
+     * @param mapeador     Mapeador de cada fila
+     * @return Filas de la página; lista vacía si no hay más
+     */
+    public <T> List<T> buscarPorNombre(String nombre, int despuesDeId, int tamanoPagina,
+            MapeadorFila<T> mapeador) {
+        long inicio = MetricasDAO.iniciar();
+        List<T> estudiantes = new ArrayList<>(tamanoPagina);
+        if (nombre == null) {
+            return estudiantes;
+        }
+        String consultaTexto = construirConsultaTexto(nombre);
+        String sql = proyectar(consultaTexto != null ? Constantes.SQL_BUSCAR_POR_NOMBRE_TEXTO_PAGINA
+                : Constantes.SQL_BUSCAR_POR_NOMBRE_PAGINA, mapeador);
+
+        try (ConexionPrestada cp = conexionBD.prestarLectura()) {
+            PreparedStatement pstmt = cp.preparar(sql);
+
+            if (consultaTexto != null) {
+                pstmt.setString(1, consultaTexto);
+                pstmt.setInt(2, despuesDeId);
+                pstmt.setInt(3, tamanoPagina);
+            } else {
+                String busqueda = "%" + nombre + "%";
+                pstmt.setInt(1, despuesDeId);
+                pstmt.setString(2, busqueda);
+                pstmt.setString(3, busqueda);
+                pstmt.setInt(4, tamanoPagina);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                LectorFila<T> lector = mapeador.preparar(rs);
+                while (rs.next()) {
+                    estudiantes.add(lector.leer(rs));
+                }
+            }
+            MetricasDAO.registrar(OperacionDAO.BUSCAR_PAGINA, inicio, estudiantes.size());
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                Object[] parametros = consultaTexto != null ? new Object[] { consultaTexto, despuesDeId, tamanoPagina }
+                        : new Object[] { despuesDeId, "%" + nombre + "%", "%" + nombre + "%", tamanoPagina };
+                RegistroConsultasLentas.registrar(sql, cp.obtenerInicioPrestamo(), estudiantes.size(), parametros);
+            }
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.BUSCAR_PAGINA, inicio, e);
+            System.err.println("✗ Error al buscar pagina de estudiantes por nombre:");
+            e.printStackTrace();
+        }
+
+        return estudiantes;
+    }
+
+    /**
+     * Lista toda la tabla con un mapeador, registrando la operación indicada.
+     */
+    private <T> List<T> listarTodos(OperacionDAO operacion, MapeadorFila<T> mapeador) {
+        long inicio = MetricasDAO.iniciar();
+        List<T> estudiantes = new ArrayList<>();
+        String sql = proyectar(Constantes.SQL_OBTENER_TODOS, mapeador);
+
+        try (ConexionPrestada cp = conexionBD.prestarLectura()) {
+
+            PreparedStatement pstmt = cp.preparar(sql);
+            pstmt.setFetchSize(Constantes.TAMANO_FETCH);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                LectorFila<T> lector = mapeador.preparar(rs);
+                while (rs.next()) {
+                    estudiantes.add(lector.leer(rs));
+                }
+            }
+            MetricasDAO.registrar(operacion, inicio, estudiantes.size());
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(sql, cp.obtenerInicioPrestamo(), estudiantes.size());
+            }
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(operacion, inicio, e);
+            System.err.println("✗ Error al obtener estudiantes:");
+            e.printStackTrace();
+        }
+
+        return estudiantes;
+    }
+
+    /**
+     * Lee un estudiante por ID con un mapeador, registrando la operación indicada.
+     */
+    private <T> T leerPorId(OperacionDAO operacion, int id, MapeadorFila<T> mapeador) {
+        long inicio = MetricasDAO.iniciar();
+        String sql = proyectar(Constantes.SQL_OBTENER_POR_ID, mapeador);
+        try (ConexionPrestada cp = conexionBD.prestarLectura()) {
+            PreparedStatement pstmt = cp.preparar(sql);
+
+            pstmt.setInt(1, id);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                T estudiante = rs.next() ? mapeador.preparar(rs).leer(rs) : null;
+                MetricasDAO.registrar(operacion, inicio, estudiante != null ? 1 : 0);
+                if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                    RegistroConsultasLentas.registrar(sql, cp.obtenerInicioPrestamo(), estudiante != null ? 1 : 0, id);
+                }
+                return estudiante;
+            }
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(operacion, inicio, e);
+            System.err.println("✗ Error al buscar estudiante por ID:");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
     // ==================== OPERACIÓN UPDATE (ACTUALIZAR) ====================
 
     /**
      * Actualiza los datos de un estudiante existente.
+     * Escribe todas las columnas e incrementa la versión sin compararla: si
+     * otro proceso lo modificó, sus cambios se pierden. Para detectar
+     * ediciones concurrentes use actualizarCambios.
      * 
      * @param estudiante Estudiante con datos actualizados
      * @return true si la actualización fue exitosa, false en caso contrario
      */
+    @Override
     public boolean actualizar(Estudiante estudiante) {
-        try (PreparedStatement pstmt = conexion.prepareStatement(Constantes.SQL_ACTUALIZAR)) {
+        long inicio = MetricasDAO.iniciar();
+        try (ConexionPrestada cp = conexionBD.prestarEscritura()) {
+            int filas = ejecutarActualizar(cp, estudiante);
+            MetricasDAO.registrar(OperacionDAO.ACTUALIZAR, inicio, filas);
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(Constantes.SQL_ACTUALIZAR, cp.obtenerInicioPrestamo(), filas, estudiante.getNombre(),
+                        estudiante.getApellido(), estudiante.getEmail(), estudiante.getCarrera(), estudiante.getSemestre(),
+                        estudiante.getId());
+            }
+            if (filas == 0) {
+                return false;
+            }
+            estudiante.limpiarCambios();
+            notificarActualizar(estudiante);
+            return true;
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.ACTUALIZAR, inicio, e);
+            System.err.println("✗ Error al actualizar estudiante:");
+            e.printStackTrace();
+            return false;
+        }
+    }
 
-            pstmt.setString(1, estudiante.getNombre());
-            pstmt.setString(2, estudiante.getApellido());
-            pstmt.setString(3, estudiante.getEmail());
-            pstmt.setString(4, estudiante.getCarrera());
-            pstmt.setInt(5, estudiante.getSemestre());
-            pstmt.setInt(6, estudiante.getId());
+    /**
+     * Guarda solo los campos que cambiaron desde la lectura del estudiante,
+     * siempre que nadie lo haya modificado mientras tanto (control de
+     * concurrencia optimista): el UPDATE exige que la versión de la fila sea
+     * la del estudiante y la incrementa. No se toma ningún bloqueo entre la
+     * lectura y la escritura.
+     * 
+     * El estudiante debe haberse obtenido del DAO (obtenerPorId, listados),
+     * con todos sus campos y su versión. Si se actualiza, recibe la versión
+     * nueva y sus cambios quedan marcados como guardados; si hay conflicto no
+     * se modifica y debe volver a leerse.
+     * 
+     * @param estudiante Estudiante leído y modificado con sus setters
+     * @return Resultado de la actualización
+     */
+    @Override
+    public ResultadoActualizacion actualizarCambios(Estudiante estudiante) {
+        if (!estudiante.tieneCambios()) {
+            return ResultadoActualizacion.SIN_CAMBIOS;
+        }
 
-            int filasAfectadas = pstmt.executeUpdate();
-            return filasAfectadas > 0;
+        long inicio = MetricasDAO.iniciar();
+        // Tras actualizar se limpian los cambios y sube la versión
+        int campos = estudiante.getCamposModificados();
+        int version = estudiante.getVersion();
+        try (ConexionPrestada cp = conexionBD.prestarEscritura()) {
+            ResultadoActualizacion resultado = ejecutarActualizarCambios(cp, estudiante);
+            int filas = resultado == ResultadoActualizacion.ACTUALIZADO ? 1 : 0;
+            MetricasDAO.registrar(OperacionDAO.ACTUALIZAR_CAMBIOS, inicio, filas);
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(SQL_ACTUALIZAR_CAMPOS[campos], cp.obtenerInicioPrestamo(), filas,
+                        parametrosActualizacion(estudiante, campos, version));
+            }
+            if (resultado == ResultadoActualizacion.ACTUALIZADO) {
+                estudiante.setVersion(version + 1);
+                estudiante.limpiarCambios();
+                notificarActualizar(estudiante);
+            }
+            return resultado;
 
         } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.ACTUALIZAR_CAMBIOS, inicio, e);
             System.err.println("✗ Error al actualizar estudiante:");
             e.printStackTrace();
-            return false;
+            return ResultadoActualizacion.ERROR;
         }
     }
 
@@ -169,59 +787,564 @@ public class EstudianteDAO {
      * @param id ID del estudiante a eliminar
      * @return true si la eliminación fue exitosa, false en caso contrario
      */
+    @Override
     public boolean eliminar(int id) {
-        try (PreparedStatement pstmt = conexion.prepareStatement(Constantes.SQL_ELIMINAR)) {
-
-            pstmt.setInt(1, id);
-
-            int filasAfectadas = pstmt.executeUpdate();
-            return filasAfectadas > 0;
+        long inicio = MetricasDAO.iniciar();
+        try (ConexionPrestada cp = conexionBD.prestarEscritura()) {
+            int filas = ejecutarEliminar(cp, id);
+            MetricasDAO.registrar(OperacionDAO.ELIMINAR, inicio, filas);
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(Constantes.SQL_ELIMINAR, cp.obtenerInicioPrestamo(), filas, id);
+            }
+            if (filas == 0) {
+                return false;
+            }
+            notificarEliminar(id);
+            return true;
 
         } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.ELIMINAR, inicio, e);
             System.err.println("✗ Error al eliminar estudiante:");
             e.printStackTrace();
             return false;
         }
     }
 
-    // ==================== MÉTODOS AUXILIARES ====================
+    // ==================== REGISTRO DE CAMBIOS ====================
+
+    /**
+     * Lee eventos del registro de cambios posteriores a una secuencia.
+     * Los eventos los escriben los triggers de la tabla en la misma
+     * transacción que el cambio, así que solo aparecen los confirmados.
+     * 
+     * @param despuesDe Última secuencia ya procesada (0 para empezar desde el inicio)
+     * @param maximo    Máximo de eventos a devolver
+     * @return Eventos en orden de secuencia; lista vacía si no hay más o si hay error
+     */
+    public List<EventoCambio> obtenerCambios(long despuesDe, int maximo) {
+        long inicio = MetricasDAO.iniciar();
+        List<EventoCambio> eventos = new ArrayList<>(Math.min(maximo, Constantes.CAMBIOS_LOTE_LECTURA));
+
+        try (ConexionPrestada cp = conexionBD.prestarLectura()) {
+            PreparedStatement pstmt = cp.preparar(Constantes.SQL_OBTENER_CAMBIOS);
+
+            pstmt.setLong(1, despuesDe);
+            pstmt.setInt(2, maximo);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    eventos.add(mapearEvento(rs));
+                }
+            }
+            MetricasDAO.registrar(OperacionDAO.OBTENER_CAMBIOS, inicio, eventos.size());
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(Constantes.SQL_OBTENER_CAMBIOS, cp.obtenerInicioPrestamo(), eventos.size(), despuesDe,
+                        maximo);
+            }
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.OBTENER_CAMBIOS, inicio, e);
+            System.err.println("✗ Error al leer el registro de cambios:");
+            e.printStackTrace();
+        }
+
+        return eventos;
+    }
+
+    /**
+     * Obtiene la secuencia del último evento del registro de cambios.
+     * 
+     * @return Última secuencia, 0 si el registro está vacío o -1 si hay error
+     */
+    public long obtenerUltimaSecuenciaCambio() {
+        long inicio = MetricasDAO.iniciar();
+        try (ConexionPrestada cp = conexionBD.prestarLectura();
+                ResultSet rs = cp.preparar(Constantes.SQL_ULTIMA_SECUENCIA_CAMBIOS).executeQuery()) {
+
+            long secuencia = rs.next() ? rs.getLong(1) : 0;
+            MetricasDAO.registrar(OperacionDAO.ULTIMA_SECUENCIA_CAMBIO, inicio, 1);
+            return secuencia;
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.ULTIMA_SECUENCIA_CAMBIO, inicio, e);
+            System.err.println("✗ Error al obtener la ultima secuencia de cambios:");
+            e.printStackTrace();
+            return -1;
+        }
+    }
 
     /**
-     * Mapea un ResultSet a un objeto Estudiante.
-     * Método auxiliar para evitar duplicación de código.
+     * Elimina del registro los eventos hasta una secuencia, cuando todos los
+     * consumidores ya los procesaron. Las secuencias no se reutilizan.
      * 
-     * @param rs ResultSet con datos del estudiante
-     * @return Objeto Estudiante con los datos mapeados
-     * @throws SQLException Si hay error al leer el ResultSet
+     * @param hastaSecuencia Última secuencia a eliminar (incluida)
+     * @return Eventos eliminados; 0 si hay error
      */
-    private Estudiante mapearResultSet(ResultSet rs) throws SQLException {
-        return new Estudiante(
-                rs.getInt("id"),
-                rs.getString("nombre"),
-                rs.getString("apellido"),
-                rs.getString("email"),
-                rs.getString("carrera"),
-                rs.getInt("semestre"));
+    public int purgarCambios(long hastaSecuencia) {
+        long inicio = MetricasDAO.iniciar();
+        try (ConexionPrestada cp = conexionBD.prestarEscritura()) {
+            PreparedStatement pstmt = cp.preparar(Constantes.SQL_PURGAR_CAMBIOS);
+            pstmt.setLong(1, hastaSecuencia);
+            int filas = pstmt.executeUpdate();
+            MetricasDAO.registrar(OperacionDAO.PURGAR_CAMBIOS, inicio, filas);
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(Constantes.SQL_PURGAR_CAMBIOS, cp.obtenerInicioPrestamo(), filas, hastaSecuencia);
+            }
+            return filas;
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.PURGAR_CAMBIOS, inicio, e);
+            System.err.println("✗ Error al purgar el registro de cambios:");
+            e.printStackTrace();
+            return 0;
+        }
     }
 
+    // ==================== ESTADÍSTICAS ====================
+
     /**
      * Cuenta el total de estudiantes en la base de datos.
+     * Devuelve el total que mantienen las inserciones y eliminaciones del DAO,
+     * sin consultar la tabla; solo si no se conoce se ejecuta COUNT(*).
      * 
      * @return Número total de estudiantes
      */
+    @Override
     public int contarEstudiantes() {
-        String sql = "SELECT COUNT(*) FROM estudiantes";
-        try (Statement stmt = conexion.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        long inicio = MetricasDAO.iniciar();
+        int total = conexionBD.obtenerTotalEstudiantes();
+        if (total >= 0) {
+            MetricasDAO.registrar(OperacionDAO.CONTAR_ESTUDIANTES, inicio, 0);
+            return total;
+        }
+
+        try (ConexionPrestada cp = conexionBD.prestarLectura();
+                ResultSet rs = cp.preparar(Constantes.SQL_CONTAR).executeQuery()) {
 
-            if (rs.next()) {
-                return rs.getInt(1);
+            total = rs.next() ? rs.getInt(1) : 0;
+            MetricasDAO.registrar(OperacionDAO.CONTAR_ESTUDIANTES, inicio, 1);
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(Constantes.SQL_CONTAR, cp.obtenerInicioPrestamo(), 1);
             }
+            return total;
 
         } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.CONTAR_ESTUDIANTES, inicio, e);
             System.err.println("✗ Error al contar estudiantes:");
             e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Cuenta los estudiantes de cada carrera con GROUP BY sobre el índice
+     * (carrera, semestre).
+     * 
+     * @return Conteos ordenados por carrera; vacío si hay error
+     */
+    @Override
+    public ConteoCarreras contarPorCarrera() {
+        long inicio = MetricasDAO.iniciar();
+        List<String> carreras = new ArrayList<>();
+        int[] conteos = new int[16];
+
+        try (ConexionPrestada cp = conexionBD.prestarLectura();
+                ResultSet rs = cp.preparar(Constantes.SQL_CONTAR_POR_CARRERA).executeQuery()) {
+
+            while (rs.next()) {
+                if (carreras.size() == conteos.length) {
+                    conteos = Arrays.copyOf(conteos, conteos.length * 2);
+                }
+                conteos[carreras.size()] = rs.getInt(2);
+                carreras.add(rs.getString(1));
+            }
+            MetricasDAO.registrar(OperacionDAO.CONTAR_POR_CARRERA, inicio, carreras.size());
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(Constantes.SQL_CONTAR_POR_CARRERA, cp.obtenerInicioPrestamo(), carreras.size());
+            }
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.CONTAR_POR_CARRERA, inicio, e);
+            System.err.println("✗ Error al contar estudiantes por carrera:");
+            e.printStackTrace();
+            return new ConteoCarreras(new String[0], new int[0]);
+        }
+
+        return new ConteoCarreras(carreras.toArray(new String[0]), Arrays.copyOf(conteos, carreras.size()));
+    }
+
+    /**
+     * Cuenta los estudiantes de cada semestre con GROUP BY sobre el índice
+     * de semestre.
+     * 
+     * @return Arreglo donde la posición s tiene el número de estudiantes del semestre s (1 a 10)
+     */
+    @Override
+    public int[] contarPorSemestre() {
+        long inicio = MetricasDAO.iniciar();
+        int[] conteos = new int[11];
+        int filas = 0;
+
+        try (ConexionPrestada cp = conexionBD.prestarLectura();
+                ResultSet rs = cp.preparar(Constantes.SQL_CONTAR_POR_SEMESTRE).executeQuery()) {
+
+            while (rs.next()) {
+                conteos[rs.getInt(1)] = rs.getInt(2);
+                filas++;
+            }
+            MetricasDAO.registrar(OperacionDAO.CONTAR_POR_SEMESTRE, inicio, filas);
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(Constantes.SQL_CONTAR_POR_SEMESTRE, cp.obtenerInicioPrestamo(), filas);
+            }
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.CONTAR_POR_SEMESTRE, inicio, e);
+            System.err.println("✗ Error al contar estudiantes por semestre:");
+            e.printStackTrace();
+        }
+        return conteos;
+    }
+
+    /**
+     * Cuenta los estudiantes por carrera y semestre con un solo GROUP BY.
+     * 
+     * @return Matriz carrera x semestre; vacía si hay error
+     */
+    @Override
+    public MatrizCarreraSemestre contarPorCarreraYSemestre() {
+        long inicio = MetricasDAO.iniciar();
+        int filas = 0;
+        List<String> carreras = new ArrayList<>();
+        List<int[]> celdas = new ArrayList<>();
+
+        try (ConexionPrestada cp = conexionBD.prestarLectura();
+                ResultSet rs = cp.preparar(Constantes.SQL_CONTAR_POR_CARRERA_SEMESTRE).executeQuery()) {
+
+            // Filas ordenadas por carrera: cada carrera nueva abre una fila de la matriz
+            while (rs.next()) {
+                String carrera = rs.getString(1);
+                if (carreras.isEmpty() || !carreras.get(carreras.size() - 1).equals(carrera)) {
+                    carreras.add(carrera);
+                    celdas.add(new int[11]);
+                }
+                celdas.get(celdas.size() - 1)[rs.getInt(2)] = rs.getInt(3);
+                filas++;
+            }
+            MetricasDAO.registrar(OperacionDAO.CONTAR_POR_CARRERA_Y_SEMESTRE, inicio, filas);
+            if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                RegistroConsultasLentas.registrar(Constantes.SQL_CONTAR_POR_CARRERA_SEMESTRE, cp.obtenerInicioPrestamo(), filas);
+            }
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.CONTAR_POR_CARRERA_Y_SEMESTRE, inicio, e);
+            System.err.println("✗ Error al contar estudiantes por carrera y semestre:");
+            e.printStackTrace();
+            return new MatrizCarreraSemestre(new String[0]);
+        }
+
+        MatrizCarreraSemestre matriz = new MatrizCarreraSemestre(carreras.toArray(new String[0]));
+        for (int fila = 0; fila < carreras.size(); fila++) {
+            int[] conteos = celdas.get(fila);
+            for (int semestre = 1; semestre < conteos.length; semestre++) {
+                matriz.asignar(carreras.get(fila), semestre, conteos[semestre]);
+            }
+        }
+        return matriz;
+    }
+
+    /**
+     * Cuenta los estudiantes de una carrera en un rango de semestres.
+     * 
+     * @param carrera       Carrera exacta, o null para todas
+     * @param semestreDesde Semestre inicial (incluido)
+     * @param semestreHasta Semestre final (incluido)
+     * @return Número de estudiantes que cumplen el filtro
+     */
+    @Override
+    public int contar(String carrera, int semestreDesde, int semestreHasta) {
+        long inicio = MetricasDAO.iniciar();
+        try (ConexionPrestada cp = conexionBD.prestarLectura()) {
+            PreparedStatement pstmt;
+            if (carrera != null) {
+                pstmt = cp.preparar(Constantes.SQL_CONTAR_CARRERA_SEMESTRES);
+                pstmt.setString(1, carrera);
+                pstmt.setInt(2, semestreDesde);
+                pstmt.setInt(3, semestreHasta);
+            } else {
+                pstmt = cp.preparar(Constantes.SQL_CONTAR_SEMESTRES);
+                pstmt.setInt(1, semestreDesde);
+                pstmt.setInt(2, semestreHasta);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int total = rs.next() ? rs.getInt(1) : 0;
+                MetricasDAO.registrar(OperacionDAO.CONTAR, inicio, 1);
+                if (RegistroConsultasLentas.supera(cp.obtenerInicioPrestamo())) {
+                    if (carrera != null) {
+                        RegistroConsultasLentas.registrar(Constantes.SQL_CONTAR_CARRERA_SEMESTRES, cp.obtenerInicioPrestamo(), 1, carrera,
+                                semestreDesde, semestreHasta);
+                    } else {
+                        RegistroConsultasLentas.registrar(Constantes.SQL_CONTAR_SEMESTRES, cp.obtenerInicioPrestamo(), 1, semestreDesde,
+                                semestreHasta);
+                    }
+                }
+                return total;
+            }
+
+        } catch (SQLException e) {
+            MetricasDAO.registrarError(OperacionDAO.CONTAR, inicio, e);
+            System.err.println("✗ Error al contar estudiantes filtrados:");
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    /**
+     * Ejecuta SQL_INSERTAR en una conexión de escritura ya prestada.
+     * Usado por insertar, insertarLote y la cola de escritura (ColaEscritura).
+     * 
+     * Los ejecutar* no modifican el estudiante: dentro de una transacción el
+     * cambio aún puede perderse, así que el llamador le asigna el ID, la
+     * versión o limpia sus cambios solo después del commit.
+     * 
+     * @return ID generado, o 0 si no se insertó ninguna fila
+     */
+    int ejecutarInsertar(ConexionPrestada cp, Estudiante estudiante) throws SQLException {
+        PreparedStatement pstmt = cp.preparar(Constantes.SQL_INSERTAR);
+        asignarParametros(pstmt, estudiante);
+        return pstmt.executeUpdate() > 0 ? obtenerUltimoId(cp) : 0;
+    }
+
+    /**
+     * Obtiene el último ID insertado en la conexión indicada.
+     */
+    private int obtenerUltimoId(ConexionPrestada cp) throws SQLException {
+        try (ResultSet rs = cp.preparar(Constantes.SQL_ULTIMO_ID).executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Ejecuta SQL_ACTUALIZAR en una conexión de escritura ya prestada.
+     * 
+     * @return Filas afectadas
+     */
+    int ejecutarActualizar(ConexionPrestada cp, Estudiante estudiante) throws SQLException {
+        PreparedStatement pstmt = cp.preparar(Constantes.SQL_ACTUALIZAR);
+        asignarParametros(pstmt, estudiante);
+        pstmt.setInt(6, estudiante.getId());
+        return pstmt.executeUpdate();
+    }
+
+    /**
+     * Ejecuta el UPDATE condicional de los campos modificados en una conexión
+     * de escritura ya prestada. Si no se actualizó ninguna fila consulta la
+     * versión para distinguir un conflicto de un estudiante eliminado.
+     * 
+     * @return ACTUALIZADO, CONFLICTO o NO_ENCONTRADO
+     */
+    ResultadoActualizacion ejecutarActualizarCambios(ConexionPrestada cp, Estudiante estudiante)
+            throws SQLException {
+        int campos = estudiante.getCamposModificados();
+        PreparedStatement pstmt = cp.preparar(SQL_ACTUALIZAR_CAMPOS[campos]);
+
+        int parametro = 1;
+        if ((campos & Estudiante.CAMPO_NOMBRE) != 0) {
+            pstmt.setString(parametro++, estudiante.getNombre());
+        }
+        if ((campos & Estudiante.CAMPO_APELLIDO) != 0) {
+            pstmt.setString(parametro++, estudiante.getApellido());
+        }
+        if ((campos & Estudiante.CAMPO_EMAIL) != 0) {
+            pstmt.setString(parametro++, estudiante.getEmail());
+        }
+        if ((campos & Estudiante.CAMPO_CARRERA) != 0) {
+            pstmt.setString(parametro++, estudiante.getCarrera());
+        }
+        if ((campos & Estudiante.CAMPO_SEMESTRE) != 0) {
+            pstmt.setInt(parametro++, estudiante.getSemestre());
+        }
+        pstmt.setInt(parametro++, estudiante.getId());
+        pstmt.setInt(parametro, estudiante.getVersion());
+
+        if (pstmt.executeUpdate() > 0) {
+            return ResultadoActualizacion.ACTUALIZADO;
+        }
+
+        PreparedStatement version = cp.preparar(Constantes.SQL_OBTENER_VERSION);
+        version.setInt(1, estudiante.getId());
+        try (ResultSet rs = version.executeQuery()) {
+            return rs.next() ? ResultadoActualizacion.CONFLICTO : ResultadoActualizacion.NO_ENCONTRADO;
+        }
+    }
+
+    /**
+     * Construye SQL_ACTUALIZAR_CAMPOS: para cada combinación de bits, un
+     * UPDATE que asigna solo esas columnas, incrementa la versión y exige
+     * id y versión. La posición 0 (sin cambios) queda vacía.
+     */
+    private static String[] construirActualizacionesParciales() {
+        String[] sentencias = new String[1 << COLUMNAS_ACTUALIZABLES.length];
+        for (int campos = 1; campos < sentencias.length; campos++) {
+            StringBuilder sql = new StringBuilder("UPDATE estudiantes SET ");
+            for (int c = 0; c < COLUMNAS_ACTUALIZABLES.length; c++) {
+                if ((campos & (1 << c)) != 0) {
+                    sql.append(COLUMNAS_ACTUALIZABLES[c]).append(" = ?, ");
+                }
+            }
+            sql.append("version = version + 1 WHERE id = ? AND version = ?");
+            sentencias[campos] = sql.toString();
+            RegistroConsultasLentas.nombrar(sentencias[campos], "SQL_ACTUALIZAR_CAMPOS[" + campos + "]");
+        }
+        return sentencias;
+    }
+
+    /**
+     * Parámetros de SQL_ACTUALIZAR_CAMPOS[campos] en el orden en que se asignan,
+     * para el registro de consultas lentas.
+     */
+    private static Object[] parametrosActualizacion(Estudiante estudiante, int campos, int version) {
+        List<Object> parametros = new ArrayList<>(7);
+        if ((campos & Estudiante.CAMPO_NOMBRE) != 0) {
+            parametros.add(estudiante.getNombre());
+        }
+        if ((campos & Estudiante.CAMPO_APELLIDO) != 0) {
+            parametros.add(estudiante.getApellido());
+        }
+        if ((campos & Estudiante.CAMPO_EMAIL) != 0) {
+            parametros.add(estudiante.getEmail());
+        }
+        if ((campos & Estudiante.CAMPO_CARRERA) != 0) {
+            parametros.add(estudiante.getCarrera());
+        }
+        if ((campos & Estudiante.CAMPO_SEMESTRE) != 0) {
+            parametros.add(estudiante.getSemestre());
+        }
+        parametros.add(estudiante.getId());
+        parametros.add(version);
+        return parametros.toArray();
+    }
+
+    /**
+     * Ejecuta SQL_ELIMINAR en una conexión de escritura ya prestada.
+     * 
+     * @return Filas afectadas
+     */
+    int ejecutarEliminar(ConexionPrestada cp, int id) throws SQLException {
+        PreparedStatement pstmt = cp.preparar(Constantes.SQL_ELIMINAR);
+        pstmt.setInt(1, id);
+        return pstmt.executeUpdate();
+    }
+
+    // Notificaciones a los objetos registrados, siempre después del commit
+
+    void notificarInsertar(Estudiante estudiante) {
+        conexionBD.ajustarTotalEstudiantes(1);
+        for (EscuchaCambios escucha : escuchas) {
+            escucha.alInsertar(estudiante);
+        }
+    }
+
+    void notificarActualizar(Estudiante estudiante) {
+        for (EscuchaCambios escucha : escuchas) {
+            escucha.alActualizar(estudiante);
+        }
+    }
+
+    void notificarEliminar(int id) {
+        conexionBD.ajustarTotalEstudiantes(-1);
+        for (EscuchaCambios escucha : escuchas) {
+            escucha.alEliminar(id);
+        }
+    }
+
+    /**
+     * Convierte la fila actual de SQL_OBTENER_CAMBIOS en un evento.
+     * Las columnas se leen por posición, en el orden de la consulta.
+     */
+    private EventoCambio mapearEvento(ResultSet rs) throws SQLException {
+        int id = rs.getInt(3);
+        return new EventoCambio(rs.getLong(1), TipoCambio.desdeCodigo(rs.getString(2).charAt(0)), id,
+                mapearImagen(rs, id, 4), mapearImagen(rs, id, 10), rs.getLong(16));
+    }
+
+    /**
+     * Lee una imagen (antes o después) de un evento a partir de la columna
+     * indicada; null si el evento no la tiene.
+     */
+    private EstudianteInmutable mapearImagen(ResultSet rs, int id, int desde) throws SQLException {
+        String nombre = rs.getString(desde);
+        if (nombre == null) {
+            return null;
+        }
+        return new EstudianteInmutable(id, nombre, rs.getString(desde + 1), rs.getString(desde + 2),
+                rs.getString(desde + 3), rs.getInt(desde + 4), rs.getInt(desde + 5));
+    }
+
+    /**
+     * Asigna nombre, apellido, email, carrera y semestre a los parámetros 1 a 5.
+     * Orden compartido por SQL_INSERTAR y SQL_ACTUALIZAR.
+     * 
+     * @param pstmt      Sentencia a preparar
+     * @param estudiante Estudiante con los datos
+     * @throws SQLException Si hay error al asignar los parámetros
+     */
+    private void asignarParametros(PreparedStatement pstmt, Estudiante estudiante) throws SQLException {
+        pstmt.setString(1, estudiante.getNombre());
+        pstmt.setString(2, estudiante.getApellido());
+        pstmt.setString(3, estudiante.getEmail());
+        pstmt.setString(4, estudiante.getCarrera());
+        pstmt.setInt(5, estudiante.getSemestre());
+    }
+
+    /**
+     * Adapta una consulta de lectura a las columnas del mapeador.
+     * Las consultas de Constantes seleccionan COLUMNAS_ESTUDIANTE; si el
+     * mapeador pide otras, se reemplaza esa lista y la sentencia resultante
+     * se nombra en RegistroConsultasLentas a partir de la original.
+     * 
+     * @param sql      Consulta de Constantes
+     * @param mapeador Mapeador que leerá las filas
+     * @return Consulta con las columnas del mapeador
+     */
+    private static String proyectar(String sql, MapeadorFila<?> mapeador) {
+        String columnas = mapeador.columnas();
+        if (Constantes.COLUMNAS_ESTUDIANTE.equals(columnas)) {
+            return sql;
+        }
+        return CONSULTAS_PROYECTADAS.computeIfAbsent(columnas + '\n' + sql, clave -> {
+            String proyectada = sql.replace(Constantes.COLUMNAS_ESTUDIANTE, columnas);
+            RegistroConsultasLentas.nombrar(proyectada,
+                    RegistroConsultasLentas.nombreDe(sql) + " (" + columnas + ")");
+            return proyectada;
+        });
+    }
+
+    /**
+     * Convierte el texto ingresado en una consulta FTS5 de prefijos.
+     * Cada palabra se entrecomilla (para neutralizar la sintaxis de FTS5) y
+     * se le agrega '*'; todas las palabras deben coincidir.
+     * 
+     * @param texto Texto ingresado por el usuario
+     * @return Consulta MATCH, o null si debe usarse LIKE
+     */
+    private String construirConsultaTexto(String texto) {
+        if (!conexionBD.tieneIndiceTexto()) {
+            return null;
+        }
+
+        StringBuilder consulta = new StringBuilder();
+        for (String palabra : texto.split("[^\\p{L}\\p{N}]+")) {
+            if (palabra.isEmpty()) {
+                continue;
+            }
+            if (consulta.length() > 0) {
+                consulta.append(' ');
+            }
+            consulta.append('"').append(palabra).append("\"*");
         }
-        return 0;
+        return consulta.length() > 0 ? consulta.toString() : null;
     }
 }
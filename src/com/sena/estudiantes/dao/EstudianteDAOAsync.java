@@ -0,0 +1,239 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.modelo.ConteoCarreras;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.modelo.EstudianteInmutable;
+import com.sena.estudiantes.modelo.MatrizCarreraSemestre;
+import com.sena.estudiantes.util.Constantes;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fachada asíncrona de EstudianteRepository.
+ * Cada operación devuelve un CompletableFuture y el trabajo bloqueante se
+ * ejecuta en otro hilo. En Java 21 o superior se usan hilos virtuales, de
+ * modo que miles de solicitudes pendientes no ocupan miles de hilos del
+ * sistema operativo; en versiones anteriores se usa un pool fijo.
+ *
+ * Un semáforo limita las operaciones simultáneas al tamaño del pool de
+ * conexiones. Cada operación expira tras el tiempo indicado, contando la
+ * espera en cola. Expirar o cancelar el futuro solo descarta la operación
+ * si aún no había empezado: una vez en curso se deja terminar, porque
+ * interrumpir el hilo no aborta una sentencia de sqlite-jdbc. Por eso una
+ * escritura cuyo futuro terminó con TimeoutException o fue cancelado puede
+ * haberse aplicado igualmente; consulte el estado antes de reintentarla.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class EstudianteDAOAsync implements AutoCloseable {
+
+    private final EstudianteRepository dao;
+    private final long timeoutMs;
+    private final Semaphore permisos;
+    private final ExecutorService ejecutor;
+    private final ScheduledExecutorService temporizador;
+
+    /**
+     * Constructor con la concurrencia y el tiempo límite por defecto.
+     *
+     * @param dao Repositorio que ejecuta las operaciones
+     */
+    public EstudianteDAOAsync(EstudianteRepository dao) {
+        this(dao, Constantes.ASYNC_MAX_CONCURRENCIA, Constantes.ASYNC_TIMEOUT_MS);
+    }
+
+    /**
+     * Constructor completo.
+     *
+     * @param dao              Repositorio que ejecuta las operaciones
+     * @param maxConcurrencia  Operaciones simultáneas como máximo
+     * @param timeoutMs        Tiempo límite de cada operación, incluida la espera en cola
+     */
+    public EstudianteDAOAsync(EstudianteRepository dao, int maxConcurrencia, long timeoutMs) {
+        this.dao = dao;
+        this.timeoutMs = timeoutMs;
+        this.permisos = new Semaphore(maxConcurrencia, true);
+        this.ejecutor = crearEjecutor(maxConcurrencia);
+        ScheduledThreadPoolExecutor expiraciones = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread hilo = new Thread(r, "dao-async-timeout");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        // Una expiración cancelada retiene el resultado de su operación: se quita
+        // de la cola al cancelarla en lugar de esperar timeoutMs
+        expiraciones.setRemoveOnCancelPolicy(true);
+        this.temporizador = expiraciones;
+    }
+
+    // ==================== OPERACIONES CRUD ====================
+
+    public CompletableFuture<Boolean> insertar(Estudiante estudiante) {
+        return ejecutar(() -> dao.insertar(estudiante));
+    }
+
+    public CompletableFuture<ResultadoLote> insertarLote(Collection<Estudiante> estudiantes) {
+        return ejecutar(() -> dao.insertarLote(estudiantes));
+    }
+
+    public CompletableFuture<List<Estudiante>> obtenerTodos() {
+        return ejecutar(dao::obtenerTodos);
+    }
+
+    public CompletableFuture<List<EstudianteInmutable>> obtenerTodosInmutables() {
+        return ejecutar(dao::obtenerTodosInmutables);
+    }
+
+    public CompletableFuture<Estudiante> obtenerPorId(int id) {
+        return ejecutar(() -> dao.obtenerPorId(id));
+    }
+
+    public CompletableFuture<EstudianteInmutable> obtenerPorIdInmutable(int id) {
+        return ejecutar(() -> dao.obtenerPorIdInmutable(id));
+    }
+
+    public CompletableFuture<List<Estudiante>> obtenerPagina(int despuesDeId, int tamanoPagina) {
+        return ejecutar(() -> dao.obtenerPagina(despuesDeId, tamanoPagina));
+    }
+
+    public CompletableFuture<List<Estudiante>> buscarPorNombre(String nombre, int despuesDeId,
+            int tamanoPagina) {
+        return ejecutar(() -> dao.buscarPorNombre(nombre, despuesDeId, tamanoPagina));
+    }
+
+    public CompletableFuture<List<Estudiante>> buscarPorNombre(String nombre) {
+        return ejecutar(() -> dao.buscarPorNombre(nombre));
+    }
+
+    public CompletableFuture<List<Estudiante>> buscarPorApellido(String prefijo, int maximo) {
+        return ejecutar(() -> dao.buscarPorApellido(prefijo, maximo));
+    }
+
+    public CompletableFuture<Boolean> actualizar(Estudiante estudiante) {
+        return ejecutar(() -> dao.actualizar(estudiante));
+    }
+
+    public CompletableFuture<ResultadoActualizacion> actualizarCambios(Estudiante estudiante) {
+        return ejecutar(() -> dao.actualizarCambios(estudiante));
+    }
+
+    public CompletableFuture<Boolean> eliminar(int id) {
+        return ejecutar(() -> dao.eliminar(id));
+    }
+
+    public CompletableFuture<Integer> contarEstudiantes() {
+        return ejecutar(dao::contarEstudiantes);
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    public CompletableFuture<ConteoCarreras> contarPorCarrera() {
+        return ejecutar(dao::contarPorCarrera);
+    }
+
+    public CompletableFuture<int[]> contarPorSemestre() {
+        return ejecutar(dao::contarPorSemestre);
+    }
+
+    public CompletableFuture<MatrizCarreraSemestre> contarPorCarreraYSemestre() {
+        return ejecutar(dao::contarPorCarreraYSemestre);
+    }
+
+    public CompletableFuture<Integer> contar(String carrera, int semestreDesde, int semestreHasta) {
+        return ejecutar(() -> dao.contar(carrera, semestreDesde, semestreHasta));
+    }
+
+    /**
+     * Deja de aceptar operaciones. Las ya enviadas terminan o expiran con
+     * normalidad y después se detienen los hilos.
+     */
+    @Override
+    public void close() {
+        ejecutor.shutdown();
+        temporizador.shutdown();
+    }
+
+    // ==================== METODOS AUXILIARES ====================
+
+    /**
+     * Ejecuta una operación del repositorio en otro hilo, limitada por el
+     * semáforo y por el tiempo límite.
+     *
+     * La bandera decidida la gana una sola de dos partes: la tarea, al
+     * empezar la operación, o la expiración/cancelación del futuro mientras
+     * la tarea sigue en cola o esperando el semáforo. Solo en el segundo caso
+     * se interrumpe la tarea; una operación empezada nunca se interrumpe.
+     */
+    private <T> CompletableFuture<T> ejecutar(Supplier<T> operacion) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        AtomicBoolean decidida = new AtomicBoolean();
+
+        Future<?> tarea = ejecutor.submit(() -> {
+            // Cancelada o expirada antes de empezar
+            if (decidida.get()) {
+                return;
+            }
+            try {
+                permisos.acquire();
+            } catch (InterruptedException e) {
+                resultado.completeExceptionally(e);
+                return;
+            }
+            try {
+                if (decidida.compareAndSet(false, true)) {
+                    resultado.complete(operacion.get());
+                }
+            } catch (Throwable t) {
+                resultado.completeExceptionally(t);
+            } finally {
+                permisos.release();
+            }
+        });
+
+        ScheduledFuture<?> expiracion = temporizador.schedule(
+                () -> resultado.completeExceptionally(
+                        new TimeoutException("La operacion supero " + timeoutMs + " ms.")),
+                timeoutMs, TimeUnit.MILLISECONDS);
+
+        // Al cancelar o expirar se descarta la tarea solo si no empezó
+        resultado.whenComplete((valor, error) -> {
+            expiracion.cancel(false);
+            if (error != null && decidida.compareAndSet(false, true)) {
+                tarea.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Crea un ejecutor de hilos virtuales si la JVM los soporta (Java 21+).
+     * Se obtiene por reflexión para seguir compilando con Java 8.
+     */
+    private static ExecutorService crearEjecutor(int hilos) {
+        try {
+            Method virtuales = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtuales.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger numero = new AtomicInteger();
+            return Executors.newFixedThreadPool(hilos, r -> {
+                Thread hilo = new Thread(r, "dao-async-" + numero.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.modelo.ConteoCarreras;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.modelo.EstudianteInmutable;
+import com.sena.estudiantes.modelo.MatrizCarreraSemestre;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de EstudianteRepository con caché de lectura para obtenerPorId.
+ * Mantiene los estudiantes consultados más recientemente (LRU) limitados por
+ * tamaño y por tiempo de vida; el resto de operaciones pasan directamente al
+ * repositorio envuelto. Cada actualización o eliminación confirmada invalida
+ * la entrada del estudiante.
+ * Para desactivar la caché basta con usar el repositorio envuelto directamente.
+ *
+ * La invalidación se hace con un EscuchaCambios registrado en el repositorio
+ * envuelto, así que también cubre las escrituras que no pasan por la caché
+ * (por ejemplo, ColaEscritura sobre el mismo EstudianteDAO).
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class EstudianteDAOCache implements EstudianteRepository {
+
+    /** Contadores de generación; cada ID usa el de la posición id & (GENERACIONES - 1) */
+    private static final int GENERACIONES = 1024;
+
+    private final EstudianteRepository delegado;
+    private final int tamanoMaximo;
+    private final long ttlNanos;
+    private final LinkedHashMap<Integer, Entrada> entradas;
+
+    /**
+     * Se incrementan al invalidar. Una lectura que fue a la base de datos
+     * solo guarda su resultado si la generación de su ID no cambió mientras
+     * tanto: si cambió, el estudiante se modificó o eliminó después de leerlo.
+     * Protegido por el candado de entradas.
+     */
+    private final int[] generaciones = new int[GENERACIONES];
+
+    // Contadores de la caché
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong desalojos = new AtomicLong();
+
+    /**
+     * Estudiante guardado en caché junto con su instante de expiración.
+     */
+    private static class Entrada {
+        private final Estudiante estudiante;
+        private final long expiraNanos;
+
+        Entrada(Estudiante estudiante, long expiraNanos) {
+            this.estudiante = estudiante;
+            this.expiraNanos = expiraNanos;
+        }
+    }
+
+    /**
+     * Constructor que crea la caché sobre un repositorio.
+     *
+     * @param delegado     Repositorio que atiende las operaciones (EstudianteDAO o EstudianteRepositoryMemoria)
+     * @param tamanoMaximo Número máximo de estudiantes en caché
+     * @param ttlMs        Tiempo de vida de cada entrada en milisegundos
+     */
+    public EstudianteDAOCache(EstudianteRepository delegado, int tamanoMaximo, long ttlMs) {
+        this.delegado = delegado;
+        this.tamanoMaximo = tamanoMaximo;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        // accessOrder = true: el orden de iteración va del menos al más usado
+        this.entradas = new LinkedHashMap<Integer, Entrada>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entrada> eldest) {
+                if (size() > EstudianteDAOCache.this.tamanoMaximo) {
+                    desalojos.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        // Invalida tras cada actualización o eliminación confirmada,
+        // ya sea directa o a través de la cola de escritura
+        delegado.agregarEscucha(new EscuchaCambios() {
+            @Override
+            public void alActualizar(Estudiante estudiante) {
+                invalidar(estudiante.getId());
+            }
+
+            @Override
+            public void alEliminar(int id) {
+                invalidar(id);
+            }
+        });
+    }
+
+    /**
+     * @return Repositorio envuelto por la caché
+     */
+    public EstudianteRepository getDelegado() {
+        return delegado;
+    }
+
+    @Override
+    public void agregarEscucha(EscuchaCambios escucha) {
+        delegado.agregarEscucha(escucha);
+    }
+
+    @Override
+    public void quitarEscucha(EscuchaCambios escucha) {
+        delegado.quitarEscucha(escucha);
+    }
+
+    // ==================== CREATE ====================
+
+    @Override
+    public boolean insertar(Estudiante estudiante) {
+        return delegado.insertar(estudiante);
+    }
+
+    @Override
+    public ResultadoLote insertarLote(Collection<Estudiante> estudiantes) {
+        return delegado.insertarLote(estudiantes);
+    }
+
+    @Override
+    public ResultadoLote insertarLote(Iterator<Estudiante> estudiantes, int tamanoLote) {
+        return delegado.insertarLote(estudiantes, tamanoLote);
+    }
+
+    // ==================== READ ====================
+
+    @Override
+    public List<Estudiante> obtenerTodos() {
+        return delegado.obtenerTodos();
+    }
+
+    @Override
+    public List<EstudianteInmutable> obtenerTodosInmutables() {
+        return delegado.obtenerTodosInmutables();
+    }
+
+    @Override
+    public int recorrerTodos(Consumer<Estudiante> consumidor) {
+        return delegado.recorrerTodos(consumidor);
+    }
+
+    @Override
+    public long recorrerFilas(ConsumidorFila consumidor) {
+        return delegado.recorrerFilas(consumidor);
+    }
+
+    /**
+     * Obtiene un estudiante por su ID, consultando primero la caché.
+     * Devuelve una copia para que los cambios del llamador no alteren la caché.
+     *
+     * @param id ID del estudiante a buscar
+     * @return Estudiante encontrado o null si no existe
+     */
+    @Override
+    public Estudiante obtenerPorId(int id) {
+        long ahora = System.nanoTime();
+        int generacion;
+
+        synchronized (entradas) {
+            Entrada entrada = entradas.get(id);
+            if (entrada != null) {
+                if (entrada.expiraNanos - ahora > 0) {
+                    aciertos.incrementAndGet();
+                    return copiar(entrada.estudiante);
+                }
+                entradas.remove(id);
+                desalojos.incrementAndGet();
+            }
+            generacion = generaciones[id & (GENERACIONES - 1)];
+        }
+
+        fallos.incrementAndGet();
+        Estudiante estudiante = delegado.obtenerPorId(id);
+
+        // Los estudiantes inexistentes no se guardan: podrían insertarse después
+        if (estudiante != null) {
+            synchronized (entradas) {
+                if (generaciones[id & (GENERACIONES - 1)] == generacion) {
+                    entradas.put(id, new Entrada(copiar(estudiante), ahora + ttlNanos));
+                }
+            }
+        }
+        return estudiante;
+    }
+
+    @Override
+    public EstudianteInmutable obtenerPorIdInmutable(int id) {
+        return delegado.obtenerPorIdInmutable(id);
+    }
+
+    @Override
+    public List<Estudiante> buscarPorNombre(String nombre) {
+        return delegado.buscarPorNombre(nombre);
+    }
+
+    @Override
+    public List<Estudiante> buscarPorApellido(String prefijo, int maximo) {
+        return delegado.buscarPorApellido(prefijo, maximo);
+    }
+
+    @Override
+    public List<Estudiante> obtenerPagina(int despuesDeId, int tamanoPagina) {
+        return delegado.obtenerPagina(despuesDeId, tamanoPagina);
+    }
+
+    @Override
+    public List<Estudiante> buscarPorNombre(String nombre, int despuesDeId, int tamanoPagina) {
+        return delegado.buscarPorNombre(nombre, despuesDeId, tamanoPagina);
+    }
+
+    // ==================== UPDATE ====================
+
+    @Override
+    public boolean actualizar(Estudiante estudiante) {
+        return delegado.actualizar(estudiante);
+    }
+
+    /**
+     * Un CONFLICTO o NO_ENCONTRADO indica que la copia en cache puede estar
+     * desactualizada (otro proceso cambió o borró la fila sin avisar a este
+     * DAO), así que se invalida para que la siguiente lectura vaya a la base.
+     */
+    @Override
+    public ResultadoActualizacion actualizarCambios(Estudiante estudiante) {
+        ResultadoActualizacion resultado = delegado.actualizarCambios(estudiante);
+        if (resultado == ResultadoActualizacion.CONFLICTO || resultado == ResultadoActualizacion.NO_ENCONTRADO) {
+            invalidar(estudiante.getId());
+        }
+        return resultado;
+    }
+
+    // ==================== DELETE ====================
+
+    @Override
+    public boolean eliminar(int id) {
+        return delegado.eliminar(id);
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    @Override
+    public int contarEstudiantes() {
+        return delegado.contarEstudiantes();
+    }
+
+    @Override
+    public ConteoCarreras contarPorCarrera() {
+        return delegado.contarPorCarrera();
+    }
+
+    @Override
+    public int[] contarPorSemestre() {
+        return delegado.contarPorSemestre();
+    }
+
+    @Override
+    public MatrizCarreraSemestre contarPorCarreraYSemestre() {
+        return delegado.contarPorCarreraYSemestre();
+    }
+
+    @Override
+    public int contar(String carrera, int semestreDesde, int semestreHasta) {
+        return delegado.contar(carrera, semestreDesde, semestreHasta);
+    }
+
+    // ==================== CACHÉ ====================
+
+    /**
+     * Elimina un estudiante de la caché. Las lecturas de ese ID que estén
+     * en curso no guardarán su resultado.
+     *
+     * @param id ID del estudiante
+     */
+    public void invalidar(int id) {
+        synchronized (entradas) {
+            entradas.remove(id);
+            generaciones[id & (GENERACIONES - 1)]++;
+        }
+    }
+
+    /**
+     * Vacía la caché por completo.
+     */
+    public void limpiar() {
+        synchronized (entradas) {
+            entradas.clear();
+            for (int i = 0; i < GENERACIONES; i++) {
+                generaciones[i]++;
+            }
+        }
+    }
+
+    // ==================== CONTADORES ====================
+
+    public long getAciertos() {
+        return aciertos.get();
+    }
+
+    public long getFallos() {
+        return fallos.get();
+    }
+
+    public long getDesalojos() {
+        return desalojos.get();
+    }
+
+    public int getTamano() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    private static Estudiante copiar(Estudiante e) {
+        return new Estudiante(e.getId(), e.getNombre(), e.getApellido(), e.getEmail(), e.getCarrera(),
+                e.getSemestre(), e.getVersion());
+    }
+}
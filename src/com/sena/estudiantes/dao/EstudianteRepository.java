@@ -0,0 +1,208 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.modelo.ConteoCarreras;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.modelo.EstudianteInmutable;
+import com.sena.estudiantes.modelo.MatrizCarreraSemestre;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Operaciones de almacenamiento de estudiantes, independientes del motor.
+ *
+ * Hay dos implementaciones: EstudianteDAO, sobre SQLite con JDBC, y
+ * EstudianteRepositoryMemoria, en memoria con instantáneas opcionales en
+ * disco. Ambas aplican las mismas reglas (email único, semestre de 1 a 10,
+ * IDs que no se reutilizan, versión por fila) y notifican los cambios
+ * confirmados a los EscuchaCambios registrados.
+ *
+ * Las operaciones propias de SQLite (mapeadores de ResultSet, registro de
+ * cambios, representación compacta) solo están en EstudianteDAO.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public interface EstudianteRepository {
+
+    /**
+     * Registra un objeto que será notificado de cada cambio confirmado.
+     *
+     * @param escucha Objeto a notificar
+     */
+    void agregarEscucha(EscuchaCambios escucha);
+
+    /**
+     * Deja de notificar a un objeto registrado con agregarEscucha.
+     *
+     * @param escucha Objeto que ya no se notifica
+     */
+    void quitarEscucha(EscuchaCambios escucha);
+
+    // ==================== CREATE ====================
+
+    /**
+     * Inserta un estudiante y le asigna el ID generado y la versión 1.
+     *
+     * @param estudiante Estudiante a insertar
+     * @return true si se insertó, false si no (por ejemplo, email duplicado)
+     */
+    boolean insertar(Estudiante estudiante);
+
+    /**
+     * Inserta una colección de estudiantes por lotes de Constantes.TAMANO_LOTE.
+     *
+     * @param estudiantes Estudiantes a insertar
+     * @return Resultado con las filas insertadas y las rechazadas
+     */
+    ResultadoLote insertarLote(Collection<Estudiante> estudiantes);
+
+    /**
+     * Inserta estudiantes por lotes. Una fila rechazada no impide insertar
+     * las demás; a cada estudiante insertado se le asigna su ID.
+     *
+     * @param estudiantes Iterador con los estudiantes a insertar
+     * @param tamanoLote  Filas por lote
+     * @return Resultado con las filas insertadas y las rechazadas
+     */
+    ResultadoLote insertarLote(Iterator<Estudiante> estudiantes, int tamanoLote);
+
+    // ==================== READ ====================
+
+    /**
+     * @return Todos los estudiantes, en orden de ID
+     */
+    List<Estudiante> obtenerTodos();
+
+    /**
+     * @return Todos los estudiantes como objetos inmutables, en orden de ID
+     */
+    List<EstudianteInmutable> obtenerTodosInmutables();
+
+    /**
+     * Recorre todos los estudiantes en orden de ID sin cargarlos en una lista.
+     *
+     * @param consumidor Acción a ejecutar con cada estudiante
+     * @return Número de estudiantes recorridos
+     */
+    int recorrerTodos(Consumer<Estudiante> consumidor);
+
+    /**
+     * Recorre los valores de todos los estudiantes en orden de ID sin crear
+     * un objeto por fila.
+     *
+     * @param consumidor Receptor de cada fila
+     * @return Número de filas recorridas, o -1 si hubo error
+     */
+    long recorrerFilas(ConsumidorFila consumidor);
+
+    /**
+     * @param id ID del estudiante
+     * @return Estudiante encontrado o null si no existe
+     */
+    Estudiante obtenerPorId(int id);
+
+    /**
+     * @param id ID del estudiante
+     * @return Estudiante inmutable encontrado o null si no existe
+     */
+    EstudianteInmutable obtenerPorIdInmutable(int id);
+
+    /**
+     * Busca estudiantes cuyo nombre o apellido coincida con el texto.
+     *
+     * @param nombre Texto a buscar; null no coincide con ninguno
+     * @return Estudiantes encontrados, en orden de ID
+     */
+    List<Estudiante> buscarPorNombre(String nombre);
+
+    /**
+     * Busca estudiantes cuyo apellido empieza por el prefijo indicado
+     * (distingue mayúsculas), ordenados por apellido y nombre.
+     *
+     * @param prefijo Inicio del apellido; vacío para todos y null para ninguno
+     * @param maximo  Máximo de estudiantes a devolver
+     * @return Estudiantes encontrados
+     */
+    List<Estudiante> buscarPorApellido(String prefijo, int maximo);
+
+    /**
+     * Obtiene una página de estudiantes ordenada por ID (paginación por clave).
+     *
+     * @param despuesDeId  ID del último estudiante de la página anterior (0 para la primera)
+     * @param tamanoPagina Máximo de estudiantes a devolver
+     * @return Estudiantes de la página; lista vacía si no hay más
+     */
+    List<Estudiante> obtenerPagina(int despuesDeId, int tamanoPagina);
+
+    /**
+     * Busca una página de estudiantes por nombre o apellido, ordenada por ID.
+     *
+     * @param nombre       Texto a buscar; null no coincide con ninguno
+     * @param despuesDeId  ID del último estudiante de la página anterior (0 para la primera)
+     * @param tamanoPagina Máximo de estudiantes a devolver
+     * @return Estudiantes de la página; lista vacía si no hay más
+     */
+    List<Estudiante> buscarPorNombre(String nombre, int despuesDeId, int tamanoPagina);
+
+    // ==================== UPDATE ====================
+
+    /**
+     * Escribe todos los campos del estudiante e incrementa la versión sin
+     * compararla.
+     *
+     * @param estudiante Estudiante con los datos nuevos
+     * @return true si se actualizó
+     */
+    boolean actualizar(Estudiante estudiante);
+
+    /**
+     * Guarda solo los campos modificados si la versión del estudiante sigue
+     * siendo la almacenada (control de concurrencia optimista).
+     *
+     * @param estudiante Estudiante leído y modificado con sus setters
+     * @return Resultado de la actualización
+     */
+    ResultadoActualizacion actualizarCambios(Estudiante estudiante);
+
+    // ==================== DELETE ====================
+
+    /**
+     * @param id ID del estudiante a eliminar
+     * @return true si se eliminó
+     */
+    boolean eliminar(int id);
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * @return Número total de estudiantes
+     */
+    int contarEstudiantes();
+
+    /**
+     * @return Conteos por carrera, ordenados por carrera
+     */
+    ConteoCarreras contarPorCarrera();
+
+    /**
+     * @return Arreglo donde la posición s tiene el número de estudiantes del semestre s (1 a 10)
+     */
+    int[] contarPorSemestre();
+
+    /**
+     * @return Matriz carrera x semestre
+     */
+    MatrizCarreraSemestre contarPorCarreraYSemestre();
+
+    /**
+     * Cuenta los estudiantes de una carrera en un rango de semestres.
+     *
+     * @param carrera       Carrera exacta, o null para todas
+     * @param semestreDesde Semestre inicial (incluido)
+     * @param semestreHasta Semestre final (incluido)
+     * @return Número de estudiantes que cumplen el filtro
+     */
+    int contar(String carrera, int semestreDesde, int semestreHasta);
+}
@@ -0,0 +1,1228 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.modelo.ConteoCarreras;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.modelo.EstudianteInmutable;
+import com.sena.estudiantes.modelo.MatrizCarreraSemestre;
+import com.sena.estudiantes.util.Constantes;
+import com.sena.estudiantes.util.MapaEnteros;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * EstudianteRepository en memoria, sin JDBC, para pruebas, herramientas y
+ * despliegues donde SQLite no compensa (por ejemplo, quioscos).
+ *
+ * Las filas se guardan como EstudianteInmutable en un arreglo compacto y
+ * un mapa de direccionamiento abierto (MapaEnteros) da la posición de cada
+ * ID. Se mantienen además un
+ * índice hash de email para la restricción de unicidad, un índice ordenado
+ * (apellido, nombre, id) para buscarPorApellido y los conteos por carrera y
+ * semestre, de modo que las estadísticas no recorren las filas.
+ *
+ * Las lecturas comparten un candado de lectura y las escrituras toman el
+ * de escritura; los recorridos copian las referencias a las filas y llaman
+ * al consumidor sin el candado. Los escuchas se notifican después de
+ * liberar el candado, como tras el commit en EstudianteDAO.
+ *
+ * Con un archivo, cada cambio se añade a un registro de escritura anticipada
+ * (RegistroEscritura, archivo.wal) antes de aplicarse, y guardarInstantanea()
+ * escribe todas las filas en el archivo mediante un mapeo en memoria y vacía
+ * el registro. Al crear el repositorio se carga la última instantánea y se
+ * reproducen los cambios del registro posteriores a ella, así que una caída
+ * no pierde ningún cambio confirmado. Las instantáneas se escriben solas
+ * cuando el registro supera el tamaño de compactación, y al cerrar.
+ *
+ * Sin registro (estudiantes.memoria.registro=false) solo hay instantáneas,
+ * y los cambios posteriores a la última se pierden si el proceso termina.
+ *
+ * No registra métricas del DAO: sus operaciones no esperan conexiones.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class EstudianteRepositoryMemoria implements EstudianteRepository, AutoCloseable {
+
+    /** Identifica el formato de las instantáneas ("ESTM") */
+    private static final int MAGICO = 0x4553544D;
+    private static final int VERSION_FORMATO = 2;
+
+    /** Bytes de la cabecera (mágico, versión, secuencia, último ID, filas) y del CRC final */
+    private static final int CABECERA = 4 + 4 + 8 + 4 + 4;
+    private static final int COLA = 8;
+
+    private static final Pattern SEPARADOR_PALABRAS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    private final List<EscuchaCambios> escuchas = new CopyOnWriteArrayList<>();
+    private final Path archivo;
+    private final Path archivoRegistro;
+    private final Path archivoRegistroAnterior;
+
+    // Registro de escritura y la tarea que lo sincroniza y compacta; null sin registro
+    private final RegistroEscritura registro;
+    private final ScheduledExecutorService tareas;
+    private final long bytesCompactacion;
+    private final AtomicBoolean compactando = new AtomicBoolean();
+
+    // Filas y su texto de búsqueda (palabras normalizadas de nombre y apellido) en
+    // las posiciones [0, cantidadFilas); posiciones da la de cada ID
+    private final MapaEnteros posiciones;
+    private EstudianteInmutable[] tabla;
+    private String[] textos;
+    private int cantidadFilas;
+
+    // Índice único de email
+    private final Map<String, Integer> porEmail = new HashMap<>();
+
+    // Índice ordenado por apellido, nombre e ID
+    private final TreeSet<ClaveApellido> porApellido = new TreeSet<>();
+
+    // Conteos por carrera: posición 0 el total, 1 a 10 cada semestre
+    private final TreeMap<String, int[]> conteos = new TreeMap<>();
+
+    // Último ID asignado; los IDs no se reutilizan, como con AUTOINCREMENT
+    private int ultimoId;
+
+    // Secuencia del último cambio aplicado; la instantánea guarda hasta cuál la incluye
+    private long secuencia;
+
+    /**
+     * Entrada del índice por apellido.
+     */
+    private static final class ClaveApellido implements Comparable<ClaveApellido> {
+        private final String apellido;
+        private final String nombre;
+        private final int id;
+
+        ClaveApellido(String apellido, String nombre, int id) {
+            this.apellido = apellido;
+            this.nombre = nombre;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(ClaveApellido otra) {
+            int comparacion = apellido.compareTo(otra.apellido);
+            if (comparacion == 0) {
+                comparacion = nombre.compareTo(otra.nombre);
+            }
+            return comparacion != 0 ? comparacion : Integer.compare(id, otra.id);
+        }
+    }
+
+    /**
+     * Crea un repositorio vacío y sin persistencia.
+     */
+    public EstudianteRepositoryMemoria() {
+        this(null, false, 0, 0, 0);
+    }
+
+    /**
+     * Crea un repositorio persistido en el archivo indicado, con el registro
+     * de escritura configurado por las propiedades estudiantes.memoria.*, y
+     * recupera su contenido si existe.
+     *
+     * @param archivo Archivo de instantánea
+     * @throws IllegalStateException Si la instantánea o el registro no se pueden leer
+     */
+    public EstudianteRepositoryMemoria(Path archivo) {
+        this(archivo, !"false".equalsIgnoreCase(System.getProperty(Constantes.PROP_MEMORIA_REGISTRO)),
+                (int) leerPropiedad(Constantes.PROP_MEMORIA_SYNC_REGISTROS, Constantes.MEMORIA_SYNC_REGISTROS),
+                leerPropiedad(Constantes.PROP_MEMORIA_SYNC_MS, Constantes.MEMORIA_SYNC_MS),
+                leerPropiedad(Constantes.PROP_MEMORIA_COMPACTAR_BYTES, Constantes.MEMORIA_COMPACTAR_BYTES));
+    }
+
+    /**
+     * Constructor completo. Carga la instantánea si existe y reproduce los
+     * cambios posteriores del registro; un registro que termina en un cambio
+     * a medio escribir se recorta hasta el último cambio completo.
+     *
+     * @param archivo           Archivo de instantánea, o null para no persistir
+     * @param conRegistro       Si cada cambio se escribe en el registro antes de aplicarse
+     * @param registrosPorSync  Cambios que se acumulan antes de sincronizar el registro con el disco
+     *                          (1 = cada cambio; 0 = solo cada intervaloSyncMs)
+     * @param intervaloSyncMs   Intervalo de sincronización de los cambios pendientes; 0 para no sincronizar por tiempo
+     * @param bytesCompactacion Tamaño del registro que provoca una instantánea; 0 para compactar solo al cerrar
+     * @throws IllegalStateException Si la instantánea o el registro no se pueden leer
+     */
+    public EstudianteRepositoryMemoria(Path archivo, boolean conRegistro, int registrosPorSync, long intervaloSyncMs,
+            long bytesCompactacion) {
+        if (conRegistro && archivo == null) {
+            throw new IllegalArgumentException("El registro de escritura necesita un archivo");
+        }
+        if (registrosPorSync < 0 || intervaloSyncMs < 0 || bytesCompactacion < 0) {
+            throw new IllegalArgumentException("Los parametros del registro no pueden ser negativos");
+        }
+
+        this.archivo = archivo;
+        this.bytesCompactacion = bytesCompactacion;
+        this.posiciones = new MapaEnteros(Constantes.MEMORIA_CAPACIDAD_INICIAL);
+        this.tabla = new EstudianteInmutable[Constantes.MEMORIA_CAPACIDAD_INICIAL];
+        this.textos = new String[Constantes.MEMORIA_CAPACIDAD_INICIAL];
+        if (archivo == null) {
+            this.archivoRegistro = null;
+            this.archivoRegistroAnterior = null;
+            this.registro = null;
+            this.tareas = null;
+            return;
+        }
+
+        this.archivoRegistro = archivo.resolveSibling(archivo.getFileName() + ".wal");
+        this.archivoRegistroAnterior = archivo.resolveSibling(archivo.getFileName() + ".wal.anterior");
+        try {
+            if (Files.exists(archivo)) {
+                cargarInstantanea();
+            }
+
+            // El registro anterior solo existe si una compactación no terminó
+            RegistroEscritura.Lectura lectura = RegistroEscritura.leer(archivoRegistroAnterior, secuencia,
+                    this::aplicarRegistro);
+            secuencia = lectura.ultimaSecuencia;
+            lectura = RegistroEscritura.leer(archivoRegistro, secuencia, this::aplicarRegistro);
+            secuencia = lectura.ultimaSecuencia;
+
+            if (conRegistro && archivo.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(archivo.toAbsolutePath().getParent());
+            }
+            this.registro = conRegistro
+                    ? new RegistroEscritura(archivoRegistro, lectura.posicionValida, registrosPorSync)
+                    : null;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo recuperar " + archivo + ": " + e.getMessage(), e);
+        }
+
+        if (registro == null) {
+            this.tareas = null;
+            return;
+        }
+        this.tareas = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "memoria-registro");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        if (registrosPorSync != 1 && intervaloSyncMs > 0) {
+            tareas.scheduleWithFixedDelay(this::sincronizarRegistro, intervaloSyncMs, intervaloSyncMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void agregarEscucha(EscuchaCambios escucha) {
+        escuchas.add(escucha);
+    }
+
+    @Override
+    public void quitarEscucha(EscuchaCambios escucha) {
+        escuchas.remove(escucha);
+    }
+
+    // ==================== OPERACIÓN CREATE (INSERTAR) ====================
+
+    @Override
+    public boolean insertar(Estudiante estudiante) {
+        candado.writeLock().lock();
+        try {
+            String error = validar(estudiante.getNombre(), estudiante.getApellido(), estudiante.getEmail(),
+                    estudiante.getCarrera(), estudiante.getSemestre(), 0);
+            if (error != null) {
+                System.err.println("✗ Error al insertar estudiante: " + error);
+                return false;
+            }
+            EstudianteInmutable fila = insertarFila(estudiante, true);
+            asignarInsercion(estudiante, fila);
+
+        } catch (IOException e) {
+            System.err.println("✗ Error al insertar estudiante: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            candado.writeLock().unlock();
+        }
+        programarCompactacion();
+        notificarInsertar(estudiante);
+        return true;
+    }
+
+    @Override
+    public ResultadoLote insertarLote(Collection<Estudiante> estudiantes) {
+        return insertarLote(estudiantes.iterator(), Constantes.TAMANO_LOTE);
+    }
+
+    /**
+     * Inserta estudiantes por lotes; cada lote se aplica con una sola toma
+     * del candado de escritura y una sola sincronización del registro. Las
+     * filas rechazadas se registran en el resultado con el mismo mensaje que
+     * daría SQLite.
+     *
+     * Cada lote es atómico, como la transacción de EstudianteDAO: si el
+     * registro falla al escribirlo o al sincronizarlo, el lote se recorta del
+     * archivo y se deshace en memoria, sus estudiantes no reciben ID ni se
+     * notifican y la carga se interrumpe. Los lotes anteriores se conservan.
+     */
+    @Override
+    public ResultadoLote insertarLote(Iterator<Estudiante> estudiantes, int tamanoLote) {
+        if (tamanoLote < 1) {
+            throw new IllegalArgumentException("El tamano de lote debe ser mayor que cero");
+        }
+
+        ResultadoLote resultado = new ResultadoLote();
+        List<Estudiante> lote = new ArrayList<>(tamanoLote);
+        List<Estudiante> insertados = new ArrayList<>(tamanoLote);
+        List<EstudianteInmutable> filas = new ArrayList<>(tamanoLote);
+        int posicion = 0;
+
+        while (estudiantes.hasNext() && !resultado.isInterrumpido()) {
+            lote.add(estudiantes.next());
+            if (lote.size() < tamanoLote && estudiantes.hasNext()) {
+                continue;
+            }
+
+            candado.writeLock().lock();
+            // Estado previo al lote, para deshacerlo si el registro falla
+            long inicioRegistro = registro != null ? registro.getTamano() : 0;
+            long secuenciaInicial = secuencia;
+            int ultimoIdInicial = ultimoId;
+            try {
+                for (int i = 0; i < lote.size(); i++) {
+                    Estudiante estudiante = lote.get(i);
+                    String error = validar(estudiante.getNombre(), estudiante.getApellido(), estudiante.getEmail(),
+                            estudiante.getCarrera(), estudiante.getSemestre(), 0);
+                    if (error != null) {
+                        resultado.registrarFalla(posicion + i, estudiante, error);
+                    } else {
+                        filas.add(insertarFila(estudiante, false));
+                        insertados.add(estudiante);
+                    }
+                }
+                if (registro != null) {
+                    registro.confirmar();
+                }
+                for (int i = 0; i < insertados.size(); i++) {
+                    asignarInsercion(insertados.get(i), filas.get(i));
+                }
+
+            } catch (IOException e) {
+                System.err.println("✗ Error en la insercion por lotes: " + e.getMessage());
+                e.printStackTrace();
+                if (registro != null) {
+                    registro.recortar(inicioRegistro);
+                }
+                for (EstudianteInmutable fila : filas) {
+                    quitarFila(fila);
+                }
+                secuencia = secuenciaInicial;
+                ultimoId = ultimoIdInicial;
+                insertados.clear();
+                resultado.marcarInterrumpido();
+            } finally {
+                candado.writeLock().unlock();
+            }
+
+            programarCompactacion();
+            for (Estudiante estudiante : insertados) {
+                notificarInsertar(estudiante);
+            }
+            resultado.sumarInsertados(insertados.size());
+            posicion += lote.size();
+            lote.clear();
+            insertados.clear();
+            filas.clear();
+        }
+
+        return resultado;
+    }
+
+    // ==================== OPERACIÓN READ (CONSULTAR) ====================
+
+    @Override
+    public List<Estudiante> obtenerTodos() {
+        return aEstudiantes(filas(0, Integer.MAX_VALUE, fila -> true));
+    }
+
+    /**
+     * Devuelve las filas guardadas, sin copiarlas: son inmutables.
+     */
+    @Override
+    public List<EstudianteInmutable> obtenerTodosInmutables() {
+        return filas(0, Integer.MAX_VALUE, fila -> true);
+    }
+
+    @Override
+    public int recorrerTodos(Consumer<Estudiante> consumidor) {
+        List<EstudianteInmutable> filas = filas(0, Integer.MAX_VALUE, fila -> true);
+        for (EstudianteInmutable fila : filas) {
+            consumidor.accept(fila.aEstudiante());
+        }
+        return filas.size();
+    }
+
+    @Override
+    public long recorrerFilas(ConsumidorFila consumidor) {
+        List<EstudianteInmutable> filas = filas(0, Integer.MAX_VALUE, fila -> true);
+        for (EstudianteInmutable fila : filas) {
+            consumidor.aceptar(fila.getId(), fila.getNombre(), fila.getApellido(), fila.getEmail(), fila.getCarrera(),
+                    fila.getSemestre());
+        }
+        return filas.size();
+    }
+
+    @Override
+    public Estudiante obtenerPorId(int id) {
+        EstudianteInmutable fila = obtenerPorIdInmutable(id);
+        return fila != null ? fila.aEstudiante() : null;
+    }
+
+    @Override
+    public EstudianteInmutable obtenerPorIdInmutable(int id) {
+        candado.readLock().lock();
+        try {
+            return buscarFila(id);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca como EstudianteDAO con el índice de texto: cada palabra buscada
+     * debe ser prefijo de una palabra del nombre o apellido, sin distinguir
+     * mayúsculas ni tildes. Si el texto no tiene palabras se busca como
+     * subcadena, igual que LIKE.
+     */
+    @Override
+    public List<Estudiante> buscarPorNombre(String nombre) {
+        return buscarPorNombre(nombre, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Estudiante> buscarPorApellido(String prefijo, int maximo) {
+        List<EstudianteInmutable> encontrados = new ArrayList<>();
+        if (prefijo == null) {
+            return aEstudiantes(encontrados);
+        }
+        candado.readLock().lock();
+        try {
+            for (ClaveApellido clave : porApellido.tailSet(new ClaveApellido(prefijo, "", 0), true)) {
+                if (encontrados.size() >= maximo || !clave.apellido.startsWith(prefijo)) {
+                    break;
+                }
+                encontrados.add(buscarFila(clave.id));
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return aEstudiantes(encontrados);
+    }
+
+    @Override
+    public List<Estudiante> obtenerPagina(int despuesDeId, int tamanoPagina) {
+        return aEstudiantes(filas(despuesDeId, tamanoPagina, fila -> true));
+    }
+
+    @Override
+    public List<Estudiante> buscarPorNombre(String nombre, int despuesDeId, int tamanoPagina) {
+        return aEstudiantes(filas(despuesDeId, tamanoPagina, criterioNombre(nombre)));
+    }
+
+    // ==================== OPERACIÓN UPDATE (ACTUALIZAR) ====================
+
+    @Override
+    public boolean actualizar(Estudiante estudiante) {
+        candado.writeLock().lock();
+        try {
+            EstudianteInmutable actual = buscarFila(estudiante.getId());
+            if (actual == null) {
+                return false;
+            }
+            String error = validar(estudiante.getNombre(), estudiante.getApellido(), estudiante.getEmail(),
+                    estudiante.getCarrera(), estudiante.getSemestre(), actual.getId());
+            if (error != null) {
+                System.err.println("✗ Error al actualizar estudiante: " + error);
+                return false;
+            }
+            reemplazarFila(actual, new EstudianteInmutable(actual.getId(), estudiante.getNombre(),
+                    estudiante.getApellido(), estudiante.getEmail(), estudiante.getCarrera(), estudiante.getSemestre(),
+                    actual.getVersion() + 1));
+            estudiante.limpiarCambios();
+
+        } catch (IOException e) {
+            System.err.println("✗ Error al actualizar estudiante: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            candado.writeLock().unlock();
+        }
+        programarCompactacion();
+        notificarActualizar(estudiante);
+        return true;
+    }
+
+    @Override
+    public ResultadoActualizacion actualizarCambios(Estudiante estudiante) {
+        if (!estudiante.tieneCambios()) {
+            return ResultadoActualizacion.SIN_CAMBIOS;
+        }
+
+        candado.writeLock().lock();
+        try {
+            EstudianteInmutable actual = buscarFila(estudiante.getId());
+            if (actual == null) {
+                return ResultadoActualizacion.NO_ENCONTRADO;
+            }
+            if (actual.getVersion() != estudiante.getVersion()) {
+                return ResultadoActualizacion.CONFLICTO;
+            }
+
+            // Solo los campos modificados reemplazan a los guardados
+            int campos = estudiante.getCamposModificados();
+            String nombre = (campos & Estudiante.CAMPO_NOMBRE) != 0 ? estudiante.getNombre() : actual.getNombre();
+            String apellido = (campos & Estudiante.CAMPO_APELLIDO) != 0 ? estudiante.getApellido() : actual.getApellido();
+            String email = (campos & Estudiante.CAMPO_EMAIL) != 0 ? estudiante.getEmail() : actual.getEmail();
+            String carrera = (campos & Estudiante.CAMPO_CARRERA) != 0 ? estudiante.getCarrera() : actual.getCarrera();
+            int semestre = (campos & Estudiante.CAMPO_SEMESTRE) != 0 ? estudiante.getSemestre() : actual.getSemestre();
+
+            String error = validar(nombre, apellido, email, carrera, semestre, actual.getId());
+            if (error != null) {
+                System.err.println("✗ Error al actualizar estudiante: " + error);
+                return ResultadoActualizacion.ERROR;
+            }
+            reemplazarFila(actual, new EstudianteInmutable(actual.getId(), nombre, apellido, email, carrera, semestre,
+                    actual.getVersion() + 1));
+            estudiante.setVersion(actual.getVersion() + 1);
+            estudiante.limpiarCambios();
+
+        } catch (IOException e) {
+            System.err.println("✗ Error al actualizar estudiante: " + e.getMessage());
+            e.printStackTrace();
+            return ResultadoActualizacion.ERROR;
+        } finally {
+            candado.writeLock().unlock();
+        }
+        programarCompactacion();
+        notificarActualizar(estudiante);
+        return ResultadoActualizacion.ACTUALIZADO;
+    }
+
+    // ==================== OPERACIÓN DELETE (ELIMINAR) ====================
+
+    @Override
+    public boolean eliminar(int id) {
+        candado.writeLock().lock();
+        try {
+            EstudianteInmutable actual = buscarFila(id);
+            if (actual == null) {
+                return false;
+            }
+            registrar(RegistroEscritura.ELIMINAR, id, null, true);
+            quitarFila(actual);
+
+        } catch (IOException e) {
+            System.err.println("✗ Error al eliminar estudiante: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            candado.writeLock().unlock();
+        }
+        programarCompactacion();
+        notificarEliminar(id);
+        return true;
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    @Override
+    public int contarEstudiantes() {
+        candado.readLock().lock();
+        try {
+            return cantidadFilas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ConteoCarreras contarPorCarrera() {
+        candado.readLock().lock();
+        try {
+            String[] carreras = new String[conteos.size()];
+            int[] totales = new int[conteos.size()];
+            int posicion = 0;
+            for (Map.Entry<String, int[]> carrera : conteos.entrySet()) {
+                carreras[posicion] = carrera.getKey();
+                totales[posicion++] = carrera.getValue()[0];
+            }
+            return new ConteoCarreras(carreras, totales);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int[] contarPorSemestre() {
+        int[] porSemestre = new int[11];
+        candado.readLock().lock();
+        try {
+            for (int[] porCarrera : conteos.values()) {
+                for (int semestre = 1; semestre < porSemestre.length; semestre++) {
+                    porSemestre[semestre] += porCarrera[semestre];
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return porSemestre;
+    }
+
+    @Override
+    public MatrizCarreraSemestre contarPorCarreraYSemestre() {
+        candado.readLock().lock();
+        try {
+            MatrizCarreraSemestre matriz = new MatrizCarreraSemestre(conteos.keySet().toArray(new String[0]));
+            for (Map.Entry<String, int[]> carrera : conteos.entrySet()) {
+                for (int semestre = 1; semestre <= 10; semestre++) {
+                    matriz.asignar(carrera.getKey(), semestre, carrera.getValue()[semestre]);
+                }
+            }
+            return matriz;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int contar(String carrera, int semestreDesde, int semestreHasta) {
+        int desde = Math.max(1, semestreDesde);
+        int hasta = Math.min(10, semestreHasta);
+        int total = 0;
+        candado.readLock().lock();
+        try {
+            for (Map.Entry<String, int[]> entrada : conteos.entrySet()) {
+                if (carrera == null || carrera.equals(entrada.getKey())) {
+                    for (int semestre = desde; semestre <= hasta; semestre++) {
+                        total += entrada.getValue()[semestre];
+                    }
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return total;
+    }
+
+    // ==================== INSTANTÁNEAS ====================
+
+    /**
+     * Guarda todos los estudiantes en el archivo de instantánea y compacta el
+     * registro. Las filas se escriben en un archivo temporal mapeado en
+     * memoria, se sincronizan con el disco y el temporal se renombra sobre la
+     * instantánea anterior, así que una caída durante el guardado deja la
+     * previa intacta. Las escrituras solo esperan mientras se copian las
+     * referencias a las filas y se rota el registro.
+     *
+     * La compactación renombra el registro a archivo.wal.anterior al tomar
+     * las filas y lo borra cuando la instantánea nueva ya está en su sitio;
+     * si falla, la recuperación lee ambos registros.
+     *
+     * @return true si se guardó
+     * @throws IllegalStateException Si el repositorio se creó sin archivo
+     */
+    public synchronized boolean guardarInstantanea() {
+        if (archivo == null) {
+            throw new IllegalStateException("El repositorio no tiene archivo de instantanea");
+        }
+
+        List<EstudianteInmutable> filas;
+        int ultimo;
+        long hasta;
+        candado.writeLock().lock();
+        try {
+            // En orden de apellido, para que la carga construya ese índice sin ordenar
+            filas = new ArrayList<>(cantidadFilas);
+            for (ClaveApellido clave : porApellido) {
+                filas.add(buscarFila(clave.id));
+            }
+            ultimo = ultimoId;
+            hasta = secuencia;
+            // Si quedó un registro anterior de una compactación fallida, este no se rota:
+            // sus cambios posteriores a la instantánea se reproducen por secuencia
+            if (registro != null && !Files.exists(archivoRegistroAnterior)) {
+                registro.rotar(archivoRegistroAnterior);
+            }
+        } catch (IOException e) {
+            System.err.println("[ERROR] No se pudo rotar el registro " + archivoRegistro + ":");
+            e.printStackTrace();
+            return false;
+        } finally {
+            candado.writeLock().unlock();
+        }
+
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try {
+            if (archivo.getParent() != null) {
+                Files.createDirectories(archivo.getParent());
+            }
+            escribirInstantanea(temporal, filas, ultimo, hasta);
+            try {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+            sincronizarDirectorio();
+            if (archivoRegistroAnterior != null) {
+                Files.deleteIfExists(archivoRegistroAnterior);
+            }
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("[ERROR] No se pudo guardar la instantanea en " + archivo + ":");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Detiene la sincronización periódica, guarda la instantánea si el
+     * repositorio tiene archivo y cierra el registro.
+     */
+    @Override
+    public void close() {
+        if (tareas != null) {
+            tareas.shutdown();
+            try {
+                tareas.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (archivo != null) {
+            guardarInstantanea();
+        }
+        if (registro != null) {
+            try {
+                registro.close();
+            } catch (IOException e) {
+                System.err.println("[ERROR] No se pudo cerrar el registro " + archivoRegistro + ":");
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Escribe la instantánea en un archivo mapeado en memoria del tamaño
+     * exacto: cabecera, filas y el CRC32 de todo lo anterior.
+     */
+    private static void escribirInstantanea(Path destino, List<EstudianteInmutable> filas, int ultimo, long hasta)
+            throws IOException {
+        long tamano = CABECERA + COLA;
+        for (EstudianteInmutable fila : filas) {
+            tamano += 4 + 4 + 1 + 16 + longitudUtf8(fila.getNombre()) + longitudUtf8(fila.getApellido())
+                    + longitudUtf8(fila.getEmail()) + longitudUtf8(fila.getCarrera());
+        }
+        if (tamano > Integer.MAX_VALUE) {
+            throw new IOException("La instantanea ocupa " + tamano + " bytes; el maximo es 2 GB");
+        }
+
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+            mapa.putInt(MAGICO).putInt(VERSION_FORMATO).putLong(hasta).putInt(ultimo).putInt(filas.size());
+            for (EstudianteInmutable fila : filas) {
+                mapa.putInt(fila.getId()).putInt(fila.getVersion()).put((byte) fila.getSemestre());
+                ponerTexto(mapa, fila.getNombre());
+                ponerTexto(mapa, fila.getApellido());
+                ponerTexto(mapa, fila.getEmail());
+                ponerTexto(mapa, fila.getCarrera());
+            }
+
+            ByteBuffer contenido = mapa.duplicate();
+            contenido.flip();
+            CRC32 crc = new CRC32();
+            crc.update(contenido);
+            mapa.putLong(crc.getValue());
+            mapa.force();
+        }
+    }
+
+    /**
+     * Carga la instantánea mapeando el archivo en memoria y comprueba su CRC
+     * antes de leer las filas. Una instantánea dañada detiene la creación del
+     * repositorio en lugar de empezar vacío, para no sobrescribirla al guardar.
+     */
+    private void cargarInstantanea() throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano < CABECERA + COLA || tamano > Integer.MAX_VALUE) {
+                throw new IOException("Tamano de instantanea no valido: " + tamano + " bytes");
+            }
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+
+            ByteBuffer contenido = mapa.duplicate();
+            contenido.limit((int) tamano - COLA);
+            CRC32 crc = new CRC32();
+            crc.update(contenido);
+            if (mapa.getLong((int) tamano - COLA) != crc.getValue()) {
+                throw new IOException("El CRC de la instantanea no coincide");
+            }
+            if (mapa.getInt() != MAGICO || mapa.getInt() != VERSION_FORMATO) {
+                throw new IOException("Formato de instantanea desconocido");
+            }
+
+            long hasta = mapa.getLong();
+            int ultimo = mapa.getInt();
+            int filas = mapa.getInt();
+            byte[] texto = new byte[256];
+            for (int i = 0; i < filas; i++) {
+                int id = mapa.getInt();
+                int version = mapa.getInt();
+                int semestre = mapa.get();
+                String nombre = leerTexto(mapa, texto);
+                String apellido = leerTexto(mapa, texto);
+                String email = leerTexto(mapa, texto);
+                String carrera = leerTexto(mapa, texto);
+                EstudianteInmutable fila = new EstudianteInmutable(id, nombre, apellido, email, carrera, semestre,
+                        version);
+                guardarFila(fila);
+            }
+            if (mapa.position() != tamano - COLA) {
+                throw new IOException("La instantanea tiene " + (tamano - COLA - mapa.position())
+                        + " bytes sobrantes");
+            }
+            ultimoId = ultimo;
+            secuencia = hasta;
+
+        } catch (RuntimeException e) {
+            // Longitudes imposibles en una instantánea con CRC correcto pero de otro programa
+            throw new IOException("Instantanea no valida: " + e, e);
+        }
+    }
+
+    /**
+     * Aplica un cambio leído del registro durante la recuperación.
+     */
+    private void aplicarRegistro(byte tipo, int id, EstudianteInmutable fila) {
+        EstudianteInmutable actual = buscarFila(id);
+        if (actual != null) {
+            quitarFila(actual);
+        }
+        if (fila != null) {
+            guardarFila(fila);
+        }
+        ultimoId = Math.max(ultimoId, id);
+    }
+
+    /**
+     * Escribe un cambio en el registro, si lo hay, y avanza la secuencia.
+     * Se llama con el candado de escritura, antes de aplicar el cambio.
+     *
+     * @param confirmar Si se aplica la política de sincronización (false dentro de un lote)
+     */
+    private void registrar(byte tipo, int id, EstudianteInmutable fila, boolean confirmar) throws IOException {
+        if (registro != null) {
+            if (confirmar) {
+                registro.anadir(secuencia + 1, tipo, id, fila);
+            } else {
+                registro.escribir(secuencia + 1, tipo, id, fila);
+            }
+        }
+        secuencia++;
+    }
+
+    /**
+     * Encarga una instantánea en segundo plano si el registro superó el
+     * tamaño de compactación y no hay otra en curso.
+     */
+    private void programarCompactacion() {
+        if (registro == null || bytesCompactacion == 0 || registro.getTamano() < bytesCompactacion
+                || !compactando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            tareas.execute(() -> {
+                try {
+                    guardarInstantanea();
+                } finally {
+                    compactando.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // El repositorio se está cerrando y close() guardará la instantánea
+            compactando.set(false);
+        }
+    }
+
+    private void sincronizarRegistro() {
+        try {
+            registro.sincronizar();
+        } catch (IOException e) {
+            System.err.println("[ERROR] No se pudo sincronizar el registro " + archivoRegistro + ":");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Sincroniza el directorio de la instantánea para que el renombrado sea
+     * durable. No todos los sistemas permiten abrir un directorio (Windows),
+     * y allí se omite.
+     */
+    private void sincronizarDirectorio() {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Sin soporte para sincronizar directorios
+        }
+    }
+
+    /** Bytes de un texto en UTF-8; un sustituto sin pareja cuenta como '?' */
+    private static int longitudUtf8(String texto) {
+        int longitud = texto.length();
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                        && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                    longitud += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    longitud += 2;
+                }
+            } else if (c >= 0x80) {
+                longitud++;
+            }
+        }
+        return longitud;
+    }
+
+    /** Escribe la longitud y los bytes UTF-8 de un texto sin crear arreglos intermedios */
+    private static void ponerTexto(ByteBuffer destino, String texto) {
+        destino.putInt(longitudUtf8(texto));
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                destino.put((byte) c);
+            } else if (c < 0x800) {
+                destino.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                    && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                int punto = Character.toCodePoint(c, texto.charAt(++i));
+                destino.put((byte) (0xF0 | punto >> 18)).put((byte) (0x80 | punto >> 12 & 0x3F))
+                        .put((byte) (0x80 | punto >> 6 & 0x3F)).put((byte) (0x80 | punto & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                destino.put((byte) '?');
+            } else {
+                destino.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private static String leerTexto(ByteBuffer origen, byte[] buffer) {
+        int longitud = origen.getInt();
+        byte[] bytes = longitud <= buffer.length ? buffer : new byte[longitud];
+        origen.get(bytes, 0, longitud);
+        return new String(bytes, 0, longitud, StandardCharsets.UTF_8);
+    }
+
+    private static long leerPropiedad(String propiedad, long defecto) {
+        String valor = System.getProperty(propiedad);
+        if (valor == null) {
+            return defecto;
+        }
+        try {
+            return Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("[ERROR] Valor no valido para " + propiedad + ": " + valor + "; se usara " + defecto + ".");
+            return defecto;
+        }
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    /**
+     * Comprueba las restricciones de la tabla estudiantes.
+     *
+     * @param idPropio ID del estudiante que se actualiza (su email no cuenta como duplicado), o 0
+     * @return Mensaje de la restricción violada, como lo da SQLite, o null si es válido
+     */
+    private String validar(String nombre, String apellido, String email, String carrera, int semestre, int idPropio) {
+        if (nombre == null) {
+            return "NOT NULL constraint failed: estudiantes.nombre";
+        }
+        if (apellido == null) {
+            return "NOT NULL constraint failed: estudiantes.apellido";
+        }
+        if (email == null) {
+            return "NOT NULL constraint failed: estudiantes.email";
+        }
+        if (carrera == null) {
+            return "NOT NULL constraint failed: estudiantes.carrera";
+        }
+        if (semestre < 1 || semestre > 10) {
+            return "CHECK constraint failed: semestre >= 1 AND semestre <= 10";
+        }
+        Integer otro = porEmail.get(email);
+        if (otro != null && otro != idPropio) {
+            return "UNIQUE constraint failed: estudiantes.email";
+        }
+        return null;
+    }
+
+    /**
+     * Asigna ID y versión a un estudiante válido, lo escribe en el registro
+     * y lo guarda. Se llama con el candado de escritura.
+     *
+     * @param confirmar Si se aplica la política de sincronización (false dentro de un lote)
+     */
+    private EstudianteInmutable insertarFila(Estudiante estudiante, boolean confirmar) throws IOException {
+        EstudianteInmutable fila = new EstudianteInmutable(ultimoId + 1, estudiante.getNombre(),
+                estudiante.getApellido(), estudiante.getEmail(), estudiante.getCarrera(), estudiante.getSemestre(), 1);
+        registrar(RegistroEscritura.INSERTAR, fila.getId(), fila, confirmar);
+        ultimoId = fila.getId();
+        guardarFila(fila);
+        return fila;
+    }
+
+    /**
+     * Asigna al estudiante del llamador el ID y la versión de su fila, una
+     * vez confirmada.
+     */
+    private static void asignarInsercion(Estudiante estudiante, EstudianteInmutable fila) {
+        estudiante.setId(fila.getId());
+        estudiante.setVersion(1);
+        estudiante.limpiarCambios();
+    }
+
+    /**
+     * Escribe en el registro la nueva versión de una fila y la reemplaza.
+     * Se llama con el candado de escritura.
+     */
+    private void reemplazarFila(EstudianteInmutable actual, EstudianteInmutable nueva) throws IOException {
+        registrar(RegistroEscritura.ACTUALIZAR, nueva.getId(), nueva, true);
+        quitarFila(actual);
+        guardarFila(nueva);
+    }
+
+    /**
+     * Fila de un ID, o null si no existe. Se llama con el candado.
+     */
+    private EstudianteInmutable buscarFila(int id) {
+        int posicion = posiciones.obtener(id);
+        return posicion == MapaEnteros.AUSENTE ? null : tabla[posicion];
+    }
+
+    /**
+     * Agrega una fila a los arreglos y a los índices.
+     */
+    private void guardarFila(EstudianteInmutable fila) {
+        int posicion = posiciones.obtener(fila.getId());
+        if (posicion == MapaEnteros.AUSENTE) {
+            if (cantidadFilas == tabla.length) {
+                tabla = Arrays.copyOf(tabla, cantidadFilas * 2);
+                textos = Arrays.copyOf(textos, cantidadFilas * 2);
+            }
+            posicion = cantidadFilas++;
+            posiciones.poner(fila.getId(), posicion);
+        }
+        tabla[posicion] = fila;
+        textos[posicion] = textoBusqueda(fila.getNombre() + " " + fila.getApellido());
+        porApellido.add(new ClaveApellido(fila.getApellido(), fila.getNombre(), fila.getId()));
+        porEmail.put(fila.getEmail(), fila.getId());
+        int[] porCarrera = conteos.computeIfAbsent(fila.getCarrera(), carrera -> new int[11]);
+        porCarrera[0]++;
+        porCarrera[fila.getSemestre()]++;
+    }
+
+    /**
+     * Quita una fila de los arreglos y de los índices.
+     */
+    private void quitarFila(EstudianteInmutable fila) {
+        int posicion = posiciones.quitar(fila.getId());
+        if (posicion != MapaEnteros.AUSENTE) {
+            // La última fila ocupa el hueco para mantener los arreglos compactos
+            int ultima = --cantidadFilas;
+            if (posicion != ultima) {
+                tabla[posicion] = tabla[ultima];
+                textos[posicion] = textos[ultima];
+                posiciones.poner(tabla[posicion].getId(), posicion);
+            }
+            tabla[ultima] = null;
+            textos[ultima] = null;
+        }
+        porEmail.remove(fila.getEmail());
+        porApellido.remove(new ClaveApellido(fila.getApellido(), fila.getNombre(), fila.getId()));
+        int[] porCarrera = conteos.get(fila.getCarrera());
+        porCarrera[fila.getSemestre()]--;
+        if (--porCarrera[0] == 0) {
+            conteos.remove(fila.getCarrera());
+        }
+    }
+
+    /**
+     * Filas con ID mayor que despuesDeId que cumplen el filtro, en orden de
+     * ID, hasta maximo. Se llama con el candado de lectura o lo toma.
+     */
+    private List<EstudianteInmutable> filas(int despuesDeId, int maximo, Predicate<EstudianteInmutable> filtro) {
+        candado.readLock().lock();
+        try {
+            List<EstudianteInmutable> filas = new ArrayList<>(Math.min(maximo, cantidadFilas));
+            if ((long) ultimoId - despuesDeId <= 4L * cantidadFilas) {
+                // IDs casi consecutivos: se sondean en orden sin ordenar nada
+                for (int id = despuesDeId + 1; id > 0 && id <= ultimoId && filas.size() < maximo; id++) {
+                    EstudianteInmutable fila = buscarFila(id);
+                    if (fila != null && filtro.test(fila)) {
+                        filas.add(fila);
+                    }
+                }
+                return filas;
+            }
+
+            // Muchos huecos (eliminaciones): se ordenan las filas existentes
+            for (int i = 0; i < cantidadFilas; i++) {
+                EstudianteInmutable fila = tabla[i];
+                if (fila.getId() > despuesDeId && filtro.test(fila)) {
+                    filas.add(fila);
+                }
+            }
+            filas.sort(Comparator.comparingInt(EstudianteInmutable::getId));
+            return filas.size() > maximo ? new ArrayList<>(filas.subList(0, maximo)) : filas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Filtro de buscarPorNombre; se evalúa con el candado de lectura.
+     */
+    private Predicate<EstudianteInmutable> criterioNombre(String texto) {
+        if (texto == null) {
+            return fila -> false;
+        }
+        List<String> palabras = new ArrayList<>();
+        for (String palabra : textoBusqueda(texto).split(" ")) {
+            if (!palabra.isEmpty()) {
+                palabras.add(" " + palabra);
+            }
+        }
+
+        if (palabras.isEmpty()) {
+            String buscado = texto.toLowerCase(Locale.ROOT);
+            return fila -> fila.getNombre().toLowerCase(Locale.ROOT).contains(buscado)
+                    || fila.getApellido().toLowerCase(Locale.ROOT).contains(buscado);
+        }
+        return fila -> {
+            String textoFila = textos[posiciones.obtener(fila.getId())];
+            for (String palabra : palabras) {
+                if (!textoFila.contains(palabra)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Palabras en minúsculas y sin tildes, cada una precedida de un espacio,
+     * para buscar prefijos de palabra con contains(" " + prefijo).
+     */
+    private static String textoBusqueda(String texto) {
+        String ascii = textoBusquedaAscii(texto);
+        if (ascii != null) {
+            return ascii;
+        }
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        StringBuilder resultado = new StringBuilder(sinTildes.length() + 2);
+        for (String palabra : SEPARADOR_PALABRAS.split(sinTildes.toLowerCase(Locale.ROOT))) {
+            if (!palabra.isEmpty()) {
+                resultado.append(' ').append(palabra);
+            }
+        }
+        return resultado.toString();
+    }
+
+    /**
+     * textoBusqueda sin normalizar ni expresiones regulares, para los textos
+     * solo ASCII (la mayoría).
+     *
+     * @return Texto de búsqueda, o null si el texto tiene caracteres no ASCII
+     */
+    private static String textoBusquedaAscii(String texto) {
+        StringBuilder resultado = new StringBuilder(texto.length() + 2);
+        boolean enPalabra = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= 0x80) {
+                return null;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            boolean alfanumerico = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+            if (alfanumerico) {
+                if (!enPalabra) {
+                    resultado.append(' ');
+                }
+                resultado.append(c);
+            }
+            enPalabra = alfanumerico;
+        }
+        return resultado.toString();
+    }
+
+    private static List<Estudiante> aEstudiantes(List<EstudianteInmutable> filas) {
+        List<Estudiante> estudiantes = new ArrayList<>(filas.size());
+        for (EstudianteInmutable fila : filas) {
+            estudiantes.add(fila.aEstudiante());
+        }
+        return estudiantes;
+    }
+
+    // Notificaciones a los objetos registrados, siempre sin el candado
+
+    private void notificarInsertar(Estudiante estudiante) {
+        for (EscuchaCambios escucha : escuchas) {
+            escucha.alInsertar(estudiante);
+        }
+    }
+
+    private void notificarActualizar(Estudiante estudiante) {
+        for (EscuchaCambios escucha : escuchas) {
+            escucha.alActualizar(estudiante);
+        }
+    }
+
+    private void notificarEliminar(int id) {
+        for (EscuchaCambios escucha : escuchas) {
+            escucha.alEliminar(id);
+        }
+    }
+}
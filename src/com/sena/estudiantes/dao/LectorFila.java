@@ -0,0 +1,23 @@
+package com.sena.estudiantes.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Lee la fila actual de un ResultSet con las posiciones de columna ya
+ * resueltas por MapeadorFila.preparar.
+ *
+ * @param <T> Tipo que se obtiene de cada fila
+ * @author SENA
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface LectorFila<T> {
+
+    /**
+     * @param rs ResultSet posicionado en una fila
+     * @return Valor de la fila; los mapeadores que acumulan en columnas devuelven null
+     * @throws SQLException Si falla la lectura de una columna
+     */
+    T leer(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,36 @@
+package com.sena.estudiantes.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Convierte las filas de una consulta de estudiantes en objetos.
+ *
+ * Declara las columnas que necesita, con las que el DAO arma el SELECT, de
+ * modo que una pantalla que muestra pocas columnas no lee las demás. Las
+ * posiciones de esas columnas se buscan una sola vez por ResultSet en
+ * preparar; el LectorFila devuelto lee cada fila por posición, sin buscar
+ * columnas por nombre.
+ *
+ * Los mapeadores de uso común están en Mapeadores.
+ *
+ * @param <T> Tipo que se obtiene de cada fila
+ * @author SENA
+ * @version 1.0
+ */
+public interface MapeadorFila<T> {
+
+    /**
+     * @return Columnas de la tabla estudiantes a consultar, separadas por comas
+     */
+    String columnas();
+
+    /**
+     * Resuelve las posiciones de las columnas en el ResultSet.
+     *
+     * @param rs ResultSet de la consulta, antes de leer la primera fila
+     * @return Lector de filas para ese ResultSet
+     * @throws SQLException Si falta alguna columna
+     */
+    LectorFila<T> preparar(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,106 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.modelo.EstudianteCompacto;
+import com.sena.estudiantes.modelo.EstudianteInmutable;
+import com.sena.estudiantes.modelo.ResumenEstudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mapeadores de fila de uso común. Son inmutables y se pueden compartir
+ * entre hilos y consultas.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class Mapeadores {
+
+    /** Estudiante completo y mutable, con su versión */
+    public static final MapeadorFila<Estudiante> ESTUDIANTE = new MapeadorFila<Estudiante>() {
+        @Override
+        public String columnas() {
+            return Constantes.COLUMNAS_ESTUDIANTE;
+        }
+
+        @Override
+        public LectorFila<Estudiante> preparar(ResultSet rs) throws SQLException {
+            int id = rs.findColumn("id");
+            int nombre = rs.findColumn("nombre");
+            int apellido = rs.findColumn("apellido");
+            int email = rs.findColumn("email");
+            int carrera = rs.findColumn("carrera");
+            int semestre = rs.findColumn("semestre");
+            int version = rs.findColumn("version");
+            return fila -> new Estudiante(fila.getInt(id), fila.getString(nombre), fila.getString(apellido),
+                    fila.getString(email), fila.getString(carrera), fila.getInt(semestre), fila.getInt(version));
+        }
+    };
+
+    /** Estudiante inmutable con la carrera canónica */
+    public static final MapeadorFila<EstudianteInmutable> INMUTABLE = new MapeadorFila<EstudianteInmutable>() {
+        @Override
+        public String columnas() {
+            return Constantes.COLUMNAS_ESTUDIANTE;
+        }
+
+        @Override
+        public LectorFila<EstudianteInmutable> preparar(ResultSet rs) throws SQLException {
+            int id = rs.findColumn("id");
+            int nombre = rs.findColumn("nombre");
+            int apellido = rs.findColumn("apellido");
+            int email = rs.findColumn("email");
+            int carrera = rs.findColumn("carrera");
+            int semestre = rs.findColumn("semestre");
+            int version = rs.findColumn("version");
+            return fila -> new EstudianteInmutable(fila.getInt(id), fila.getString(nombre),
+                    fila.getString(apellido), fila.getString(email), fila.getString(carrera),
+                    fila.getInt(semestre), fila.getInt(version));
+        }
+    };
+
+    /**
+     * Estudiante compacto. SQLite guarda el texto en UTF-8 y getBytes lo
+     * entrega tal cual, sin pasar por String.
+     */
+    public static final MapeadorFila<EstudianteCompacto> COMPACTO = new MapeadorFila<EstudianteCompacto>() {
+        @Override
+        public String columnas() {
+            return Constantes.COLUMNAS_ESTUDIANTE;
+        }
+
+        @Override
+        public LectorFila<EstudianteCompacto> preparar(ResultSet rs) throws SQLException {
+            int id = rs.findColumn("id");
+            int nombre = rs.findColumn("nombre");
+            int apellido = rs.findColumn("apellido");
+            int email = rs.findColumn("email");
+            int carrera = rs.findColumn("carrera");
+            int semestre = rs.findColumn("semestre");
+            int version = rs.findColumn("version");
+            return fila -> new EstudianteCompacto(fila.getInt(id), fila.getBytes(nombre), fila.getBytes(apellido),
+                    fila.getBytes(email), fila.getString(carrera), fila.getInt(semestre), fila.getInt(version));
+        }
+    };
+
+    /** Solo ID, nombre y apellido; el SELECT no lee las demás columnas */
+    public static final MapeadorFila<ResumenEstudiante> RESUMEN = new MapeadorFila<ResumenEstudiante>() {
+        @Override
+        public String columnas() {
+            return "id, nombre, apellido";
+        }
+
+        @Override
+        public LectorFila<ResumenEstudiante> preparar(ResultSet rs) throws SQLException {
+            int id = rs.findColumn("id");
+            int nombre = rs.findColumn("nombre");
+            int apellido = rs.findColumn("apellido");
+            return fila -> new ResumenEstudiante(fila.getInt(id), fila.getString(nombre), fila.getString(apellido));
+        }
+    };
+
+    private Mapeadores() {
+        throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
+    }
+}
@@ -0,0 +1,104 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.util.Constantes;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Perfiles de rendimiento de SQLite aplicados al abrir cada conexión.
+ * Se selecciona con la propiedad del sistema estudiantes.db.perfil
+ * (DURABLE, BALANCEADO o CARGA_MASIVA); por defecto BALANCEADO.
+ *
+ * Todos usan el modo WAL, necesario para que los lectores del pool no
+ * esperen al escritor.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public enum PerfilRendimiento {
+
+    /**
+     * Máxima durabilidad: cada commit se sincroniza con el disco (synchronous=FULL).
+     */
+    DURABLE("FULL", -8_000, 0, "DEFAULT", 5_000),
+
+    /**
+     * Uso normal: con WAL, synchronous=NORMAL no corrompe la base de datos y
+     * solo arriesga los últimos commits ante un corte de energía.
+     * Caché de 64 MB y 256 MB de mmap.
+     */
+    BALANCEADO("NORMAL", -64_000, 268_435_456L, "MEMORY", 5_000),
+
+    /**
+     * Importaciones masivas recuperables: sin sincronización con el disco y
+     * con caché y mmap grandes. Un corte de energía puede dañar la base de
+     * datos, así que solo debe usarse para cargas que se puedan repetir.
+     */
+    CARGA_MASIVA("OFF", -256_000, 1_073_741_824L, "MEMORY", 30_000);
+
+    private final String synchronous;
+    private final int cacheSize;
+    private final long mmapSize;
+    private final String tempStore;
+    private final int busyTimeoutMs;
+
+    /**
+     * @param synchronous   Valor de PRAGMA synchronous
+     * @param cacheSize     Valor de PRAGMA cache_size (negativo = KiB)
+     * @param mmapSize      Bytes de PRAGMA mmap_size (0 = sin mmap)
+     * @param tempStore     Valor de PRAGMA temp_store
+     * @param busyTimeoutMs Milisegundos de PRAGMA busy_timeout
+     */
+    PerfilRendimiento(String synchronous, int cacheSize, long mmapSize, String tempStore, int busyTimeoutMs) {
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = tempStore;
+        this.busyTimeoutMs = busyTimeoutMs;
+    }
+
+    /**
+     * Obtiene el perfil indicado en la propiedad del sistema.
+     *
+     * @return Perfil seleccionado, o BALANCEADO si no se indicó o no es válido
+     */
+    public static PerfilRendimiento seleccionado() {
+        String nombre = System.getProperty(Constantes.PROP_PERFIL, BALANCEADO.name());
+        try {
+            return valueOf(nombre.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("[ERROR] Perfil de rendimiento desconocido: " + nombre + ". Se usa BALANCEADO.");
+            return BALANCEADO;
+        }
+    }
+
+    /**
+     * Activa el modo WAL. El modo se guarda en el archivo de la base de datos,
+     * así que basta con aplicarlo en la conexión de escritura.
+     *
+     * @param conexion Conexión de escritura
+     * @throws SQLException Si no se puede cambiar el modo
+     */
+    void aplicarModoDiario(Connection conexion) throws SQLException {
+        try (Statement statement = conexion.createStatement()) {
+            statement.execute("PRAGMA journal_mode = WAL");
+        }
+    }
+
+    /**
+     * Aplica los ajustes que SQLite mantiene por conexión.
+     *
+     * @param conexion Conexión recién abierta
+     * @throws SQLException Si algún PRAGMA falla
+     */
+    void aplicar(Connection conexion) throws SQLException {
+        try (Statement statement = conexion.createStatement()) {
+            statement.execute("PRAGMA busy_timeout = " + busyTimeoutMs);
+            statement.execute("PRAGMA synchronous = " + synchronous);
+            statement.execute("PRAGMA cache_size = " + cacheSize);
+            statement.execute("PRAGMA mmap_size = " + mmapSize);
+            statement.execute("PRAGMA temp_store = " + tempStore);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.modelo.EstudianteInmutable;
+import com.sena.estudiantes.util.Constantes;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Registro binario de escritura anticipada (WAL) de EstudianteRepositoryMemoria:
+ * cada inserción, actualización o eliminación se añade al final del archivo
+ * antes de aplicarse en memoria.
+ *
+ * Cada registro es [longitud int][CRC32 int][secuencia long][tipo byte][id int]
+ * y, salvo en las eliminaciones, [version int][semestre byte] seguido de
+ * nombre, apellido, email y carrera como [longitud int][UTF-8]. Un registro
+ * incompleto o con CRC distinto marca el final del registro válido: es la
+ * escritura que estaba en curso cuando el proceso terminó.
+ *
+ * Cada registro se escribe en el FileChannel con una sola llamada, así que
+ * sobrevive a la muerte del proceso aunque no se haya sincronizado; force()
+ * lo protege además de un corte de energía. confirmar() sincroniza cuando se
+ * acumulan registrosPorSync registros pendientes; con 0 solo lo hace
+ * sincronizar(), que el repositorio llama periódicamente y al cerrar.
+ *
+ * escribir, anadir, confirmar y rotar se llaman con el candado de escritura del
+ * repositorio; sincronizar puede llamarse desde otro hilo.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+final class RegistroEscritura implements AutoCloseable {
+
+    static final byte INSERTAR = 'I';
+    static final byte ACTUALIZAR = 'U';
+    static final byte ELIMINAR = 'D';
+
+    /** Longitud máxima de un registro; una longitud mayor indica datos dañados */
+    private static final int MAXIMO_REGISTRO = 1 << 20;
+
+    /**
+     * Recibe los registros leídos durante la recuperación.
+     */
+    interface Aplicador {
+        /**
+         * @param tipo INSERTAR, ACTUALIZAR o ELIMINAR
+         * @param id   ID del estudiante
+         * @param fila Fila escrita, o null en las eliminaciones
+         */
+        void aplicar(byte tipo, int id, EstudianteInmutable fila);
+    }
+
+    /**
+     * Resultado de leer un archivo de registro.
+     */
+    static final class Lectura {
+        /** Bytes de registros válidos desde el inicio del archivo */
+        final long posicionValida;
+        /** Secuencia del último registro válido, o la inicial si no hay ninguno */
+        final long ultimaSecuencia;
+        /** Registros aplicados (con secuencia mayor que la inicial) */
+        final int aplicados;
+
+        Lectura(long posicionValida, long ultimaSecuencia, int aplicados) {
+            this.posicionValida = posicionValida;
+            this.ultimaSecuencia = ultimaSecuencia;
+            this.aplicados = aplicados;
+        }
+    }
+
+    private final Path archivo;
+    private final int registrosPorSync;
+    private final AtomicInteger pendientes = new AtomicInteger();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocate(512);
+    private FileChannel canal;
+    private long tamano;
+
+    /**
+     * Abre el registro para añadir después de posicionValida, descartando
+     * lo que haya detrás (un registro a medio escribir).
+     *
+     * @param archivo          Archivo de registro
+     * @param posicionValida   Bytes válidos, según leer()
+     * @param registrosPorSync Registros pendientes que provocan un force(); 0 para no sincronizar al confirmar
+     */
+    RegistroEscritura(Path archivo, long posicionValida, int registrosPorSync) throws IOException {
+        this.archivo = archivo;
+        this.registrosPorSync = registrosPorSync;
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (canal.size() > posicionValida) {
+            System.err.println("[ERROR] Registro " + archivo + " con " + (canal.size() - posicionValida)
+                    + " bytes incompletos al final; se descartan.");
+            canal.truncate(posicionValida);
+            canal.force(true);
+        }
+        canal.position(posicionValida);
+        this.tamano = posicionValida;
+    }
+
+    /**
+     * @return Bytes escritos en el archivo actual
+     */
+    long getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Añade un registro al final del archivo. Si la escritura falla, el
+     * archivo se recorta a su tamaño anterior.
+     *
+     * @param secuencia Secuencia del cambio (creciente)
+     * @param tipo      INSERTAR, ACTUALIZAR o ELIMINAR
+     * @param id        ID del estudiante
+     * @param fila      Fila resultante, o null en las eliminaciones
+     */
+    void escribir(long secuencia, byte tipo, int id, EstudianteInmutable fila) throws IOException {
+        int longitud = 8 + 1 + 4;
+        byte[] nombre = null;
+        byte[] apellido = null;
+        byte[] email = null;
+        byte[] carrera = null;
+        if (fila != null) {
+            nombre = fila.getNombre().getBytes(StandardCharsets.UTF_8);
+            apellido = fila.getApellido().getBytes(StandardCharsets.UTF_8);
+            email = fila.getEmail().getBytes(StandardCharsets.UTF_8);
+            carrera = fila.getCarrera().getBytes(StandardCharsets.UTF_8);
+            longitud += 4 + 1 + 16 + nombre.length + apellido.length + email.length + carrera.length;
+        }
+        if (longitud > MAXIMO_REGISTRO) {
+            throw new IOException("Registro de " + longitud + " bytes, el maximo es " + MAXIMO_REGISTRO);
+        }
+        if (buffer.capacity() < 8 + longitud) {
+            buffer = ByteBuffer.allocate(Integer.highestOneBit(8 + longitud) << 1);
+        }
+
+        buffer.clear();
+        buffer.putInt(longitud).putInt(0).putLong(secuencia).put(tipo).putInt(id);
+        if (fila != null) {
+            buffer.putInt(fila.getVersion()).put((byte) fila.getSemestre());
+            buffer.putInt(nombre.length).put(nombre).putInt(apellido.length).put(apellido);
+            buffer.putInt(email.length).put(email).putInt(carrera.length).put(carrera);
+        }
+        crc.reset();
+        crc.update(buffer.array(), 8, longitud);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+
+        try {
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        } catch (IOException e) {
+            recortar(tamano);
+            throw e;
+        }
+        tamano += 8 + longitud;
+        pendientes.incrementAndGet();
+    }
+
+    /**
+     * Añade un registro y aplica la política de sincronización. Si la
+     * sincronización falla, el registro se recorta y el cambio no cuenta.
+     */
+    void anadir(long secuencia, byte tipo, int id, EstudianteInmutable fila) throws IOException {
+        long anterior = tamano;
+        escribir(secuencia, tipo, id, fila);
+        try {
+            confirmar();
+        } catch (IOException e) {
+            recortar(anterior);
+            throw e;
+        }
+    }
+
+    /**
+     * Aplica la política de sincronización tras una operación o un lote.
+     */
+    void confirmar() throws IOException {
+        if (registrosPorSync > 0 && pendientes.get() >= registrosPorSync) {
+            pendientes.set(0);
+            canal.force(false);
+        }
+    }
+
+    /**
+     * Sincroniza con el disco los registros pendientes, si los hay.
+     */
+    synchronized void sincronizar() throws IOException {
+        if (pendientes.getAndSet(0) > 0) {
+            canal.force(false);
+        }
+    }
+
+    /**
+     * Cierra el archivo actual, lo renombra a destino y empieza uno vacío.
+     * Lo usa la compactación: el archivo renombrado solo contiene cambios
+     * que ya estarán en la instantánea.
+     *
+     * @param destino Nuevo nombre del archivo actual
+     */
+    synchronized void rotar(Path destino) throws IOException {
+        pendientes.set(0);
+        canal.force(false);
+        canal.close();
+        try {
+            Files.move(archivo, destino, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            // Archivo nuevo tras renombrar, o el mismo para seguir añadiendo si no se pudo
+            canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            tamano = canal.size();
+            canal.position(tamano);
+        }
+    }
+
+    /**
+     * Descarta lo escrito después de posicion tras un fallo: de escritura,
+     * de sincronización o de un lote que el repositorio deshace. Se llama
+     * con el candado de escritura del repositorio.
+     *
+     * @param posicion Tamaño del archivo antes de los registros a descartar (getTamano)
+     */
+    void recortar(long posicion) {
+        try {
+            canal.truncate(posicion);
+            canal.position(posicion);
+            tamano = posicion;
+        } catch (IOException e) {
+            // Si tampoco se puede recortar, la recuperación descartará el registro incompleto
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (canal.isOpen()) {
+            sincronizar();
+            canal.close();
+        }
+    }
+
+    /**
+     * Lee un archivo de registro y pasa al aplicador los registros con
+     * secuencia mayor que desdeSecuencia, en orden. Se detiene en el primer
+     * registro incompleto o dañado.
+     *
+     * @param archivo        Archivo de registro (puede no existir)
+     * @param desdeSecuencia Secuencia ya incluida en la instantánea
+     * @param aplicador      Receptor de los registros
+     * @return Posición válida, última secuencia y registros aplicados
+     */
+    static Lectura leer(Path archivo, long desdeSecuencia, Aplicador aplicador) throws IOException {
+        if (!Files.exists(archivo)) {
+            return new Lectura(0, desdeSecuencia, 0);
+        }
+
+        long posicion = 0;
+        long ultima = desdeSecuencia;
+        int aplicados = 0;
+        CRC32 crc = new CRC32();
+        byte[] datos = new byte[512];
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(archivo), Constantes.MEMORIA_BUFFER))) {
+            while (true) {
+                int longitud;
+                int esperado;
+                try {
+                    longitud = entrada.readInt();
+                    esperado = entrada.readInt();
+                    if (longitud < 13 || longitud > MAXIMO_REGISTRO) {
+                        break;
+                    }
+                    if (datos.length < longitud) {
+                        datos = new byte[Integer.highestOneBit(longitud) << 1];
+                    }
+                    entrada.readFully(datos, 0, longitud);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(datos, 0, longitud);
+                if ((int) crc.getValue() != esperado) {
+                    break;
+                }
+
+                ByteBuffer registro = ByteBuffer.wrap(datos, 0, longitud);
+                long secuencia = registro.getLong();
+                byte tipo = registro.get();
+                int id = registro.getInt();
+                if (secuencia > ultima) {
+                    EstudianteInmutable fila = null;
+                    if (tipo != ELIMINAR) {
+                        int version = registro.getInt();
+                        int semestre = registro.get();
+                        fila = new EstudianteInmutable(id, leerTexto(registro), leerTexto(registro),
+                                leerTexto(registro), leerTexto(registro), semestre, version);
+                    }
+                    aplicador.aplicar(tipo, id, fila);
+                    ultima = secuencia;
+                    aplicados++;
+                }
+                posicion += 8 + longitud;
+            }
+        }
+        return new Lectura(posicion, ultima, aplicados);
+    }
+
+    private static String leerTexto(ByteBuffer registro) {
+        int longitud = registro.getInt();
+        String texto = new String(registro.array(), registro.position(), longitud, StandardCharsets.UTF_8);
+        registro.position(registro.position() + longitud);
+        return texto;
+    }
+}
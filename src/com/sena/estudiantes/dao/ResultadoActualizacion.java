@@ -0,0 +1,25 @@
+package com.sena.estudiantes.dao;
+
+/**
+ * Resultado de una actualización condicional (EstudianteDAO.actualizarCambios).
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public enum ResultadoActualizacion {
+
+    /** Los campos modificados se guardaron y la versión aumentó */
+    ACTUALIZADO,
+
+    /** El estudiante no tenía cambios pendientes; no se escribió nada */
+    SIN_CAMBIOS,
+
+    /** Otro proceso modificó el estudiante después de leerlo; no se escribió nada */
+    CONFLICTO,
+
+    /** El estudiante ya no existe */
+    NO_ENCONTRADO,
+
+    /** La sentencia falló (por ejemplo, un email duplicado) */
+    ERROR
+}
@@ -0,0 +1,99 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.modelo.Estudiante;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una inserción por lotes.
+ * Registra cuántas filas se insertaron y el motivo de cada fila rechazada,
+ * por ejemplo un email duplicado.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class ResultadoLote {
+
+    private int insertados;
+    private boolean interrumpido;
+    private final List<Falla> fallas = new ArrayList<>();
+
+    /**
+     * Fila rechazada durante la carga.
+     */
+    public static class Falla {
+
+        private final int posicion;
+        private final Estudiante estudiante;
+        private final String mensaje;
+
+        Falla(int posicion, Estudiante estudiante, String mensaje) {
+            this.posicion = posicion;
+            this.estudiante = estudiante;
+            this.mensaje = mensaje;
+        }
+
+        /**
+         * @return Posición de la fila en la entrada (empieza en 0)
+         */
+        public int getPosicion() {
+            return posicion;
+        }
+
+        public Estudiante getEstudiante() {
+            return estudiante;
+        }
+
+        public String getMensaje() {
+            return mensaje;
+        }
+
+        @Override
+        public String toString() {
+            return "Fila " + posicion + " (" + estudiante.getEmail() + "): " + mensaje;
+        }
+    }
+
+    void sumarInsertados(int cantidad) {
+        insertados += cantidad;
+    }
+
+    void registrarFalla(int posicion, Estudiante estudiante, String mensaje) {
+        fallas.add(new Falla(posicion, estudiante, mensaje));
+    }
+
+    void marcarInterrumpido() {
+        interrumpido = true;
+    }
+
+    /**
+     * @return Número de filas insertadas correctamente
+     */
+    public int getInsertados() {
+        return insertados;
+    }
+
+    /**
+     * @return Filas rechazadas, en el orden de la entrada
+     */
+    public List<Falla> getFallas() {
+        return Collections.unmodifiableList(fallas);
+    }
+
+    /**
+     * Indica si la carga se detuvo antes de procesar toda la entrada
+     * (por ejemplo, al perder la conexión).
+     *
+     * @return true si quedaron filas sin procesar
+     */
+    public boolean isInterrumpido() {
+        return interrumpido;
+    }
+
+    @Override
+    public String toString() {
+        return "Insertados: " + insertados + ", rechazados: " + fallas.size()
+                + (interrumpido ? " (carga interrumpida)" : "");
+    }
+}
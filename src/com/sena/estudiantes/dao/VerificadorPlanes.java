@@ -0,0 +1,118 @@
+package com.sena.estudiantes.dao;
+
+import com.sena.estudiantes.util.Constantes;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifica con EXPLAIN QUERY PLAN que las consultas frecuentes del DAO usen
+ * índices. Una consulta frecuente que recorre toda la tabla estudiantes
+ * (SCAN estudiantes) se reporta como falla.
+ *
+ * Las consultas de estadísticas (GROUP BY) pueden recorrer un índice que
+ * las cubre, pero no la tabla ni un árbol temporal para agrupar.
+ *
+ * Las consultas que recorren la tabla por diseño (listar todo, contar y la
+ * búsqueda LIKE de respaldo) no se verifican.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class VerificadorPlanes {
+
+    private VerificadorPlanes() {
+        throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
+    }
+
+    /**
+     * Consultas frecuentes a verificar, por nombre de constante.
+     *
+     * @param conIndiceTexto true si existen las consultas sobre el índice FTS5
+     * @return Mapa nombre de constante a SQL
+     */
+    static Map<String, String> consultasFrecuentes(boolean conIndiceTexto) {
+        Map<String, String> consultas = new LinkedHashMap<>();
+        consultas.put("SQL_OBTENER_POR_ID", Constantes.SQL_OBTENER_POR_ID);
+        consultas.put("SQL_OBTENER_PAGINA", Constantes.SQL_OBTENER_PAGINA);
+        consultas.put("SQL_BUSCAR_POR_APELLIDO", Constantes.SQL_BUSCAR_POR_APELLIDO);
+        consultas.put("SQL_ACTUALIZAR", Constantes.SQL_ACTUALIZAR);
+        consultas.put("SQL_OBTENER_VERSION", Constantes.SQL_OBTENER_VERSION);
+        consultas.put("SQL_ELIMINAR", Constantes.SQL_ELIMINAR);
+        if (conIndiceTexto) {
+            consultas.put("SQL_BUSCAR_POR_NOMBRE_TEXTO", Constantes.SQL_BUSCAR_POR_NOMBRE_TEXTO);
+            consultas.put("SQL_BUSCAR_POR_NOMBRE_TEXTO_PAGINA", Constantes.SQL_BUSCAR_POR_NOMBRE_TEXTO_PAGINA);
+        }
+        return consultas;
+    }
+
+    /**
+     * Consultas de estadísticas a verificar, por nombre de constante.
+     *
+     * @return Mapa nombre de constante a SQL
+     */
+    static Map<String, String> consultasAgregadas() {
+        Map<String, String> consultas = new LinkedHashMap<>();
+        consultas.put("SQL_CONTAR_POR_CARRERA", Constantes.SQL_CONTAR_POR_CARRERA);
+        consultas.put("SQL_CONTAR_POR_SEMESTRE", Constantes.SQL_CONTAR_POR_SEMESTRE);
+        consultas.put("SQL_CONTAR_POR_CARRERA_SEMESTRE", Constantes.SQL_CONTAR_POR_CARRERA_SEMESTRE);
+        consultas.put("SQL_CONTAR_CARRERA_SEMESTRES", Constantes.SQL_CONTAR_CARRERA_SEMESTRES);
+        consultas.put("SQL_CONTAR_SEMESTRES", Constantes.SQL_CONTAR_SEMESTRES);
+        return consultas;
+    }
+
+    /**
+     * Ejecuta EXPLAIN QUERY PLAN sobre cada consulta frecuente.
+     *
+     * @param conexion       Conexión a la base de datos
+     * @param conIndiceTexto true si el índice de texto está disponible
+     * @return Descripción de cada consulta que recorre toda la tabla; vacía si todas usan índices
+     * @throws SQLException Si no se puede obtener un plan
+     */
+    public static List<String> verificar(Connection conexion, boolean conIndiceTexto) throws SQLException {
+        List<String> fallas = new ArrayList<>();
+
+        for (Map.Entry<String, String> consulta : consultasFrecuentes(conIndiceTexto).entrySet()) {
+            for (String paso : obtenerPlan(conexion, consulta.getValue())) {
+                if (paso.startsWith("SCAN estudiantes") && !paso.startsWith("SCAN estudiantes_fts")) {
+                    fallas.add(consulta.getKey() + ": " + paso);
+                }
+            }
+        }
+
+        for (Map.Entry<String, String> consulta : consultasAgregadas().entrySet()) {
+            for (String paso : obtenerPlan(conexion, consulta.getValue())) {
+                boolean recorreTabla = paso.startsWith("SCAN estudiantes") && !paso.contains("COVERING INDEX");
+                if (recorreTabla || paso.startsWith("USE TEMP B-TREE")) {
+                    fallas.add(consulta.getKey() + ": " + paso);
+                }
+            }
+        }
+        return fallas;
+    }
+
+    /**
+     * Obtiene los pasos del plan de ejecución de una consulta.
+     * Los parámetros se dejan sin asignar; SQLite planifica igual.
+     *
+     * @param conexion Conexión a la base de datos
+     * @param sql      Consulta a analizar
+     * @return Columna detail de cada paso del plan
+     * @throws SQLException Si la consulta no es válida
+     */
+    public static List<String> obtenerPlan(Connection conexion, String sql) throws SQLException {
+        List<String> pasos = new ArrayList<>();
+        try (PreparedStatement pstmt = conexion.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                pasos.add(rs.getString("detail"));
+            }
+        }
+        return pasos;
+    }
+}
@@ -0,0 +1,310 @@
+package com.sena.estudiantes.exportacion;
+
+import com.sena.estudiantes.dao.EstudianteRepository;
+import com.sena.estudiantes.util.Constantes;
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exporta la tabla de estudiantes a CSV o NDJSON (un objeto JSON por línea).
+ *
+ * Las filas se escriben a medida que avanza el ResultSet
+ * (EstudianteRepository.recorrerFilas), sin listas intermedias ni objetos
+ * Estudiante, por lo que la memoria usada no depende del tamaño de la tabla.
+ * Cada campo se escapa y se copia a un buffer de caracteres reutilizable
+ * que se vuelca al archivo cuando se llena; no se usa String.format ni se
+ * crean cadenas por fila. Opcionalmente la salida se comprime con gzip.
+ *
+ * El CSV tiene el mismo encabezado que acepta ImportadorCSV.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class ExportadorEstudiantes {
+
+    /** Formatos de exportación */
+    public enum Formato {
+        /** Valores separados por comas, con encabezado */
+        CSV,
+        /** Un objeto JSON por línea */
+        NDJSON
+    }
+
+    private static final String ENCABEZADO_CSV = "id,nombre,apellido,email,carrera,semestre";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final EstudianteRepository dao;
+
+    /**
+     * @param dao DAO del que se leen los estudiantes
+     */
+    public ExportadorEstudiantes(EstudianteRepository dao) {
+        this.dao = dao;
+    }
+
+    // ==================== EXPORTACION ====================
+
+    /**
+     * Exporta a un archivo eligiendo el formato por la extensión:
+     * .csv o .ndjson/.jsonl, seguida opcionalmente de .gz para comprimir.
+     *
+     * @param archivo Archivo de destino (se reemplaza si existe)
+     * @return Número de estudiantes exportados
+     * @throws IOException Si la extensión no es reconocida o falla la escritura o la lectura
+     */
+    public long exportar(Path archivo) throws IOException {
+        String nombre = archivo.getFileName().toString().toLowerCase();
+        boolean comprimir = nombre.endsWith(".gz");
+        if (comprimir) {
+            nombre = nombre.substring(0, nombre.length() - 3);
+        }
+
+        Formato formato;
+        if (nombre.endsWith(".csv")) {
+            formato = Formato.CSV;
+        } else if (nombre.endsWith(".ndjson") || nombre.endsWith(".jsonl")) {
+            formato = Formato.NDJSON;
+        } else {
+            throw new IOException("Extension no reconocida (use .csv, .ndjson o .jsonl, con .gz opcional): "
+                    + archivo.getFileName());
+        }
+        return exportar(archivo, formato, comprimir);
+    }
+
+    /**
+     * Exporta a un archivo.
+     *
+     * @param archivo   Archivo de destino (se reemplaza si existe)
+     * @param formato   Formato de salida
+     * @param comprimir true para comprimir con gzip
+     * @return Número de estudiantes exportados
+     * @throws IOException Si falla la escritura o la lectura de la base de datos
+     */
+    public long exportar(Path archivo, Formato formato, boolean comprimir) throws IOException {
+        try (OutputStream salida = Files.newOutputStream(archivo)) {
+            return exportar(salida, formato, comprimir);
+        }
+    }
+
+    /**
+     * Exporta a un flujo de salida. El flujo no se cierra.
+     *
+     * @param salida    Flujo de destino
+     * @param formato   Formato de salida
+     * @param comprimir true para comprimir con gzip
+     * @return Número de estudiantes exportados
+     * @throws IOException Si falla la escritura o la lectura de la base de datos
+     */
+    public long exportar(OutputStream salida, Formato formato, boolean comprimir) throws IOException {
+        OutputStream destino = comprimir
+                ? new GZIPOutputStream(new NoCerrar(salida), Constantes.EXPORTACION_BUFFER)
+                : new BufferedOutputStream(new NoCerrar(salida), Constantes.EXPORTACION_BUFFER);
+
+        long filas;
+        try (Writer escritor = new OutputStreamWriter(destino, StandardCharsets.UTF_8)) {
+            BufferCaracteres buffer = new BufferCaracteres(escritor);
+
+            if (formato == Formato.CSV) {
+                buffer.escribir(ENCABEZADO_CSV).escribir('\n');
+                filas = dao.recorrerFilas((id, nombre, apellido, email, carrera, semestre) -> {
+                    buffer.escribir(id).escribir(',');
+                    buffer.escribirCSV(nombre).escribir(',');
+                    buffer.escribirCSV(apellido).escribir(',');
+                    buffer.escribirCSV(email).escribir(',');
+                    buffer.escribirCSV(carrera).escribir(',');
+                    buffer.escribir(semestre).escribir('\n');
+                });
+            } else {
+                filas = dao.recorrerFilas((id, nombre, apellido, email, carrera, semestre) -> {
+                    buffer.escribir("{\"id\":").escribir(id);
+                    buffer.escribir(",\"nombre\":").escribirJSON(nombre);
+                    buffer.escribir(",\"apellido\":").escribirJSON(apellido);
+                    buffer.escribir(",\"email\":").escribirJSON(email);
+                    buffer.escribir(",\"carrera\":").escribirJSON(carrera);
+                    buffer.escribir(",\"semestre\":").escribir(semestre).escribir("}\n");
+                });
+            }
+            buffer.vaciar();
+
+        } catch (UncheckedIOException e) {
+            // Error de escritura dentro del recorrido
+            throw e.getCause();
+        }
+
+        if (filas < 0) {
+            throw new IOException("Error al leer los estudiantes de la base de datos");
+        }
+        return filas;
+    }
+
+    // ==================== BUFFER DE SALIDA ====================
+
+    /**
+     * Buffer de caracteres reutilizable con escritura de enteros y escapes
+     * de CSV y JSON sin crear cadenas intermedias.
+     */
+    private static final class BufferCaracteres {
+
+        private final Writer escritor;
+        private final char[] datos = new char[Constantes.EXPORTACION_BUFFER];
+        private int posicion;
+
+        BufferCaracteres(Writer escritor) {
+            this.escritor = escritor;
+        }
+
+        BufferCaracteres escribir(char c) {
+            if (posicion == datos.length) {
+                vaciar();
+            }
+            datos[posicion++] = c;
+            return this;
+        }
+
+        BufferCaracteres escribir(String texto) {
+            int largo = texto.length();
+            if (largo > datos.length - posicion) {
+                vaciar();
+                if (largo > datos.length) {
+                    escribirDirecto(texto);
+                    return this;
+                }
+            }
+            texto.getChars(0, largo, datos, posicion);
+            posicion += largo;
+            return this;
+        }
+
+        /** Escribe un entero en decimal, dígito a dígito */
+        BufferCaracteres escribir(int numero) {
+            if (datos.length - posicion < 11) {
+                vaciar();
+            }
+            long valor = numero;
+            if (valor < 0) {
+                datos[posicion++] = '-';
+                valor = -valor;
+            }
+            int inicio = posicion;
+            do {
+                datos[posicion++] = (char) ('0' + valor % 10);
+                valor /= 10;
+            } while (valor > 0);
+            // Los dígitos quedaron al revés
+            for (int i = inicio, j = posicion - 1; i < j; i++, j--) {
+                char c = datos[i];
+                datos[i] = datos[j];
+                datos[j] = c;
+            }
+            return this;
+        }
+
+        /** Escribe un campo CSV; lo entrecomilla si contiene coma, comillas o saltos de línea */
+        BufferCaracteres escribirCSV(String campo) {
+            if (campo == null) {
+                return this;
+            }
+            boolean comillas = false;
+            for (int i = 0; i < campo.length() && !comillas; i++) {
+                char c = campo.charAt(i);
+                comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!comillas) {
+                return escribir(campo);
+            }
+            escribir('"');
+            for (int i = 0; i < campo.length(); i++) {
+                char c = campo.charAt(i);
+                if (c == '"') {
+                    escribir('"');
+                }
+                escribir(c);
+            }
+            return escribir('"');
+        }
+
+        /** Escribe una cadena JSON entre comillas, o null */
+        BufferCaracteres escribirJSON(String texto) {
+            if (texto == null) {
+                return escribir("null");
+            }
+            escribir('"');
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                switch (c) {
+                    case '"':
+                        escribir('\\').escribir('"');
+                        break;
+                    case '\\':
+                        escribir('\\').escribir('\\');
+                        break;
+                    case '\n':
+                        escribir('\\').escribir('n');
+                        break;
+                    case '\r':
+                        escribir('\\').escribir('r');
+                        break;
+                    case '\t':
+                        escribir('\\').escribir('t');
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            escribir("\\u00").escribir(HEX[c >> 4]).escribir(HEX[c & 0xF]);
+                        } else {
+                            escribir(c);
+                        }
+                        break;
+                }
+            }
+            return escribir('"');
+        }
+
+        void vaciar() {
+            try {
+                escritor.write(datos, 0, posicion);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            posicion = 0;
+        }
+
+        private void escribirDirecto(String texto) {
+            try {
+                escritor.write(texto);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Evita que cerrar el escritor cierre el flujo del llamador; close solo
+     * vacía los datos pendientes (y termina el gzip).
+     */
+    private static final class NoCerrar extends FilterOutputStream {
+
+        NoCerrar(OutputStream salida) {
+            super(salida);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,532 @@
+package com.sena.estudiantes.importacion;
+
+import com.sena.estudiantes.dao.EstudianteRepository;
+import com.sena.estudiantes.dao.ResultadoLote;
+import com.sena.estudiantes.importacion.ResultadoImportacion.ErrorLinea;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Importa estudiantes desde un archivo CSV de gran tamaño.
+ *
+ * La carga es una tubería de tres etapas:
+ * <ol>
+ * <li>Un hilo lee el archivo con un buffer grande y lo parte en bloques de
+ * IMPORTACION_TAMANO_BLOQUE líneas.</li>
+ * <li>Un pool de hilos interpreta y valida los bloques en paralelo (campos,
+ * formato del email, semestre 1 a 10, longitudes del esquema).</li>
+ * <li>El hilo que llama a importar inserta cada bloque, en el orden del
+ * archivo, con EstudianteRepository.insertarLote en una sola transacción y guarda
+ * un punto de control con la última línea confirmada.</li>
+ * </ol>
+ * Solo hay IMPORTACION_BLOQUES_EN_VUELO bloques entre la lectura y la
+ * escritura: si la base de datos va más lenta, la lectura espera
+ * (contrapresión) y la memoria usada no depende del tamaño del archivo.
+ *
+ * El archivo debe tener encabezado con las columnas nombre, apellido, email,
+ * carrera y semestre, en cualquier orden; otras columnas (por ejemplo id) se
+ * ignoran. Los campos pueden ir entre comillas dobles, pero no pueden
+ * contener saltos de línea.
+ *
+ * Si la importación se interrumpe, al repetirla con el mismo archivo se
+ * reanuda después de la última línea confirmada. Si el proceso termina
+ * entre el commit de un bloque y la escritura de su punto de control, ese
+ * bloque se repite y sus filas se rechazan como emails duplicados.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class ImportadorCSV {
+
+    private static final Pattern PATRON_EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    /** Columnas obligatorias del encabezado */
+    private static final String[] COLUMNAS = { "nombre", "apellido", "email", "carrera", "semestre" };
+
+    // Longitudes máximas según SQL_CREAR_TABLA (SQLite no las exige)
+    private static final int[] LONGITUD_MAXIMA = { 50, 50, 100, 100 };
+
+    private static final int NOMBRE = 0;
+    private static final int APELLIDO = 1;
+    private static final int EMAIL = 2;
+    private static final int CARRERA = 3;
+    private static final int SEMESTRE = 4;
+
+    /** Bloque de líneas del archivo, antes y después de validarlo */
+    private static class Bloque {
+        private final List<String> lineas;
+        private final long[] numeros;
+        private final List<Estudiante> validos = new ArrayList<>();
+        private long[] numerosValidos;
+        private final List<ErrorLinea> errores = new ArrayList<>();
+        private long omitidas;
+
+        Bloque(List<String> lineas, long[] numeros) {
+            this.lineas = lineas;
+            this.numeros = numeros;
+        }
+
+        long ultimaLinea() {
+            return numeros[lineas.size() - 1];
+        }
+    }
+
+    /** Marca el final del archivo en la cola de bloques */
+    private static final Bloque FIN = new Bloque(new ArrayList<>(), new long[0]);
+
+    private final EstudianteRepository dao;
+    private final int tamanoBloque;
+    private final int hilos;
+    private final int bloquesEnVuelo;
+
+    /**
+     * Constructor con los parámetros de importación por defecto.
+     *
+     * @param dao DAO que inserta los estudiantes
+     */
+    public ImportadorCSV(EstudianteRepository dao) {
+        this(dao, Constantes.IMPORTACION_TAMANO_BLOQUE, Constantes.IMPORTACION_HILOS,
+                Constantes.IMPORTACION_BLOQUES_EN_VUELO);
+    }
+
+    /**
+     * Constructor completo.
+     *
+     * @param dao            DAO que inserta los estudiantes
+     * @param tamanoBloque   Líneas por bloque y por transacción
+     * @param hilos          Hilos de validación
+     * @param bloquesEnVuelo Bloques leídos que pueden esperar a ser escritos
+     */
+    public ImportadorCSV(EstudianteRepository dao, int tamanoBloque, int hilos, int bloquesEnVuelo) {
+        if (tamanoBloque < 1 || hilos < 1 || bloquesEnVuelo < 1) {
+            throw new IllegalArgumentException("Los parametros de importacion deben ser mayores que cero");
+        }
+        this.dao = dao;
+        this.tamanoBloque = tamanoBloque;
+        this.hilos = hilos;
+        this.bloquesEnVuelo = bloquesEnVuelo;
+    }
+
+    // ==================== IMPORTACION ====================
+
+    /**
+     * Importa el archivo, reanudando desde su punto de control si existe.
+     * Al terminar sin interrupciones el punto de control se elimina.
+     *
+     * @param archivo Archivo CSV en UTF-8
+     * @return Resultado con los conteos, las líneas rechazadas y la duración
+     * @throws IOException Si el archivo no se puede leer o el encabezado no es válido. Una
+     *                     falla inesperada de la lectura (RuntimeException o Error) se
+     *                     relanza tal cual, después de escribir los bloques ya leídos
+     */
+    public ResultadoImportacion importar(Path archivo) throws IOException {
+        long inicio = System.nanoTime();
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        Path puntoControl = archivo.resolveSibling(archivo.getFileName() + Constantes.EXTENSION_PUNTO_CONTROL);
+        String firma = Files.size(archivo) + ":" + Files.getLastModifiedTime(archivo).toMillis();
+        long desdeLinea = leerPuntoControl(puntoControl, firma);
+
+        BlockingQueue<Future<Bloque>> enVuelo = new ArrayBlockingQueue<>(bloquesEnVuelo);
+        Throwable[] errorLectura = new Throwable[1];
+
+        try (InputStream entrada = Files.newInputStream(archivo);
+                BufferedReader lector = new BufferedReader(
+                        new InputStreamReader(entrada, StandardCharsets.UTF_8), Constantes.IMPORTACION_BUFFER)) {
+
+            int[] columnas = leerEncabezado(lector.readLine());
+            ExecutorService validadores = crearValidadores();
+
+            Thread hiloLector = new Thread(() -> {
+                try {
+                    leer(lector, columnas, desdeLinea, enVuelo, validadores);
+                } catch (InterruptedException e) {
+                    // La escritura se detuvo; no se leen más bloques
+                    return;
+                } catch (Throwable t) {
+                    // Cualquier falla termina la lectura con FIN para que la escritura no espere más
+                    errorLectura[0] = t;
+                }
+                try {
+                    enVuelo.put(CompletableFuture.completedFuture(FIN));
+                } catch (InterruptedException ignored) {
+                }
+            }, "importacion-lectura");
+            hiloLector.setDaemon(true);
+            hiloLector.start();
+
+            try {
+                escribir(enVuelo, resultado, puntoControl, firma);
+            } finally {
+                hiloLector.interrupt();
+                esperar(hiloLector);
+                validadores.shutdownNow();
+            }
+        }
+
+        // esperar(hiloLector) hace visible el error de la lectura
+        Throwable error = errorLectura[0];
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error != null) {
+            throw (Error) error;
+        }
+        if (!resultado.isInterrumpido()) {
+            Files.deleteIfExists(puntoControl);
+        }
+        resultado.asignarDuracion(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    // ==================== ETAPAS ====================
+
+    /**
+     * Etapa de lectura: parte el archivo en bloques y los envía a validar.
+     * Las líneas hasta desdeLinea ya se importaron y solo se cuentan.
+     */
+    private void leer(BufferedReader lector, int[] columnas, long desdeLinea,
+            BlockingQueue<Future<Bloque>> enVuelo, ExecutorService validadores)
+            throws IOException, InterruptedException {
+        long numero = 1; // El encabezado es la línea 1
+        long omitidas = 0;
+        List<String> lineas = new ArrayList<>(tamanoBloque);
+        long[] numeros = new long[tamanoBloque];
+
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            numero++;
+            if (linea.trim().isEmpty()) {
+                continue;
+            }
+            if (numero <= desdeLinea) {
+                omitidas++;
+                continue;
+            }
+
+            numeros[lineas.size()] = numero;
+            lineas.add(linea);
+            if (lineas.size() == tamanoBloque) {
+                Bloque bloque = new Bloque(lineas, numeros);
+                bloque.omitidas = omitidas;
+                omitidas = 0;
+                // put espera si hay demasiados bloques pendientes de escribir
+                enVuelo.put(enviar(validadores, bloque, columnas));
+                lineas = new ArrayList<>(tamanoBloque);
+                numeros = new long[tamanoBloque];
+            }
+        }
+
+        Bloque ultimo = new Bloque(lineas, numeros);
+        ultimo.omitidas = omitidas;
+        enVuelo.put(enviar(validadores, ultimo, columnas));
+    }
+
+    private Future<Bloque> enviar(ExecutorService validadores, Bloque bloque, int[] columnas) {
+        return validadores.submit(() -> validar(bloque, columnas));
+    }
+
+    /**
+     * Etapa de escritura: inserta los bloques en el orden del archivo y
+     * guarda el punto de control tras cada commit.
+     */
+    private void escribir(BlockingQueue<Future<Bloque>> enVuelo, ResultadoImportacion resultado,
+            Path puntoControl, String firma) throws IOException {
+        while (true) {
+            Bloque bloque;
+            try {
+                bloque = enVuelo.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                resultado.marcarInterrumpido();
+                return;
+            } catch (ExecutionException e) {
+                System.err.println("✗ Error al validar un bloque del archivo:");
+                e.getCause().printStackTrace();
+                resultado.marcarInterrumpido();
+                return;
+            }
+            if (bloque == FIN) {
+                return;
+            }
+
+            resultado.sumarOmitidas(bloque.omitidas);
+            resultado.sumarLineasLeidas(bloque.omitidas + bloque.lineas.size());
+            if (bloque.lineas.isEmpty()) {
+                continue;
+            }
+
+            List<ErrorLinea> errores = bloque.errores;
+            if (!bloque.validos.isEmpty()) {
+                ResultadoLote lote = dao.insertarLote(bloque.validos.iterator(), bloque.validos.size());
+                for (ResultadoLote.Falla falla : lote.getFallas()) {
+                    errores.add(new ErrorLinea(bloque.numerosValidos[falla.getPosicion()], falla.getMensaje()));
+                }
+                resultado.sumarInsertados(lote.getInsertados());
+                if (lote.isInterrumpido()) {
+                    resultado.marcarInterrumpido();
+                    return;
+                }
+            }
+
+            errores.sort(Comparator.comparingLong(ErrorLinea::getLinea));
+            resultado.registrarErrores(errores);
+            guardarPuntoControl(puntoControl, firma, bloque.ultimaLinea());
+        }
+    }
+
+    /**
+     * Etapa de validación: interpreta cada línea del bloque y separa los
+     * estudiantes válidos de las líneas rechazadas.
+     */
+    private static Bloque validar(Bloque bloque, int[] columnas) {
+        String[] campos = new String[COLUMNAS.length];
+        int totalCampos = columnas[COLUMNAS.length];
+        long[] numerosValidos = new long[bloque.lineas.size()];
+
+        for (int i = 0; i < bloque.lineas.size(); i++) {
+            long numero = bloque.numeros[i];
+            String[] todos = partir(bloque.lineas.get(i));
+            if (todos == null) {
+                bloque.errores.add(new ErrorLinea(numero,
+                        "Comillas mal formadas: sin cerrar o con texto despues de la comilla de cierre"));
+                continue;
+            }
+            if (todos.length != totalCampos) {
+                bloque.errores.add(new ErrorLinea(numero,
+                        "Se esperaban " + totalCampos + " campos y hay " + todos.length));
+                continue;
+            }
+            for (int c = 0; c < COLUMNAS.length; c++) {
+                campos[c] = todos[columnas[c]].trim();
+            }
+
+            String error = validarCampos(campos);
+            if (error != null) {
+                bloque.errores.add(new ErrorLinea(numero, error));
+                continue;
+            }
+
+            numerosValidos[bloque.validos.size()] = numero;
+            bloque.validos.add(new Estudiante(campos[NOMBRE], campos[APELLIDO], campos[EMAIL],
+                    campos[CARRERA], Integer.parseInt(campos[SEMESTRE])));
+        }
+
+        bloque.numerosValidos = numerosValidos;
+        return bloque;
+    }
+
+    /**
+     * Valida los campos obligatorios de una línea.
+     *
+     * @return Motivo del rechazo, o null si la línea es válida
+     */
+    private static String validarCampos(String[] campos) {
+        for (int c = NOMBRE; c <= CARRERA; c++) {
+            if (campos[c].isEmpty()) {
+                return "El campo " + COLUMNAS[c] + " es obligatorio";
+            }
+            if (campos[c].length() > LONGITUD_MAXIMA[c]) {
+                return "El campo " + COLUMNAS[c] + " supera " + LONGITUD_MAXIMA[c] + " caracteres";
+            }
+        }
+        if (!PATRON_EMAIL.matcher(campos[EMAIL]).matches()) {
+            return "Email no valido: " + campos[EMAIL];
+        }
+        try {
+            int semestre = Integer.parseInt(campos[SEMESTRE]);
+            if (semestre < 1 || semestre > 10) {
+                return "El semestre debe estar entre 1 y 10: " + semestre;
+            }
+        } catch (NumberFormatException e) {
+            return "Semestre no numerico: " + campos[SEMESTRE];
+        }
+        return null;
+    }
+
+    // ==================== METODOS AUXILIARES ====================
+
+    /**
+     * Ubica las columnas obligatorias en el encabezado.
+     *
+     * @return Para cada columna de COLUMNAS, su posición en el archivo; la
+     *         última posición guarda el total de columnas del archivo
+     */
+    private static int[] leerEncabezado(String encabezado) throws IOException {
+        if (encabezado == null) {
+            throw new IOException("El archivo esta vacio");
+        }
+        // Marca de orden de bytes que algunos programas agregan al exportar
+        if (encabezado.startsWith("\uFEFF")) {
+            encabezado = encabezado.substring(1);
+        }
+
+        String[] nombres = partir(encabezado);
+        if (nombres == null) {
+            throw new IOException("Encabezado no valido: " + encabezado);
+        }
+
+        int[] columnas = new int[COLUMNAS.length + 1];
+        Arrays.fill(columnas, -1);
+        columnas[COLUMNAS.length] = nombres.length;
+        for (int c = 0; c < COLUMNAS.length; c++) {
+            for (int i = 0; i < nombres.length; i++) {
+                if (nombres[i].trim().equalsIgnoreCase(COLUMNAS[c])) {
+                    columnas[c] = i;
+                }
+            }
+            if (columnas[c] < 0) {
+                throw new IOException("Falta la columna '" + COLUMNAS[c] + "' en el encabezado");
+            }
+        }
+        return columnas;
+    }
+
+    /**
+     * Separa una línea CSV en campos. Acepta campos entre comillas dobles,
+     * con "" como comilla literal; tras la comilla de cierre solo puede haber
+     * espacios antes de la coma.
+     *
+     * @return Campos de la línea, o null si hay comillas sin cerrar o texto
+     *         después de la comilla de cierre (por ejemplo "Ana"Maria)
+     */
+    private static String[] partir(String linea) {
+        List<String> campos = new ArrayList<>(COLUMNAS.length);
+        StringBuilder campo = new StringBuilder();
+        int i = 0;
+        int largo = linea.length();
+
+        while (true) {
+            if (i < largo && linea.charAt(i) == '"') {
+                campo.setLength(0);
+                i++;
+                while (true) {
+                    if (i >= largo) {
+                        return null;
+                    }
+                    char c = linea.charAt(i++);
+                    if (c == '"') {
+                        if (i < largo && linea.charAt(i) == '"') {
+                            campo.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        campo.append(c);
+                    }
+                }
+                campos.add(campo.toString());
+                while (i < largo && (linea.charAt(i) == ' ' || linea.charAt(i) == '\t')) {
+                    i++;
+                }
+                if (i < largo && linea.charAt(i) != ',') {
+                    return null;
+                }
+            } else {
+                int coma = linea.indexOf(',', i);
+                int fin = coma < 0 ? largo : coma;
+                campos.add(linea.substring(i, fin));
+                i = fin;
+            }
+
+            if (i >= largo) {
+                return campos.toArray(new String[0]);
+            }
+            i++; // Saltar la coma
+            if (i == largo) {
+                campos.add("");
+                return campos.toArray(new String[0]);
+            }
+        }
+    }
+
+    /**
+     * Lee la última línea confirmada de una importación anterior del mismo archivo.
+     *
+     * @return Número de línea, o 0 si no hay punto de control válido
+     */
+    private static long leerPuntoControl(Path puntoControl, String firma) throws IOException {
+        if (!Files.exists(puntoControl)) {
+            return 0;
+        }
+        Properties propiedades = new Properties();
+        try (InputStream entrada = Files.newInputStream(puntoControl)) {
+            propiedades.load(entrada);
+        }
+        if (!firma.equals(propiedades.getProperty("archivo"))) {
+            System.err.println("[ERROR] El archivo cambio desde la importacion anterior; se importara completo.");
+            return 0;
+        }
+        try {
+            long linea = Long.parseLong(propiedades.getProperty("linea", "0"));
+            System.out.println("[OK] Reanudando la importacion despues de la linea " + linea + ".");
+            return linea;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Guarda la última línea confirmada. Se escribe en un archivo temporal y
+     * se renombra para no dejar nunca un punto de control a medias.
+     */
+    private static void guardarPuntoControl(Path puntoControl, String firma, long linea) throws IOException {
+        Properties propiedades = new Properties();
+        propiedades.setProperty("archivo", firma);
+        propiedades.setProperty("linea", Long.toString(linea));
+
+        Path temporal = puntoControl.resolveSibling(puntoControl.getFileName() + ".tmp");
+        try (OutputStream salida = Files.newOutputStream(temporal)) {
+            propiedades.store(salida, null);
+        }
+        try {
+            Files.move(temporal, puntoControl, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temporal, puntoControl, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private ExecutorService crearValidadores() {
+        AtomicInteger numero = new AtomicInteger();
+        return Executors.newFixedThreadPool(hilos, r -> {
+            Thread hilo = new Thread(r, "importacion-validacion-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    private static void esperar(Thread hilo) {
+        try {
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.sena.estudiantes.importacion;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una importación de estudiantes desde CSV.
+ * Registra las líneas leídas, insertadas, omitidas por un punto de control
+ * previo y rechazadas (con su número de línea y motivo), además de la
+ * duración de la carga.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class ResultadoImportacion {
+
+    private long lineasLeidas;
+    private long insertados;
+    private long omitidas;
+    private boolean interrumpido;
+    private long duracionNanos;
+    private final List<ErrorLinea> errores = new ArrayList<>();
+
+    /**
+     * Línea del archivo que no se pudo importar.
+     */
+    public static class ErrorLinea {
+
+        private final long linea;
+        private final String mensaje;
+
+        ErrorLinea(long linea, String mensaje) {
+            this.linea = linea;
+            this.mensaje = mensaje;
+        }
+
+        /**
+         * @return Número de línea en el archivo (la primera es 1)
+         */
+        public long getLinea() {
+            return linea;
+        }
+
+        public String getMensaje() {
+            return mensaje;
+        }
+
+        @Override
+        public String toString() {
+            return "Linea " + linea + ": " + mensaje;
+        }
+    }
+
+    void sumarLineasLeidas(long cantidad) {
+        lineasLeidas += cantidad;
+    }
+
+    void sumarInsertados(long cantidad) {
+        insertados += cantidad;
+    }
+
+    void sumarOmitidas(long cantidad) {
+        omitidas += cantidad;
+    }
+
+    void registrarErrores(List<ErrorLinea> nuevos) {
+        errores.addAll(nuevos);
+    }
+
+    void marcarInterrumpido() {
+        interrumpido = true;
+    }
+
+    void asignarDuracion(long nanos) {
+        duracionNanos = nanos;
+    }
+
+    /**
+     * @return Líneas de datos leídas del archivo, sin contar el encabezado
+     */
+    public long getLineasLeidas() {
+        return lineasLeidas;
+    }
+
+    /**
+     * @return Estudiantes insertados en esta ejecución
+     */
+    public long getInsertados() {
+        return insertados;
+    }
+
+    /**
+     * @return Líneas saltadas por estar antes del punto de control
+     */
+    public long getOmitidas() {
+        return omitidas;
+    }
+
+    /**
+     * @return Líneas rechazadas, ordenadas por número de línea
+     */
+    public List<ErrorLinea> getErrores() {
+        return Collections.unmodifiableList(errores);
+    }
+
+    /**
+     * Indica si la importación se detuvo antes del final del archivo.
+     * En ese caso puede reanudarse desde el punto de control.
+     *
+     * @return true si quedaron líneas sin procesar
+     */
+    public boolean isInterrumpido() {
+        return interrumpido;
+    }
+
+    /**
+     * @return Duración de la importación en milisegundos
+     */
+    public long getDuracionMs() {
+        return duracionNanos / 1_000_000;
+    }
+
+    /**
+     * @return Líneas procesadas por segundo (insertadas y rechazadas)
+     */
+    public double getFilasPorSegundo() {
+        return duracionNanos == 0 ? 0 : (lineasLeidas - omitidas) * 1_000_000_000.0 / duracionNanos;
+    }
+
+    /**
+     * Escribe el reporte de errores, una línea por fila rechazada:
+     * número de línea, tabulador y motivo.
+     *
+     * @param destino Archivo del reporte
+     * @throws IOException Si no se puede escribir el archivo
+     */
+    public void escribirReporte(Path destino) throws IOException {
+        try (BufferedWriter escritor = Files.newBufferedWriter(destino, StandardCharsets.UTF_8)) {
+            for (ErrorLinea error : errores) {
+                escritor.write(Long.toString(error.linea));
+                escritor.write('\t');
+                escritor.write(error.mensaje);
+                escritor.newLine();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Leidas: %d, insertadas: %d, rechazadas: %d, omitidas: %d en %d ms (%.0f filas/s)%s",
+                lineasLeidas, insertados, errores.size(), omitidas, getDuracionMs(), getFilasPorSegundo(),
+                interrumpido ? " (importacion interrumpida)" : "");
+    }
+}
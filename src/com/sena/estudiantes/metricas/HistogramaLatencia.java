@@ -0,0 +1,139 @@
+package com.sena.estudiantes.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias en nanosegundos con cubetas log-lineales, al
+ * estilo de HdrHistogram: cada potencia de dos se divide en SUBCUBETAS
+ * cubetas iguales, de modo que cualquier percentil se obtiene con un error
+ * relativo menor a 1/SUBCUBETAS (aprox. 3%) usando memoria fija.
+ *
+ * Registrar un valor es un cálculo de índice y un incremento atómico, sin
+ * bloqueos ni objetos nuevos, así que puede usarse desde muchos hilos en
+ * el camino de cada operación.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class HistogramaLatencia {
+
+    /** Bits de subcubeta: 2^5 = 32 cubetas por cada potencia de dos */
+    private static final int BITS_SUBCUBETA = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+
+    /** Mayor valor distinguible: 2^45 ns (unas 9 horas); los mayores se acumulan en la última cubeta */
+    private static final int BITS_MAXIMOS = 45;
+    private static final int CUBETAS = (BITS_MAXIMOS - BITS_SUBCUBETA + 1) * SUBCUBETAS;
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra una medición.
+     *
+     * @param nanos Duración en nanosegundos
+     */
+    public void registrar(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        cubetas.incrementAndGet(indice(nanos));
+        total.increment();
+        suma.add(nanos);
+        if (nanos > maximo.get()) {
+            maximo.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * @return Número de mediciones registradas
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * @return Suma de todas las mediciones, en nanosegundos
+     */
+    public long getSuma() {
+        return suma.sum();
+    }
+
+    /**
+     * @return Mayor medición registrada, en nanosegundos
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Valor por debajo del cual está la fracción indicada de las mediciones.
+     *
+     * @param fraccion Percentil entre 0 y 1 (0.99 = p99)
+     * @return Límite superior de la cubeta del percentil, en nanosegundos; 0 sin mediciones
+     */
+    public long percentil(double fraccion) {
+        long cantidad = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            cantidad += cubetas.get(i);
+        }
+        if (cantidad == 0) {
+            return 0;
+        }
+
+        long objetivo = Math.max(1, (long) Math.ceil(fraccion * cantidad));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cubetas.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Vacía el histograma.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        total.reset();
+        suma.reset();
+        maximo.set(0);
+    }
+
+    // ==================== CUBETAS ====================
+
+    /**
+     * Cubeta de un valor. Los valores menores a 2 * SUBCUBETAS tienen una
+     * cubeta cada uno; de ahí en adelante se conservan los BITS_SUBCUBETA + 1
+     * bits más altos.
+     */
+    static int indice(long valor) {
+        if (valor < 2 * SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int desplazamiento = exponente - BITS_SUBCUBETA;
+        int indice = (desplazamiento + 1) * SUBCUBETAS + (int) (valor >>> desplazamiento) - SUBCUBETAS;
+        return Math.min(indice, CUBETAS - 1);
+    }
+
+    /**
+     * Mayor valor que cae en la cubeta indicada.
+     */
+    static long limiteSuperior(int indice) {
+        if (indice < 2 * SUBCUBETAS) {
+            return indice;
+        }
+        int desplazamiento = indice / SUBCUBETAS - 1;
+        long superior = indice % SUBCUBETAS + SUBCUBETAS;
+        return ((superior + 1) << desplazamiento) - 1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.sena.estudiantes.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores e histograma de latencia de una operación del DAO.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class MetricaOperacion implements MetricaOperacionMBean {
+
+    private final LongAdder llamadas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder filas = new LongAdder();
+    private final HistogramaLatencia latencia = new HistogramaLatencia();
+
+    void registrar(long nanos, long filasAfectadas) {
+        llamadas.increment();
+        filas.add(filasAfectadas);
+        latencia.registrar(nanos);
+    }
+
+    void registrarError(long nanos) {
+        llamadas.increment();
+        errores.increment();
+        latencia.registrar(nanos);
+    }
+
+    void reiniciar() {
+        llamadas.reset();
+        errores.reset();
+        filas.reset();
+        latencia.reiniciar();
+    }
+
+    /**
+     * @return Histograma de latencias de la operación
+     */
+    public HistogramaLatencia getLatencia() {
+        return latencia;
+    }
+
+    @Override
+    public long getLlamadas() {
+        return llamadas.sum();
+    }
+
+    @Override
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    @Override
+    public long getFilas() {
+        return filas.sum();
+    }
+
+    @Override
+    public double getLatenciaPromedioMs() {
+        long total = latencia.getTotal();
+        return total == 0 ? 0 : latencia.getSuma() / 1_000_000.0 / total;
+    }
+
+    @Override
+    public double getLatenciaP50Ms() {
+        return latencia.percentil(0.5) / 1_000_000.0;
+    }
+
+    @Override
+    public double getLatenciaP99Ms() {
+        return latencia.percentil(0.99) / 1_000_000.0;
+    }
+
+    @Override
+    public double getLatenciaP999Ms() {
+        return latencia.percentil(0.999) / 1_000_000.0;
+    }
+
+    @Override
+    public double getLatenciaMaximaMs() {
+        return latencia.getMaximo() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,26 @@
+package com.sena.estudiantes.metricas;
+
+/**
+ * Vista JMX de las métricas de una operación del DAO.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public interface MetricaOperacionMBean {
+
+    long getLlamadas();
+
+    long getErrores();
+
+    long getFilas();
+
+    double getLatenciaPromedioMs();
+
+    double getLatenciaP50Ms();
+
+    double getLatenciaP99Ms();
+
+    double getLatenciaP999Ms();
+
+    double getLatenciaMaximaMs();
+}
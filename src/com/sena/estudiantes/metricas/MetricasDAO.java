@@ -0,0 +1,325 @@
+package com.sena.estudiantes.metricas;
+
+import com.sena.estudiantes.util.Constantes;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Registro central de métricas de EstudianteDAO y ConexionBD.
+ *
+ * Por cada operación del DAO lleva llamadas, errores, filas devueltas o
+ * afectadas y un histograma de latencia (p50, p99, p999). Además registra
+ * la espera por conexiones del pool y los errores por SQLState.
+ *
+ * Las métricas se publican como MBeans en el dominio JMX
+ * Constantes.JMX_DOMINIO (visibles con JConsole o VisualVM) y se pueden
+ * volcar en formato de texto de Prometheus con exportarPrometheus.
+ *
+ * Con -Destudiantes.metricas=false, HABILITADAS es una constante falsa: el
+ * JIT elimina las llamadas de registro, y si además el registro de
+ * consultas lentas está desactivado no se mide el tiempo.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class MetricasDAO {
+
+    /** false si se desactivaron con la propiedad Constantes.PROP_METRICAS */
+    public static final boolean HABILITADAS = !"false".equalsIgnoreCase(System.getProperty(Constantes.PROP_METRICAS));
+
+    /** El registro de consultas lentas también necesita el instante de inicio */
+    private static final boolean MEDIR_TIEMPO = HABILITADAS || RegistroConsultasLentas.HABILITADO;
+
+    private static final MetricaOperacion[] OPERACIONES = new MetricaOperacion[OperacionDAO.values().length];
+    private static final HistogramaLatencia ESPERA_CONEXION = new HistogramaLatencia();
+    private static final Map<String, LongAdder> ERRORES_SQLSTATE = new ConcurrentHashMap<>();
+    private static volatile PoolConexionesMBean pool;
+
+    static {
+        for (OperacionDAO operacion : OperacionDAO.values()) {
+            OPERACIONES[operacion.ordinal()] = new MetricaOperacion();
+        }
+        if (HABILITADAS) {
+            registrarMBeans();
+        }
+    }
+
+    private MetricasDAO() {
+        throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
+    }
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Marca el inicio de una operación.
+     *
+     * @return Instante actual en nanosegundos, o 0 si no hay nada que medir
+     */
+    public static long iniciar() {
+        return MEDIR_TIEMPO ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Registra una operación terminada sin error.
+     *
+     * @param operacion Operación del DAO
+     * @param inicio    Valor devuelto por iniciar()
+     * @param filas     Filas devueltas o afectadas
+     */
+    public static void registrar(OperacionDAO operacion, long inicio, long filas) {
+        if (HABILITADAS) {
+            OPERACIONES[operacion.ordinal()].registrar(System.nanoTime() - inicio, filas);
+        }
+    }
+
+    /**
+     * Registra una operación que terminó con error.
+     *
+     * @param operacion Operación del DAO
+     * @param inicio    Valor devuelto por iniciar()
+     * @param error     Error de la operación
+     */
+    public static void registrarError(OperacionDAO operacion, long inicio, SQLException error) {
+        if (HABILITADAS) {
+            OPERACIONES[operacion.ordinal()].registrarError(System.nanoTime() - inicio);
+            ERRORES_SQLSTATE.computeIfAbsent(claveError(error), k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Registra el tiempo que un llamador esperó por una conexión del pool.
+     *
+     * @param nanos Espera en nanosegundos
+     */
+    public static void registrarEsperaConexion(long nanos) {
+        if (HABILITADAS) {
+            ESPERA_CONEXION.registrar(nanos);
+        }
+    }
+
+    /**
+     * Publica el estado del pool de conexiones en JMX y en el volcado de Prometheus.
+     *
+     * @param estadoPool Vista del pool
+     */
+    public static void registrarPool(PoolConexionesMBean estadoPool) {
+        pool = estadoPool;
+        if (HABILITADAS) {
+            registrarMBean("type=PoolConexiones", estadoPool, PoolConexionesMBean.class);
+        }
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * @param operacion Operación del DAO
+     * @return Métricas acumuladas de la operación
+     */
+    public static MetricaOperacion obtener(OperacionDAO operacion) {
+        return OPERACIONES[operacion.ordinal()];
+    }
+
+    /**
+     * @return Histograma de la espera por conexiones del pool
+     */
+    public static HistogramaLatencia getEsperaConexion() {
+        return ESPERA_CONEXION;
+    }
+
+    /**
+     * Pone en cero contadores e histogramas.
+     */
+    public static void reiniciar() {
+        for (MetricaOperacion metrica : OPERACIONES) {
+            metrica.reiniciar();
+        }
+        ESPERA_CONEXION.reiniciar();
+        ERRORES_SQLSTATE.clear();
+    }
+
+    // ==================== PROMETHEUS ====================
+
+    /**
+     * @return Todas las métricas en formato de texto de Prometheus
+     */
+    public static String exportarPrometheus() {
+        StringBuilder texto = new StringBuilder(8192);
+        try {
+            escribirPrometheus(texto);
+        } catch (IOException e) {
+            // StringBuilder no lanza IOException
+            throw new IllegalStateException(e);
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Escribe todas las métricas en formato de texto de Prometheus (versión 0.0.4).
+     *
+     * @param salida Destino del texto
+     * @throws IOException Si falla la escritura
+     */
+    public static void escribirPrometheus(Appendable salida) throws IOException {
+        encabezado(salida, "estudiantes_dao_operaciones_total", "counter", "Operaciones del DAO ejecutadas.");
+        for (OperacionDAO operacion : OperacionDAO.values()) {
+            linea(salida, "estudiantes_dao_operaciones_total", operacion, null, obtener(operacion).getLlamadas());
+        }
+
+        encabezado(salida, "estudiantes_dao_errores_total", "counter", "Operaciones del DAO terminadas con error.");
+        for (OperacionDAO operacion : OperacionDAO.values()) {
+            linea(salida, "estudiantes_dao_errores_total", operacion, null, obtener(operacion).getErrores());
+        }
+
+        encabezado(salida, "estudiantes_dao_filas_total", "counter", "Filas devueltas o afectadas por el DAO.");
+        for (OperacionDAO operacion : OperacionDAO.values()) {
+            linea(salida, "estudiantes_dao_filas_total", operacion, null, obtener(operacion).getFilas());
+        }
+
+        encabezado(salida, "estudiantes_dao_latencia_segundos", "summary", "Latencia de las operaciones del DAO.");
+        for (OperacionDAO operacion : OperacionDAO.values()) {
+            HistogramaLatencia latencia = obtener(operacion).getLatencia();
+            String etiqueta = "operacion=\"" + operacion.getEtiqueta() + "\"";
+            resumen(salida, "estudiantes_dao_latencia_segundos", etiqueta, latencia);
+        }
+
+        encabezado(salida, "estudiantes_dao_errores_sqlstate_total", "counter", "Errores del DAO por SQLState.");
+        for (Map.Entry<String, LongAdder> error : new TreeMap<>(ERRORES_SQLSTATE).entrySet()) {
+            salida.append("estudiantes_dao_errores_sqlstate_total{sqlstate=\"")
+                    .append(escaparEtiqueta(error.getKey())).append("\"} ")
+                    .append(Long.toString(error.getValue().sum())).append('\n');
+        }
+
+        encabezado(salida, "estudiantes_consultas_lentas_total", "counter", "Consultas sobre el umbral de lentitud.");
+        salida.append("estudiantes_consultas_lentas_total ")
+                .append(Long.toString(RegistroConsultasLentas.getRegistradas())).append('\n');
+        encabezado(salida, "estudiantes_consultas_lentas_descartadas_total", "counter",
+                "Consultas lentas no escritas porque la cola estaba llena.");
+        salida.append("estudiantes_consultas_lentas_descartadas_total ")
+                .append(Long.toString(RegistroConsultasLentas.getDescartadas())).append('\n');
+
+        encabezado(salida, "estudiantes_pool_espera_segundos", "summary", "Espera por una conexion del pool.");
+        resumen(salida, "estudiantes_pool_espera_segundos", null, ESPERA_CONEXION);
+
+        PoolConexionesMBean estadoPool = pool;
+        if (estadoPool != null) {
+            encabezado(salida, "estudiantes_pool_conexiones_activas", "gauge", "Conexiones prestadas.");
+            salida.append("estudiantes_pool_conexiones_activas ")
+                    .append(Integer.toString(estadoPool.getConexionesActivas())).append('\n');
+            encabezado(salida, "estudiantes_pool_conexiones_inactivas", "gauge", "Conexiones libres.");
+            salida.append("estudiantes_pool_conexiones_inactivas ")
+                    .append(Integer.toString(estadoPool.getConexionesInactivas())).append('\n');
+            encabezado(salida, "estudiantes_pool_prestamos_total", "counter", "Prestamos de conexiones.");
+            salida.append("estudiantes_pool_prestamos_total ")
+                    .append(Long.toString(estadoPool.getPrestamosTotales())).append('\n');
+            encabezado(salida, "estudiantes_pool_expiraciones_total", "counter",
+                    "Prestamos que agotaron el tiempo de espera.");
+            salida.append("estudiantes_pool_expiraciones_total ")
+                    .append(Long.toString(estadoPool.getExpiraciones())).append('\n');
+        }
+    }
+
+    // ==================== METODOS AUXILIARES ====================
+
+    private static void encabezado(Appendable salida, String nombre, String tipo, String ayuda) throws IOException {
+        salida.append("# HELP ").append(nombre).append(' ').append(ayuda).append('\n');
+        salida.append("# TYPE ").append(nombre).append(' ').append(tipo).append('\n');
+    }
+
+    private static void linea(Appendable salida, String nombre, OperacionDAO operacion, String extra, long valor)
+            throws IOException {
+        salida.append(nombre).append("{operacion=\"").append(operacion.getEtiqueta()).append('"');
+        if (extra != null) {
+            salida.append(',').append(extra);
+        }
+        salida.append("} ").append(Long.toString(valor)).append('\n');
+    }
+
+    /**
+     * Escribe los cuantiles 0.5, 0.99 y 0.999, la suma y la cuenta de un histograma.
+     */
+    private static void resumen(Appendable salida, String nombre, String etiqueta, HistogramaLatencia histograma)
+            throws IOException {
+        String prefijo = etiqueta == null ? "" : etiqueta + ",";
+        for (String cuantil : new String[] { "0.5", "0.99", "0.999" }) {
+            salida.append(nombre).append('{').append(prefijo).append("quantile=\"").append(cuantil).append("\"} ")
+                    .append(segundos(histograma.percentil(Double.parseDouble(cuantil)))).append('\n');
+        }
+        String etiquetas = etiqueta == null ? "" : "{" + etiqueta + "}";
+        salida.append(nombre).append("_sum").append(etiquetas).append(' ')
+                .append(segundos(histograma.getSuma())).append('\n');
+        salida.append(nombre).append("_count").append(etiquetas).append(' ')
+                .append(Long.toString(histograma.getTotal())).append('\n');
+    }
+
+    /** Nanosegundos a segundos; Double.toString usa siempre punto decimal */
+    private static String segundos(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String escaparEtiqueta(String valor) {
+        return valor.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * SQLState del error; el driver de SQLite no siempre lo informa y
+     * entonces se usa su código de error.
+     */
+    private static String claveError(SQLException error) {
+        return error.getSQLState() != null ? error.getSQLState() : "codigo_" + error.getErrorCode();
+    }
+
+    private static void registrarMBeans() {
+        for (OperacionDAO operacion : OperacionDAO.values()) {
+            registrarMBean("type=MetricaOperacion,operacion=" + operacion.getEtiqueta(), obtener(operacion),
+                    MetricaOperacionMBean.class);
+        }
+        registrarMBean("type=Metricas", new MetricasMBean() {
+            @Override
+            public String[] getErroresPorSqlState() {
+                Map<String, LongAdder> ordenados = new TreeMap<>(ERRORES_SQLSTATE);
+                String[] errores = new String[ordenados.size()];
+                int i = 0;
+                for (Map.Entry<String, LongAdder> error : ordenados.entrySet()) {
+                    errores[i++] = error.getKey() + "=" + error.getValue().sum();
+                }
+                return errores;
+            }
+
+            @Override
+            public String exportarPrometheus() {
+                return MetricasDAO.exportarPrometheus();
+            }
+
+            @Override
+            public void reiniciar() {
+                MetricasDAO.reiniciar();
+            }
+        }, MetricasMBean.class);
+    }
+
+    /**
+     * Registra un MBean, reemplazando uno anterior con el mismo nombre.
+     */
+    private static <T> void registrarMBean(String propiedades, T implementacion, Class<T> interfaz) {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nombre = new ObjectName(Constantes.JMX_DOMINIO + ":" + propiedades);
+            if (servidor.isRegistered(nombre)) {
+                servidor.unregisterMBean(nombre);
+            }
+            servidor.registerMBean(new StandardMBean(implementacion, interfaz), nombre);
+        } catch (JMException e) {
+            System.err.println("[ERROR] No se pudo registrar el MBean " + propiedades + ":");
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.sena.estudiantes.metricas;
+
+/**
+ * Vista JMX global de las métricas: errores por SQLState, volcado en
+ * formato Prometheus y reinicio de los contadores.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public interface MetricasMBean {
+
+    /**
+     * @return Un elemento "SQLState=cantidad" por cada estado de error visto
+     */
+    String[] getErroresPorSqlState();
+
+    /**
+     * @return Todas las métricas en formato de texto de Prometheus
+     */
+    String exportarPrometheus();
+
+    /**
+     * Pone en cero contadores e histogramas.
+     */
+    void reiniciar();
+}
@@ -0,0 +1,49 @@
+package com.sena.estudiantes.metricas;
+
+/**
+ * Operaciones de EstudianteDAO que se miden por separado.
+ * La etiqueta es el nombre del método, usada en JMX y en Prometheus.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public enum OperacionDAO {
+
+    INSERTAR("insertar"),
+    INSERTAR_LOTE("insertarLote"),
+    OBTENER_TODOS("obtenerTodos"),
+    OBTENER_TODOS_INMUTABLES("obtenerTodosInmutables"),
+    OBTENER_TODOS_COMPACTOS("obtenerTodosCompactos"),
+    RECORRER_TODOS("recorrerTodos"),
+    RECORRER_FILAS("recorrerFilas"),
+    OBTENER_POR_ID("obtenerPorId"),
+    OBTENER_POR_ID_INMUTABLE("obtenerPorIdInmutable"),
+    BUSCAR_POR_NOMBRE("buscarPorNombre"),
+    BUSCAR_POR_APELLIDO("buscarPorApellido"),
+    OBTENER_PAGINA("obtenerPagina"),
+    BUSCAR_PAGINA("buscarPorNombrePagina"),
+    ACTUALIZAR("actualizar"),
+    ACTUALIZAR_CAMBIOS("actualizarCambios"),
+    ELIMINAR("eliminar"),
+    CONTAR_ESTUDIANTES("contarEstudiantes"),
+    CONTAR("contar"),
+    CONTAR_POR_CARRERA("contarPorCarrera"),
+    CONTAR_POR_SEMESTRE("contarPorSemestre"),
+    CONTAR_POR_CARRERA_Y_SEMESTRE("contarPorCarreraYSemestre"),
+    OBTENER_CAMBIOS("obtenerCambios"),
+    ULTIMA_SECUENCIA_CAMBIO("obtenerUltimaSecuenciaCambio"),
+    PURGAR_CAMBIOS("purgarCambios");
+
+    private final String etiqueta;
+
+    OperacionDAO(String etiqueta) {
+        this.etiqueta = etiqueta;
+    }
+
+    /**
+     * @return Nombre del método del DAO
+     */
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+}
@@ -0,0 +1,25 @@
+package com.sena.estudiantes.metricas;
+
+/**
+ * Vista JMX del pool de conexiones. ConexionBD registra una implementación
+ * con MetricasDAO.registrarPool.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public interface PoolConexionesMBean {
+
+    int getConexionesActivas();
+
+    int getConexionesInactivas();
+
+    long getPrestamosTotales();
+
+    long getExpiraciones();
+
+    double getEsperaP50Ms();
+
+    double getEsperaP99Ms();
+
+    double getEsperaMaximaMs();
+}
@@ -0,0 +1,434 @@
+package com.sena.estudiantes.metricas;
+
+import com.sena.estudiantes.util.Constantes;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Registro de consultas lentas del DAO.
+ *
+ * Cada sentencia que tarda al menos el umbral (propiedad
+ * Constantes.PROP_CONSULTAS_LENTAS_MS) se anota con el nombre de su
+ * constante SQL, los parámetros (con los emails enmascarados), la duración,
+ * las filas leídas o afectadas y el plan de EXPLAIN QUERY PLAN.
+ *
+ * El hilo que ejecuta la consulta solo deja la entrada en una cola acotada;
+ * un hilo escritor obtiene el plan, da formato y escribe en un archivo que
+ * se rota al superar Constantes.CONSULTAS_LENTAS_TAMANO_MAXIMO. Si la cola
+ * está llena la entrada se descarta (getDescartadas) en lugar de esperar.
+ *
+ * Los planes se obtienen con el planificador que registra ConexionBD y se
+ * guardan por SQL, así que cada consulta distinta se analiza una sola vez.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class RegistroConsultasLentas {
+
+    /** Umbral en nanosegundos; negativo si el registro está desactivado */
+    public static final long UMBRAL_NANOS = leerUmbral();
+
+    /** false si se desactivó con un umbral negativo */
+    public static final boolean HABILITADO = UMBRAL_NANOS >= 0;
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    /** Marca de fin para el hilo escritor */
+    private static final Entrada FIN = new Entrada(null, 0, 0, null);
+
+    private static final Map<String, String> NOMBRES = new ConcurrentHashMap<>();
+    private static final BlockingQueue<Entrada> COLA = new ArrayBlockingQueue<>(Constantes.CONSULTAS_LENTAS_COLA);
+    private static final AtomicBoolean INICIADO = new AtomicBoolean();
+    private static final AtomicLong REGISTRADAS = new AtomicLong();
+    private static final AtomicLong DESCARTADAS = new AtomicLong();
+
+    private static volatile Function<String, List<String>> planificador;
+
+    static {
+        // Nombre de cada constante SQL_* de Constantes, por su texto
+        for (Field campo : Constantes.class.getFields()) {
+            if (Modifier.isStatic(campo.getModifiers()) && campo.getType() == String.class
+                    && campo.getName().startsWith("SQL_")) {
+                try {
+                    NOMBRES.putIfAbsent((String) campo.get(null), campo.getName());
+                } catch (IllegalAccessException e) {
+                    // Los campos de getFields() son públicos
+                }
+            }
+        }
+    }
+
+    private RegistroConsultasLentas() {
+        throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
+    }
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Indica si una operación iniciada en el instante dado superó el umbral.
+     * Es la única comprobación que pagan las consultas rápidas.
+     *
+     * @param inicio Valor devuelto por MetricasDAO.iniciar(); el DAO usa el
+     *               del préstamo de la conexión, para no contar la espera
+     * @return true si debe llamarse a registrar
+     */
+    public static boolean supera(long inicio) {
+        return HABILITADO && System.nanoTime() - inicio >= UMBRAL_NANOS;
+    }
+
+    /**
+     * Encola una consulta lenta para escribirla en el archivo. No bloquea.
+     *
+     * @param sql        Sentencia ejecutada
+     * @param inicio     El mismo valor pasado a supera
+     * @param filas      Filas leídas o afectadas
+     * @param parametros Parámetros asignados, en orden
+     */
+    public static void registrar(String sql, long inicio, long filas, Object... parametros) {
+        if (!HABILITADO) {
+            return;
+        }
+        iniciarEscritor();
+        if (COLA.offer(new Entrada(sql, System.nanoTime() - inicio, filas, parametros))) {
+            REGISTRADAS.incrementAndGet();
+        } else {
+            DESCARTADAS.incrementAndGet();
+        }
+    }
+
+    /**
+     * Da nombre a una sentencia que no es una constante de Constantes
+     * (por ejemplo, las generadas al iniciar el DAO).
+     *
+     * @param sql    Texto de la sentencia
+     * @param nombre Nombre a mostrar en el registro
+     */
+    public static void nombrar(String sql, String nombre) {
+        NOMBRES.putIfAbsent(sql, nombre);
+    }
+
+    /**
+     * @param sql Texto de la sentencia
+     * @return Nombre registrado para la sentencia, o "(sin nombre)"
+     */
+    public static String nombreDe(String sql) {
+        return NOMBRES.getOrDefault(sql, "(sin nombre)");
+    }
+
+    /**
+     * Registra la función que obtiene los pasos de EXPLAIN QUERY PLAN de una
+     * sentencia. Se llama desde el hilo escritor, nunca desde el de la consulta.
+     *
+     * @param proveedorPlanes Función de SQL a pasos del plan
+     */
+    public static void registrarPlanificador(Function<String, List<String>> proveedorPlanes) {
+        planificador = proveedorPlanes;
+    }
+
+    /**
+     * @return Consultas lentas encoladas para escribir
+     */
+    public static long getRegistradas() {
+        return REGISTRADAS.get();
+    }
+
+    /**
+     * @return Consultas lentas descartadas porque la cola estaba llena
+     */
+    public static long getDescartadas() {
+        return DESCARTADAS.get();
+    }
+
+    // ==================== HILO ESCRITOR ====================
+
+    /**
+     * Arranca el hilo escritor con la primera consulta lenta. Al terminar la
+     * JVM se escriben las entradas pendientes.
+     */
+    private static void iniciarEscritor() {
+        if (INICIADO.get() || !INICIADO.compareAndSet(false, true)) {
+            return;
+        }
+        Path archivo = Paths.get(System.getProperty(Constantes.PROP_CONSULTAS_LENTAS_ARCHIVO,
+                Constantes.CONSULTAS_LENTAS_ARCHIVO));
+        Thread escritor = new Thread(new Escritor(archivo), "registro-consultas-lentas");
+        escritor.setDaemon(true);
+        escritor.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                if (COLA.offer(FIN, 1, TimeUnit.SECONDS)) {
+                    escritor.join(TimeUnit.SECONDS.toMillis(2));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "registro-consultas-lentas-cierre"));
+    }
+
+    /**
+     * Escribe las entradas en el archivo y lo rota. Solo este hilo toca el
+     * archivo y la caché de planes.
+     */
+    private static final class Escritor implements Runnable {
+
+        private final Path archivo;
+        private final Map<String, List<String>> planes = new HashMap<>();
+        private OutputStream salida;
+        private long tamano;
+
+        Escritor(Path archivo) {
+            this.archivo = archivo;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Entrada entrada = COLA.poll();
+                    if (entrada == null) {
+                        // Cola vacía: enviar lo escrito antes de esperar
+                        vaciar();
+                        entrada = COLA.take();
+                    }
+                    if (entrada == FIN) {
+                        break;
+                    }
+                    escribir(entrada);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cerrar();
+            }
+        }
+
+        private void escribir(Entrada entrada) {
+            byte[] texto = formatear(entrada).getBytes(StandardCharsets.UTF_8);
+            try {
+                if (salida == null) {
+                    abrir();
+                } else if (tamano + texto.length > Constantes.CONSULTAS_LENTAS_TAMANO_MAXIMO) {
+                    rotar();
+                }
+                salida.write(texto);
+                tamano += texto.length;
+            } catch (IOException e) {
+                System.err.println("[ERROR] No se pudo escribir el registro de consultas lentas:");
+                e.printStackTrace();
+                cerrar();
+            }
+        }
+
+        private String formatear(Entrada entrada) {
+            StringBuilder texto = new StringBuilder(512);
+            texto.append(FORMATO_FECHA.format(LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(entrada.fechaMs), ZoneId.systemDefault())));
+            texto.append(" [").append(entrada.hilo).append("] ");
+            texto.append(nombreDe(entrada.sql));
+            texto.append(String.format(Locale.ROOT, " %.3f ms, %d filas", entrada.nanos / 1e6, entrada.filas));
+            texto.append(System.lineSeparator());
+
+            texto.append("  parametros: ");
+            if (entrada.parametros.length == 0) {
+                texto.append("(ninguno)");
+            }
+            for (int i = 0; i < entrada.parametros.length; i++) {
+                if (i > 0) {
+                    texto.append(", ");
+                }
+                texto.append(formatearParametro(entrada.parametros[i]));
+            }
+            texto.append(System.lineSeparator());
+
+            texto.append("  sql: ").append(entrada.sql).append(System.lineSeparator());
+            texto.append("  plan:").append(System.lineSeparator());
+            for (String paso : obtenerPlan(entrada.sql)) {
+                texto.append("    ").append(paso).append(System.lineSeparator());
+            }
+            return texto.toString();
+        }
+
+        private List<String> obtenerPlan(String sql) {
+            List<String> plan = planes.get(sql);
+            if (plan != null) {
+                return plan;
+            }
+            Function<String, List<String>> proveedor = planificador;
+            if (proveedor == null) {
+                return Collections.singletonList("(no disponible)");
+            }
+            try {
+                plan = proveedor.apply(sql);
+            } catch (RuntimeException e) {
+                return Collections.singletonList("(no disponible: " + e.getMessage() + ")");
+            }
+            planes.put(sql, plan);
+            return plan;
+        }
+
+        private void abrir() throws IOException {
+            File destino = archivo.toFile();
+            File carpeta = destino.getAbsoluteFile().getParentFile();
+            if (carpeta != null) {
+                Files.createDirectories(carpeta.toPath());
+            }
+            // FileOutputStream y no un canal NIO: una interrupción no debe cerrar el archivo
+            salida = new FileOutputStream(destino, true);
+            tamano = destino.length();
+        }
+
+        /**
+         * Renombra archivo.N-1 a archivo.N, ..., archivo a archivo.1 y abre uno nuevo.
+         */
+        private void rotar() throws IOException {
+            cerrar();
+            int archivos = Constantes.CONSULTAS_LENTAS_ARCHIVOS;
+            Files.deleteIfExists(rotado(archivos));
+            for (int i = archivos - 1; i >= 1; i--) {
+                Path origen = rotado(i);
+                if (Files.exists(origen)) {
+                    Files.move(origen, rotado(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (Files.exists(archivo)) {
+                Files.move(archivo, rotado(1), StandardCopyOption.REPLACE_EXISTING);
+            }
+            abrir();
+        }
+
+        private Path rotado(int numero) {
+            return archivo.resolveSibling(archivo.getFileName() + "." + numero);
+        }
+
+        private void vaciar() {
+            if (salida != null) {
+                try {
+                    salida.flush();
+                } catch (IOException e) {
+                    System.err.println("[ERROR] No se pudo escribir el registro de consultas lentas:");
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        private void cerrar() {
+            if (salida != null) {
+                try {
+                    salida.close();
+                } catch (IOException e) {
+                    System.err.println("[ERROR] No se pudo cerrar el registro de consultas lentas:");
+                    e.printStackTrace();
+                }
+                salida = null;
+            }
+        }
+    }
+
+    /**
+     * Consulta lenta pendiente de escribir. Los parámetros se formatean en el
+     * hilo escritor; son valores inmutables (String, Integer).
+     */
+    private static final class Entrada {
+
+        final long fechaMs = System.currentTimeMillis();
+        final String hilo = Thread.currentThread().getName();
+        final String sql;
+        final long nanos;
+        final long filas;
+        final Object[] parametros;
+
+        Entrada(String sql, long nanos, long filas, Object[] parametros) {
+            this.sql = sql;
+            this.nanos = nanos;
+            this.filas = filas;
+            this.parametros = parametros;
+        }
+    }
+
+    // ==================== METODOS AUXILIARES ====================
+
+    private static String formatearParametro(Object valor) {
+        if (valor == null) {
+            return "NULL";
+        }
+        if (valor instanceof String) {
+            return "'" + enmascararEmails((String) valor) + "'";
+        }
+        return valor.toString();
+    }
+
+    /**
+     * Reemplaza la parte local de cada email, salvo su primer carácter, por
+     * "***": ana.perez@sena.edu.co queda a***@sena.edu.co.
+     *
+     * @param texto Valor de un parámetro
+     * @return Texto sin la parte local de los emails
+     */
+    static String enmascararEmails(String texto) {
+        int arroba = texto.indexOf('@');
+        if (arroba < 0) {
+            return texto;
+        }
+        StringBuilder resultado = new StringBuilder(texto.length());
+        int copiado = 0;
+        while (arroba >= 0) {
+            int inicio = arroba;
+            while (inicio > copiado && esParteLocal(texto.charAt(inicio - 1))) {
+                inicio--;
+            }
+            resultado.append(texto, copiado, inicio);
+            if (inicio < arroba) {
+                resultado.append(texto.charAt(inicio)).append("***");
+            }
+            resultado.append('@');
+            copiado = arroba + 1;
+            arroba = texto.indexOf('@', copiado);
+        }
+        return resultado.append(texto, copiado, texto.length()).toString();
+    }
+
+    private static boolean esParteLocal(char c) {
+        return !Character.isWhitespace(c) && c != '%' && c != '"' && c != '\'' && c != ',' && c != '<';
+    }
+
+    private static long leerUmbral() {
+        String valor = System.getProperty(Constantes.PROP_CONSULTAS_LENTAS_MS);
+        if (valor == null) {
+            return TimeUnit.MILLISECONDS.toNanos(Constantes.CONSULTAS_LENTAS_UMBRAL_MS);
+        }
+        try {
+            long ms = Long.parseLong(valor.trim());
+            return ms < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(ms);
+        } catch (NumberFormatException e) {
+            System.err.println("[ERROR] Umbral de consultas lentas no valido: " + valor + "; se usara "
+                    + Constantes.CONSULTAS_LENTAS_UMBRAL_MS + " ms.");
+            return TimeUnit.MILLISECONDS.toNanos(Constantes.CONSULTAS_LENTAS_UMBRAL_MS);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.sena.estudiantes.modelo;
+
+import java.util.Arrays;
+
+/**
+ * Número de estudiantes por carrera.
+ * Guarda las carreras y sus conteos en dos arreglos paralelos, ordenados
+ * por nombre de carrera, en lugar de un mapa con objetos por entrada.
+ * 
+ * @author SENA
+ * @version 1.0
+ */
+public final class ConteoCarreras {
+
+    private final String[] carreras;
+    private final int[] conteos;
+
+    /**
+     * @param carreras Nombres de carrera
+     * @param conteos  Número de estudiantes de cada carrera (misma posición)
+     */
+    public ConteoCarreras(String[] carreras, int[] conteos) {
+        this.carreras = carreras;
+        this.conteos = conteos;
+    }
+
+    /**
+     * @return Número de carreras distintas
+     */
+    public int tamano() {
+        return carreras.length;
+    }
+
+    public String getCarrera(int posicion) {
+        return carreras[posicion];
+    }
+
+    public int getConteo(int posicion) {
+        return conteos[posicion];
+    }
+
+    /**
+     * Número de estudiantes de una carrera.
+     * 
+     * @param carrera Nombre exacto de la carrera
+     * @return Conteo, o 0 si la carrera no tiene estudiantes
+     */
+    public int getConteo(String carrera) {
+        int posicion = Arrays.binarySearch(carreras, carrera);
+        return posicion >= 0 ? conteos[posicion] : 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < carreras.length; i++) {
+            sb.append(String.format("%-20s %8d%n", carreras[i], conteos[i]));
+        }
+        return sb.toString();
+    }
+}
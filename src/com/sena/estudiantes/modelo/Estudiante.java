@@ -1,14 +1,27 @@
 package com.sena.estudiantes.modelo;
 
+import java.util.Objects;
+
 /**
  * Clase que representa la entidad Estudiante.
  * Sigue el patrón POJO (Plain Old Java Object).
  * 
+ * Los setters de los datos registran qué campos cambiaron desde que el
+ * estudiante se leyó de la base de datos, para que
+ * EstudianteDAO.actualizarCambios escriba solo esos campos.
+ * 
  * @author SENA
  * @version 1.0
  */
 public class Estudiante {
 
+    // Campos modificables, como bits de getCamposModificados
+    public static final int CAMPO_NOMBRE = 1;
+    public static final int CAMPO_APELLIDO = 1 << 1;
+    public static final int CAMPO_EMAIL = 1 << 2;
+    public static final int CAMPO_CARRERA = 1 << 3;
+    public static final int CAMPO_SEMESTRE = 1 << 4;
+
     // Atributos privados (Encapsulamiento)
     private int id;
     private String nombre;
@@ -17,6 +30,12 @@ public class Estudiante {
     private String carrera;
     private int semestre;
 
+    // Versión de la fila al leerla (control de concurrencia optimista); 0 si no se conoce
+    private int version;
+
+    // Campos cambiados por los setters desde la lectura
+    private int camposModificados;
+
     /**
      * Constructor vacío.
      * Requerido para frameworks y JDBC.
@@ -62,6 +81,24 @@ public class Estudiante {
         this.semestre = semestre;
     }
 
+    /**
+     * Constructor completo con ID y versión.
+     * Usado para recuperar estudiantes de la base de datos.
+     * 
+     * @param id       Identificador único
+     * @param nombre   Nombre del estudiante
+     * @param apellido Apellido del estudiante
+     * @param email    Correo electrónico
+     * @param carrera  Carrera que cursa
+     * @param semestre Semestre actual
+     * @param version  Versión de la fila
+     */
+    public Estudiante(int id, String nombre, String apellido, String email, String carrera, int semestre,
+            int version) {
+        this(id, nombre, apellido, email, carrera, semestre);
+        this.version = version;
+    }
+
     // ==================== GETTERS Y SETTERS ====================
 
     public int getId() {
@@ -77,7 +114,10 @@ public class Estudiante {
     }
 
     public void setNombre(String nombre) {
-        this.nombre = nombre;
+        if (!Objects.equals(this.nombre, nombre)) {
+            this.nombre = nombre;
+            camposModificados |= CAMPO_NOMBRE;
+        }
     }
 
     public String getApellido() {
@@ -85,7 +125,10 @@ public class Estudiante {
     }
 
     public void setApellido(String apellido) {
-        this.apellido = apellido;
+        if (!Objects.equals(this.apellido, apellido)) {
+            this.apellido = apellido;
+            camposModificados |= CAMPO_APELLIDO;
+        }
     }
 
     public String getEmail() {
@@ -93,7 +136,10 @@ public class Estudiante {
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        if (!Objects.equals(this.email, email)) {
+            this.email = email;
+            camposModificados |= CAMPO_EMAIL;
+        }
     }
 
     public String getCarrera() {
@@ -101,7 +147,10 @@ public class Estudiante {
     }
 
     public void setCarrera(String carrera) {
-        this.carrera = carrera;
+        if (!Objects.equals(this.carrera, carrera)) {
+            this.carrera = carrera;
+            camposModificados |= CAMPO_CARRERA;
+        }
     }
 
     public int getSemestre() {
@@ -109,7 +158,41 @@ public class Estudiante {
     }
 
     public void setSemestre(int semestre) {
-        this.semestre = semestre;
+        if (this.semestre != semestre) {
+            this.semestre = semestre;
+            camposModificados |= CAMPO_SEMESTRE;
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    // ==================== CAMBIOS PENDIENTES ====================
+
+    /**
+     * @return Combinación de CAMPO_* con los campos cambiados desde la lectura
+     */
+    public int getCamposModificados() {
+        return camposModificados;
+    }
+
+    /**
+     * @return true si algún setter cambió un valor desde la lectura
+     */
+    public boolean tieneCambios() {
+        return camposModificados != 0;
+    }
+
+    /**
+     * Marca todos los campos como guardados. El DAO lo llama tras escribirlos.
+     */
+    public void limpiarCambios() {
+        camposModificados = 0;
     }
 
     /**
@@ -121,7 +204,7 @@ public class Estudiante {
     @Override
     public String toString() {
         return String.format(
-                "| %-3d | %-12s | %-12s | %-20s | %-15s | %-4d |",
+                "| %-7d | %-12s | %-12s | %-20s | %-15s | %-4d |",
                 id, nombre, apellido, email, carrera, semestre);
     }
 
@@ -0,0 +1,153 @@
+package com.sena.estudiantes.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Representación inmutable y compacta de un estudiante, para tener en
+ * memoria tablas grandes.
+ *
+ * Nombre, apellido y email se guardan como arreglos de bytes UTF-8 (los
+ * mismos bytes que SQLite almacena), sin el objeto String que los envuelve,
+ * el semestre como byte y la carrera como instancia canónica de
+ * TablaCarreras. Los getters de texto crean el String en cada llamada, así
+ * que conviene usar EstudianteInmutable cuando los textos se leen a menudo.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class EstudianteCompacto {
+
+    private final int id;
+    private final byte[] nombre;
+    private final byte[] apellido;
+    private final byte[] email;
+    private final String carrera;
+    private final byte semestre;
+    private final int version;
+
+    /**
+     * Constructor a partir de los bytes UTF-8 de cada texto. Los arreglos no
+     * se copian: quien los entrega no debe modificarlos después.
+     *
+     * @param id       Identificador único
+     * @param nombre   Nombre en UTF-8
+     * @param apellido Apellido en UTF-8
+     * @param email    Correo electrónico en UTF-8
+     * @param carrera  Carrera que cursa (se reemplaza por su instancia canónica)
+     * @param semestre Semestre actual (1 a 10)
+     * @param version  Versión de la fila
+     */
+    public EstudianteCompacto(int id, byte[] nombre, byte[] apellido, byte[] email, String carrera, int semestre,
+            int version) {
+        if (semestre < Byte.MIN_VALUE || semestre > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Semestre fuera de rango: " + semestre);
+        }
+        this.id = id;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.email = email;
+        this.carrera = TablaCarreras.compartida().canonica(carrera);
+        this.semestre = (byte) semestre;
+        this.version = version;
+    }
+
+    /**
+     * Copia compacta de un estudiante.
+     *
+     * @param estudiante Estudiante a copiar
+     * @return Copia con los textos en UTF-8 y la carrera canónica
+     */
+    public static EstudianteCompacto desde(Estudiante estudiante) {
+        return new EstudianteCompacto(estudiante.getId(), codificar(estudiante.getNombre()),
+                codificar(estudiante.getApellido()), codificar(estudiante.getEmail()), estudiante.getCarrera(),
+                estudiante.getSemestre(), estudiante.getVersion());
+    }
+
+    /**
+     * @return Copia inmutable con los textos decodificados
+     */
+    public EstudianteInmutable aInmutable() {
+        return new EstudianteInmutable(id, getNombre(), getApellido(), getEmail(), carrera, semestre, version);
+    }
+
+    /**
+     * @return Estudiante mutable con los mismos datos y versión, sin cambios marcados
+     */
+    public Estudiante aEstudiante() {
+        return new Estudiante(id, getNombre(), getApellido(), getEmail(), carrera, semestre, version);
+    }
+
+    // ==================== GETTERS ====================
+
+    public int getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return decodificar(nombre);
+    }
+
+    public String getApellido() {
+        return decodificar(apellido);
+    }
+
+    public String getEmail() {
+        return decodificar(email);
+    }
+
+    public String getCarrera() {
+        return carrera;
+    }
+
+    public int getSemestre() {
+        return semestre;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        if (this == otro) {
+            return true;
+        }
+        if (!(otro instanceof EstudianteCompacto)) {
+            return false;
+        }
+        EstudianteCompacto e = (EstudianteCompacto) otro;
+        return id == e.id && semestre == e.semestre && version == e.version && Arrays.equals(nombre, e.nombre)
+                && Arrays.equals(apellido, e.apellido) && Arrays.equals(email, e.email)
+                && Objects.equals(carrera, e.carrera);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Objects.hash(id, carrera, semestre, version);
+        hash = 31 * hash + Arrays.hashCode(nombre);
+        hash = 31 * hash + Arrays.hashCode(apellido);
+        return 31 * hash + Arrays.hashCode(email);
+    }
+
+    /**
+     * Fila de tabla con el mismo formato que Estudiante.toString().
+     */
+    @Override
+    public String toString() {
+        return String.format(
+                "| %-7d | %-12s | %-12s | %-20s | %-15s | %-4d |",
+                id, getNombre(), getApellido(), getEmail(), carrera, semestre);
+    }
+
+    // ==================== CODIFICACIÓN ====================
+
+    private static byte[] codificar(String texto) {
+        return texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String decodificar(byte[] bytes) {
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+}
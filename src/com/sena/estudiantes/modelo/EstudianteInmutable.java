@@ -0,0 +1,130 @@
+package com.sena.estudiantes.modelo;
+
+import java.util.Objects;
+
+/**
+ * Variante inmutable de Estudiante, al estilo de un record: todos los
+ * campos son finales, se comparan en equals y hashCode, y la carrera es la
+ * instancia canónica de TablaCarreras.
+ *
+ * Sirve para listados y reportes de solo lectura, que se pueden compartir
+ * entre hilos sin copiarlos. Para editar un estudiante se usa
+ * aEstudiante(), que devuelve un Estudiante mutable con la misma versión.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class EstudianteInmutable {
+
+    private final int id;
+    private final String nombre;
+    private final String apellido;
+    private final String email;
+    private final String carrera;
+    private final int semestre;
+    private final int version;
+
+    /**
+     * @param id       Identificador único
+     * @param nombre   Nombre del estudiante
+     * @param apellido Apellido del estudiante
+     * @param email    Correo electrónico
+     * @param carrera  Carrera que cursa (se reemplaza por su instancia canónica)
+     * @param semestre Semestre actual
+     * @param version  Versión de la fila
+     */
+    public EstudianteInmutable(int id, String nombre, String apellido, String email, String carrera, int semestre,
+            int version) {
+        this.id = id;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.email = email;
+        this.carrera = TablaCarreras.compartida().canonica(carrera);
+        this.semestre = semestre;
+        this.version = version;
+    }
+
+    /**
+     * Copia inmutable de un estudiante.
+     *
+     * @param estudiante Estudiante a copiar
+     * @return Copia con la carrera canónica
+     */
+    public static EstudianteInmutable desde(Estudiante estudiante) {
+        return new EstudianteInmutable(estudiante.getId(), estudiante.getNombre(), estudiante.getApellido(),
+                estudiante.getEmail(), estudiante.getCarrera(), estudiante.getSemestre(), estudiante.getVersion());
+    }
+
+    /**
+     * @return Estudiante mutable con los mismos datos y versión, sin cambios marcados
+     */
+    public Estudiante aEstudiante() {
+        return new Estudiante(id, nombre, apellido, email, carrera, semestre, version);
+    }
+
+    // ==================== GETTERS ====================
+
+    public int getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getApellido() {
+        return apellido;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getCarrera() {
+        return carrera;
+    }
+
+    public int getSemestre() {
+        return semestre;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Nombre y apellido concatenados
+     */
+    public String getNombreCompleto() {
+        return nombre + " " + apellido;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        if (this == otro) {
+            return true;
+        }
+        if (!(otro instanceof EstudianteInmutable)) {
+            return false;
+        }
+        EstudianteInmutable e = (EstudianteInmutable) otro;
+        return id == e.id && semestre == e.semestre && version == e.version && Objects.equals(nombre, e.nombre)
+                && Objects.equals(apellido, e.apellido) && Objects.equals(email, e.email)
+                && Objects.equals(carrera, e.carrera);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nombre, apellido, email, carrera, semestre, version);
+    }
+
+    /**
+     * Fila de tabla con el mismo formato que Estudiante.toString().
+     */
+    @Override
+    public String toString() {
+        return String.format(
+                "| %-7d | %-12s | %-12s | %-20s | %-15s | %-4d |",
+                id, nombre, apellido, email, carrera, semestre);
+    }
+}
@@ -0,0 +1,71 @@
+package com.sena.estudiantes.modelo;
+
+/**
+ * Evento del registro de cambios: una inserción, actualización o
+ * eliminación confirmada de un estudiante.
+ *
+ * La secuencia es creciente y no se reutiliza; un consumidor que guarda la
+ * última secuencia procesada puede reanudar desde ella. La imagen anterior
+ * es null en las inserciones y la posterior en las eliminaciones.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class EventoCambio {
+
+    private final long secuencia;
+    private final TipoCambio tipo;
+    private final int idEstudiante;
+    private final EstudianteInmutable antes;
+    private final EstudianteInmutable despues;
+    private final long momento;
+
+    /**
+     * @param secuencia    Posición del evento en el registro
+     * @param tipo         Operación que lo originó
+     * @param idEstudiante ID del estudiante afectado
+     * @param antes        Datos antes del cambio, o null en una inserción
+     * @param despues      Datos después del cambio, o null en una eliminación
+     * @param momento      Momento del cambio (milisegundos desde 1970, UTC)
+     */
+    public EventoCambio(long secuencia, TipoCambio tipo, int idEstudiante, EstudianteInmutable antes,
+            EstudianteInmutable despues, long momento) {
+        this.secuencia = secuencia;
+        this.tipo = tipo;
+        this.idEstudiante = idEstudiante;
+        this.antes = antes;
+        this.despues = despues;
+        this.momento = momento;
+    }
+
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public TipoCambio getTipo() {
+        return tipo;
+    }
+
+    public int getIdEstudiante() {
+        return idEstudiante;
+    }
+
+    public EstudianteInmutable getAntes() {
+        return antes;
+    }
+
+    public EstudianteInmutable getDespues() {
+        return despues;
+    }
+
+    public long getMomento() {
+        return momento;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + secuencia + " " + tipo + " " + idEstudiante
+                + (antes != null ? " antes=[" + antes + "]" : "")
+                + (despues != null ? " despues=[" + despues + "]" : "");
+    }
+}
@@ -0,0 +1,88 @@
+package com.sena.estudiantes.modelo;
+
+import java.util.Arrays;
+
+/**
+ * Matriz de conteos de estudiantes por carrera y semestre.
+ * Las filas son las carreras (ordenadas por nombre) y las columnas los
+ * semestres 1 a 10, guardados en un único arreglo int[].
+ * 
+ * @author SENA
+ * @version 1.0
+ */
+public final class MatrizCarreraSemestre {
+
+    /** Columnas por fila: posición 0 sin uso y semestres 1 a 10 */
+    private static final int COLUMNAS = 11;
+
+    private final String[] carreras;
+    private final int[] conteos;
+
+    /**
+     * @param carreras Nombres de carrera, ordenados
+     */
+    public MatrizCarreraSemestre(String[] carreras) {
+        this.carreras = carreras;
+        this.conteos = new int[carreras.length * COLUMNAS];
+    }
+
+    /**
+     * Asigna el conteo de una celda. Usado al construir la matriz.
+     * 
+     * @param carrera  Nombre de la carrera (debe estar en la matriz)
+     * @param semestre Semestre 1 a 10
+     * @param conteo   Número de estudiantes
+     */
+    public void asignar(String carrera, int semestre, int conteo) {
+        conteos[Arrays.binarySearch(carreras, carrera) * COLUMNAS + semestre] = conteo;
+    }
+
+    /**
+     * @return Número de carreras (filas)
+     */
+    public int getNumeroCarreras() {
+        return carreras.length;
+    }
+
+    public String getCarrera(int fila) {
+        return carreras[fila];
+    }
+
+    /**
+     * @param fila     Posición de la carrera
+     * @param semestre Semestre 1 a 10
+     * @return Número de estudiantes de la celda
+     */
+    public int getConteo(int fila, int semestre) {
+        return conteos[fila * COLUMNAS + semestre];
+    }
+
+    /**
+     * @param fila Posición de la carrera
+     * @return Total de estudiantes de la carrera
+     */
+    public int getTotalCarrera(int fila) {
+        int total = 0;
+        for (int semestre = 1; semestre < COLUMNAS; semestre++) {
+            total += conteos[fila * COLUMNAS + semestre];
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("%-20s", "CARRERA"));
+        for (int semestre = 1; semestre < COLUMNAS; semestre++) {
+            sb.append(String.format(" %5d", semestre));
+        }
+        sb.append(System.lineSeparator());
+        for (int fila = 0; fila < carreras.length; fila++) {
+            sb.append(String.format("%-20s", carreras[fila]));
+            for (int semestre = 1; semestre < COLUMNAS; semestre++) {
+                sb.append(String.format(" %5d", getConteo(fila, semestre)));
+            }
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
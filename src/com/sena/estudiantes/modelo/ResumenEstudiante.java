@@ -0,0 +1,51 @@
+package com.sena.estudiantes.modelo;
+
+/**
+ * Proyección de un estudiante con solo su ID, nombre y apellido, para
+ * listas de selección y resultados de búsqueda que no necesitan el resto
+ * de los datos.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class ResumenEstudiante {
+
+    private final int id;
+    private final String nombre;
+    private final String apellido;
+
+    /**
+     * @param id       Identificador único
+     * @param nombre   Nombre del estudiante
+     * @param apellido Apellido del estudiante
+     */
+    public ResumenEstudiante(int id, String nombre, String apellido) {
+        this.id = id;
+        this.nombre = nombre;
+        this.apellido = apellido;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getApellido() {
+        return apellido;
+    }
+
+    /**
+     * @return Nombre y apellido concatenados
+     */
+    public String getNombreCompleto() {
+        return nombre + " " + apellido;
+    }
+
+    @Override
+    public String toString() {
+        return id + " - " + getNombreCompleto();
+    }
+}
@@ -0,0 +1,74 @@
+package com.sena.estudiantes.modelo;
+
+import com.sena.estudiantes.util.Constantes;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabla de carreras canónicas.
+ *
+ * Cada fila leída de la base de datos trae su carrera como un String nuevo,
+ * aunque solo existan unas pocas carreras distintas. canonica devuelve
+ * siempre la misma instancia para el mismo texto, de modo que un millón de
+ * estudiantes comparten unas decenas de cadenas en lugar de un millón.
+ *
+ * Las carreras no se eliminan de la tabla. Como la carrera es texto libre,
+ * la tabla guarda como mucho Constantes.CARRERAS_CANONICAS_MAXIMO textos:
+ * una vez llena, canonica devuelve el texto recibido sin guardarlo, así que
+ * las carreras ya registradas se siguen compartiendo y las demás solo
+ * ocupan memoria mientras alguna fila las use.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class TablaCarreras {
+
+    /** Tabla usada por el DAO al mapear estudiantes inmutables y compactos */
+    private static final TablaCarreras COMPARTIDA = new TablaCarreras(Constantes.CARRERAS_CANONICAS_MAXIMO);
+
+    private final ConcurrentHashMap<String, String> canonicas = new ConcurrentHashMap<>();
+    private final int maximo;
+
+    /**
+     * @param maximo Carreras distintas que se guardan como mucho
+     */
+    TablaCarreras(int maximo) {
+        this.maximo = maximo;
+    }
+
+    /**
+     * @return Tabla compartida por toda la aplicación
+     */
+    public static TablaCarreras compartida() {
+        return COMPARTIDA;
+    }
+
+    /**
+     * Devuelve la instancia canónica de una carrera.
+     *
+     * @param carrera Texto de la carrera (puede ser null)
+     * @return Instancia igual a carrera compartida por todas las llamadas, o
+     *         carrera misma si es nueva y la tabla está llena
+     */
+    public String canonica(String carrera) {
+        if (carrera == null) {
+            return null;
+        }
+        String existente = canonicas.get(carrera);
+        if (existente != null) {
+            return existente;
+        }
+        // El límite es aproximado: varios hilos pueden agregar a la vez la última carrera
+        if (canonicas.size() >= maximo) {
+            return carrera;
+        }
+        existente = canonicas.putIfAbsent(carrera, carrera);
+        return existente != null ? existente : carrera;
+    }
+
+    /**
+     * @return Número de carreras distintas registradas
+     */
+    public int tamano() {
+        return canonicas.size();
+    }
+}
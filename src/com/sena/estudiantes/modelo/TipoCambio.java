@@ -0,0 +1,46 @@
+package com.sena.estudiantes.modelo;
+
+/**
+ * Operación que originó un evento del registro de cambios.
+ * El código es el valor de la columna operacion de estudiantes_cambios.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public enum TipoCambio {
+
+    INSERTAR('I'),
+    ACTUALIZAR('U'),
+    ELIMINAR('D');
+
+    private final char codigo;
+
+    TipoCambio(char codigo) {
+        this.codigo = codigo;
+    }
+
+    /**
+     * @return Código de la operación en el registro
+     */
+    public char getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * @param codigo Código de la columna operacion
+     * @return Tipo correspondiente
+     * @throws IllegalArgumentException Si el código no es I, U ni D
+     */
+    public static TipoCambio desdeCodigo(char codigo) {
+        switch (codigo) {
+            case 'I':
+                return INSERTAR;
+            case 'U':
+                return ACTUALIZAR;
+            case 'D':
+                return ELIMINAR;
+            default:
+                throw new IllegalArgumentException("Codigo de operacion desconocido: " + codigo);
+        }
+    }
+}
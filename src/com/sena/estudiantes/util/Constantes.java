@@ -17,9 +17,178 @@ public final class Constantes {
     /** URL de conexion JDBC para SQLite */
     public static final String DB_URL = "jdbc:sqlite:database/" + NOMBRE_BD;
 
+    /** Propiedad del sistema que permite usar otra base de datos (pruebas, benchmarks) */
+    public static final String PROP_DB_URL = "estudiantes.db.url";
+
+    /** Propiedad del sistema con el perfil de rendimiento de SQLite (DURABLE, BALANCEADO, CARGA_MASIVA) */
+    public static final String PROP_PERFIL = "estudiantes.db.perfil";
+
+    /** Propiedad del sistema que hace fallar el arranque si una consulta frecuente recorre toda la tabla */
+    public static final String PROP_PLANES_ESTRICTO = "estudiantes.planes.estricto";
+
+    /** Propiedad del sistema que desactiva las metricas del DAO (-Destudiantes.metricas=false) */
+    public static final String PROP_METRICAS = "estudiantes.metricas";
+
+    /** Propiedad del sistema con el motor de almacenamiento de la aplicacion: sqlite (por defecto) o memoria */
+    public static final String PROP_ALMACENAMIENTO = "estudiantes.almacenamiento";
+
+    /** Dominio JMX bajo el que se registran los MBeans de metricas */
+    public static final String JMX_DOMINIO = "com.sena.estudiantes";
+
     /** Driver JDBC de SQLite */
     public static final String DRIVER_JDBC = "org.sqlite.JDBC";
 
+    // ==================== CONFIGURACION DEL POOL DE CONEXIONES ====================
+
+    /** Numero de conexiones de solo lectura del pool (una por nucleo, minimo 2) */
+    public static final int POOL_LECTORES = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /** Tiempo maximo de espera para obtener una conexion del pool (milisegundos) */
+    public static final long POOL_TIMEOUT_MS = 5000;
+
+    /** Tiempo maximo para validar una conexion antes de prestarla (segundos) */
+    public static final int POOL_VALIDACION_TIMEOUT_S = 2;
+
+    /** Operaciones simultaneas de EstudianteDAOAsync (lectores mas el escritor del pool) */
+    public static final int ASYNC_MAX_CONCURRENCIA = POOL_LECTORES + 1;
+
+    /** Tiempo limite de cada operacion asincrona, incluida la espera en cola (milisegundos) */
+    public static final long ASYNC_TIMEOUT_MS = 10_000;
+
+    /** Maximo de operaciones que la cola de escritura confirma en una sola transaccion */
+    public static final int COLA_MAX_OPERACIONES = 500;
+
+    /** Tiempo maximo que la cola de escritura espera para completar un grupo (milisegundos) */
+    public static final long COLA_ESPERA_MS = 5;
+
+    /** Operaciones pendientes como maximo en la cola de escritura; al llenarse los llamadores esperan */
+    public static final int COLA_CAPACIDAD = 10_000;
+
+    /** Filas por transaccion en las inserciones por lotes */
+    public static final int TAMANO_LOTE = 1000;
+
+    /** Filas que el driver trae por cada viaje al recorrer resultados grandes */
+    public static final int TAMANO_FETCH = 500;
+
+    // ==================== CONFIGURACION DE IMPORTACION ====================
+
+    /** Lineas del CSV por bloque; cada bloque se valida en paralelo y se confirma en una transaccion */
+    public static final int IMPORTACION_TAMANO_BLOQUE = 5000;
+
+    /** Hilos que interpretan y validan bloques del CSV */
+    public static final int IMPORTACION_HILOS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    /** Bloques leidos pendientes de escribir; al llenarse, la lectura del archivo espera */
+    public static final int IMPORTACION_BLOQUES_EN_VUELO = IMPORTACION_HILOS * 2;
+
+    /** Tamano del buffer de lectura del archivo (bytes) */
+    public static final int IMPORTACION_BUFFER = 1 << 16;
+
+    /** Extension del archivo de punto de control que permite reanudar una importacion */
+    public static final String EXTENSION_PUNTO_CONTROL = ".checkpoint";
+
+    // ==================== CONFIGURACION DE EXPORTACION ====================
+
+    /** Tamano del buffer de caracteres y del buffer de salida al exportar */
+    public static final int EXPORTACION_BUFFER = 1 << 16;
+
+    // ==================== CONFIGURACION DEL REGISTRO DE CONSULTAS LENTAS ====================
+
+    /** Propiedad del sistema con el umbral en milisegundos; un valor negativo desactiva el registro */
+    public static final String PROP_CONSULTAS_LENTAS_MS = "estudiantes.consultas.lentas.ms";
+
+    /** Propiedad del sistema con la ruta del archivo de consultas lentas */
+    public static final String PROP_CONSULTAS_LENTAS_ARCHIVO = "estudiantes.consultas.lentas.archivo";
+
+    /** Umbral por defecto: sentencias que tardan al menos esto se registran */
+    public static final long CONSULTAS_LENTAS_UMBRAL_MS = 100;
+
+    /** Archivo por defecto del registro de consultas lentas */
+    public static final String CONSULTAS_LENTAS_ARCHIVO = "logs/consultas-lentas.log";
+
+    /** Tamano a partir del cual se rota el archivo */
+    public static final long CONSULTAS_LENTAS_TAMANO_MAXIMO = 5L * 1024 * 1024;
+
+    /** Archivos rotados que se conservan (.1 es el mas reciente) */
+    public static final int CONSULTAS_LENTAS_ARCHIVOS = 5;
+
+    /** Entradas pendientes de escribir; si la cola se llena las nuevas se descartan */
+    public static final int CONSULTAS_LENTAS_COLA = 1024;
+
+    // ==================== CONFIGURACION DEL REGISTRO DE CAMBIOS ====================
+
+    /**
+     * Propiedad del sistema que activa o desactiva el registro de cambios.
+     * Los triggers se guardan en el archivo de la base de datos y valen para
+     * todos los procesos que la usan: -Destudiantes.cambios=true los crea y
+     * -Destudiantes.cambios=false los quita (los eventos ya registrados se
+     * conservan). Sin la propiedad no se tocan, así que una base nueva no
+     * anota cambios y una activada sigue anotándolos.
+     */
+    public static final String PROP_CAMBIOS = "estudiantes.cambios";
+
+    /** Eventos que guarda el anillo en memoria de FlujoCambios (potencia de 2) */
+    public static final int CAMBIOS_CAPACIDAD_ANILLO = 4096;
+
+    /** Eventos leidos del registro por consulta */
+    public static final int CAMBIOS_LOTE_LECTURA = 500;
+
+    /** Intervalo maximo entre lecturas del registro aunque el DAO no avise (milisegundos) */
+    public static final long CAMBIOS_INTERVALO_MS = 200;
+
+    // ==================== CONFIGURACION DEL ALMACENAMIENTO EN MEMORIA ====================
+
+    /** Propiedad del sistema con el archivo de instantanea del motor en memoria */
+    public static final String PROP_MEMORIA_ARCHIVO = "estudiantes.memoria.archivo";
+
+    /** Archivo de instantanea por defecto del motor en memoria */
+    public static final String MEMORIA_ARCHIVO = "database/estudiantes.mem";
+
+    /** Estudiantes previstos al crear el motor en memoria (la tabla crece sola) */
+    public static final int MEMORIA_CAPACIDAD_INICIAL = 1024;
+
+    /** Tamano del buffer de lectura del registro de escritura (bytes) */
+    public static final int MEMORIA_BUFFER = 1 << 16;
+
+    /** Propiedad del sistema que desactiva el registro de escritura del motor en memoria (false) */
+    public static final String PROP_MEMORIA_REGISTRO = "estudiantes.memoria.registro";
+
+    /** Propiedad del sistema con los cambios que se acumulan antes de sincronizar el registro con el disco */
+    public static final String PROP_MEMORIA_SYNC_REGISTROS = "estudiantes.memoria.sync.registros";
+
+    /** Cambios por sincronizacion del registro; 1 = cada cambio es durable al confirmarse, 0 = solo por tiempo */
+    public static final int MEMORIA_SYNC_REGISTROS = 1;
+
+    /** Propiedad del sistema con el intervalo de sincronizacion de los cambios pendientes (ms) */
+    public static final String PROP_MEMORIA_SYNC_MS = "estudiantes.memoria.sync.ms";
+
+    /** Tiempo maximo que un cambio confirmado espera a sincronizarse cuando se sincroniza por lotes (ms) */
+    public static final long MEMORIA_SYNC_MS = 100;
+
+    /** Propiedad del sistema con el tamano del registro que provoca una instantanea compactada (bytes) */
+    public static final String PROP_MEMORIA_COMPACTAR_BYTES = "estudiantes.memoria.compactar.bytes";
+
+    /** Tamano del registro a partir del cual se escribe una instantanea y se vacia el registro (bytes) */
+    public static final long MEMORIA_COMPACTAR_BYTES = 64L << 20;
+
+    /**
+     * Carreras distintas que guarda TablaCarreras. La carrera es texto libre:
+     * pasado este límite los textos nuevos no se comparten, para que erratas
+     * o importaciones con valores arbitrarios no llenen el heap.
+     */
+    public static final int CARRERAS_CANONICAS_MAXIMO = 1024;
+
+    // ==================== CONFIGURACION DE CACHE ====================
+
+    /** Activa la cache de lectura de estudiantes por ID */
+    public static final boolean CACHE_HABILITADA = true;
+
+    /** Numero maximo de estudiantes en la cache */
+    public static final int CACHE_TAMANO_MAXIMO = 1000;
+
+    /** Tiempo de vida de cada entrada de la cache (milisegundos) */
+    public static final long CACHE_TTL_MS = 60_000;
+
     // ==================== CONSULTAS SQL ====================
 
     /** SQL para crear la tabla de estudiantes */
@@ -29,23 +198,181 @@ public final class Constantes {
             "apellido VARCHAR(50) NOT NULL, " +
             "email VARCHAR(100) UNIQUE NOT NULL, " +
             "carrera VARCHAR(100) NOT NULL, " +
-            "semestre INTEGER NOT NULL CHECK(semestre >= 1 AND semestre <= 10)" +
+            "semestre INTEGER NOT NULL CHECK(semestre >= 1 AND semestre <= 10), " +
+            "version INTEGER NOT NULL DEFAULT 1" +
             ")";
 
+    /** SQL para saber si la tabla ya tiene la columna version (bases creadas antes de agregarla) */
+    public static final String SQL_EXISTE_COLUMNA_VERSION = "SELECT 1 FROM pragma_table_info('estudiantes') WHERE name = 'version'";
+
+    /** SQL para agregar la columna version a una tabla existente */
+    public static final String SQL_AGREGAR_COLUMNA_VERSION = "ALTER TABLE estudiantes ADD COLUMN version INTEGER NOT NULL DEFAULT 1";
+
+    /**
+     * Indices secundarios del esquema. Se crean en cada arranque (IF NOT EXISTS),
+     * por lo que tambien se agregan a bases de datos existentes.
+     * (carrera, semestre) sirve a filtros y agrupaciones de reportes y
+     * (apellido, nombre) a ordenamientos y busquedas por apellido.
+     */
+    public static final String[] SQL_CREAR_INDICES = {
+            "CREATE INDEX IF NOT EXISTS idx_estudiantes_carrera_semestre ON estudiantes (carrera, semestre)",
+            "CREATE INDEX IF NOT EXISTS idx_estudiantes_apellido_nombre ON estudiantes (apellido, nombre)",
+            "CREATE INDEX IF NOT EXISTS idx_estudiantes_semestre ON estudiantes (semestre)"
+    };
+
+    /**
+     * SQL para crear el indice de texto completo (FTS5) sobre nombre y apellido.
+     * Usa la tabla estudiantes como contenido externo y el tokenizador unicode61
+     * sin diacriticos, de modo que "Munoz" encuentra "Muñoz" y "pena" encuentra "Peña".
+     */
+    public static final String SQL_CREAR_INDICE_TEXTO = "CREATE VIRTUAL TABLE IF NOT EXISTS estudiantes_fts USING fts5(" +
+            "nombre, apellido, content='estudiantes', content_rowid='id', " +
+            "tokenize='unicode61 remove_diacritics 2')";
+
+    /** Triggers que mantienen el indice de texto sincronizado con la tabla */
+    public static final String[] SQL_TRIGGERS_INDICE_TEXTO = {
+            "CREATE TRIGGER IF NOT EXISTS estudiantes_fts_ai AFTER INSERT ON estudiantes BEGIN " +
+                    "INSERT INTO estudiantes_fts(rowid, nombre, apellido) VALUES (new.id, new.nombre, new.apellido); END",
+            "CREATE TRIGGER IF NOT EXISTS estudiantes_fts_ad AFTER DELETE ON estudiantes BEGIN " +
+                    "INSERT INTO estudiantes_fts(estudiantes_fts, rowid, nombre, apellido) " +
+                    "VALUES ('delete', old.id, old.nombre, old.apellido); END",
+            "CREATE TRIGGER IF NOT EXISTS estudiantes_fts_au AFTER UPDATE OF nombre, apellido ON estudiantes BEGIN " +
+                    "INSERT INTO estudiantes_fts(estudiantes_fts, rowid, nombre, apellido) " +
+                    "VALUES ('delete', old.id, old.nombre, old.apellido); " +
+                    "INSERT INTO estudiantes_fts(rowid, nombre, apellido) VALUES (new.id, new.nombre, new.apellido); END"
+    };
+
+    /** SQL para reconstruir el indice de texto a partir de la tabla */
+    public static final String SQL_RECONSTRUIR_INDICE_TEXTO = "INSERT INTO estudiantes_fts(estudiantes_fts) VALUES ('rebuild')";
+
+    /** SQL para comprobar si el indice de texto ya existe */
+    public static final String SQL_EXISTE_INDICE_TEXTO = "SELECT 1 FROM sqlite_master WHERE name = 'estudiantes_fts'";
+
+    /**
+     * SQL para crear el registro de cambios: una fila por cada INSERT, UPDATE
+     * o DELETE confirmado sobre estudiantes, con la imagen anterior y la
+     * posterior. AUTOINCREMENT garantiza que una secuencia no se reutiliza
+     * aunque se purguen los eventos antiguos.
+     */
+    public static final String SQL_CREAR_TABLA_CAMBIOS = "CREATE TABLE IF NOT EXISTS estudiantes_cambios (" +
+            "secuencia INTEGER PRIMARY KEY AUTOINCREMENT, " +
+            "operacion CHAR(1) NOT NULL CHECK(operacion IN ('I', 'U', 'D')), " +
+            "estudiante_id INTEGER NOT NULL, " +
+            "antes_nombre VARCHAR(50), antes_apellido VARCHAR(50), antes_email VARCHAR(100), " +
+            "antes_carrera VARCHAR(100), antes_semestre INTEGER, antes_version INTEGER, " +
+            "despues_nombre VARCHAR(50), despues_apellido VARCHAR(50), despues_email VARCHAR(100), " +
+            "despues_carrera VARCHAR(100), despues_semestre INTEGER, despues_version INTEGER, " +
+            "momento INTEGER NOT NULL DEFAULT (CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER))" +
+            ")";
+
+    /**
+     * Triggers que anotan cada cambio en el registro dentro de la misma
+     * transacción que lo produce; también cubren lotes, la cola de escritura
+     * y la importación.
+     */
+    public static final String[] SQL_TRIGGERS_CAMBIOS = {
+            "CREATE TRIGGER IF NOT EXISTS estudiantes_cambios_ai AFTER INSERT ON estudiantes BEGIN " +
+                    "INSERT INTO estudiantes_cambios (operacion, estudiante_id, despues_nombre, despues_apellido, " +
+                    "despues_email, despues_carrera, despues_semestre, despues_version) " +
+                    "VALUES ('I', new.id, new.nombre, new.apellido, new.email, new.carrera, new.semestre, new.version); END",
+            "CREATE TRIGGER IF NOT EXISTS estudiantes_cambios_au AFTER UPDATE ON estudiantes BEGIN " +
+                    "INSERT INTO estudiantes_cambios (operacion, estudiante_id, antes_nombre, antes_apellido, " +
+                    "antes_email, antes_carrera, antes_semestre, antes_version, despues_nombre, despues_apellido, " +
+                    "despues_email, despues_carrera, despues_semestre, despues_version) " +
+                    "VALUES ('U', new.id, old.nombre, old.apellido, old.email, old.carrera, old.semestre, old.version, " +
+                    "new.nombre, new.apellido, new.email, new.carrera, new.semestre, new.version); END",
+            "CREATE TRIGGER IF NOT EXISTS estudiantes_cambios_ad AFTER DELETE ON estudiantes BEGIN " +
+                    "INSERT INTO estudiantes_cambios (operacion, estudiante_id, antes_nombre, antes_apellido, " +
+                    "antes_email, antes_carrera, antes_semestre, antes_version) " +
+                    "VALUES ('D', old.id, old.nombre, old.apellido, old.email, old.carrera, old.semestre, old.version); END"
+    };
+
+    /** SQL para quitar los triggers del registro de cambios */
+    /** SQL para saber si los triggers del registro de cambios existen */
+    public static final String SQL_EXISTEN_TRIGGERS_CAMBIOS =
+            "SELECT 1 FROM sqlite_master WHERE type = 'trigger' AND name = 'estudiantes_cambios_ai'";
+
+    public static final String[] SQL_ELIMINAR_TRIGGERS_CAMBIOS = {
+            "DROP TRIGGER IF EXISTS estudiantes_cambios_ai",
+            "DROP TRIGGER IF EXISTS estudiantes_cambios_au",
+            "DROP TRIGGER IF EXISTS estudiantes_cambios_ad"
+    };
+
+    /** SQL para leer los eventos posteriores a una secuencia, en orden */
+    public static final String SQL_OBTENER_CAMBIOS = "SELECT secuencia, operacion, estudiante_id, " +
+            "antes_nombre, antes_apellido, antes_email, antes_carrera, antes_semestre, antes_version, " +
+            "despues_nombre, despues_apellido, despues_email, despues_carrera, despues_semestre, despues_version, " +
+            "momento FROM estudiantes_cambios WHERE secuencia > ? ORDER BY secuencia LIMIT ?";
+
+    /** SQL para obtener la secuencia del último evento registrado */
+    public static final String SQL_ULTIMA_SECUENCIA_CAMBIOS = "SELECT COALESCE(MAX(secuencia), 0) FROM estudiantes_cambios";
+
+    /** SQL para purgar los eventos hasta una secuencia */
+    public static final String SQL_PURGAR_CAMBIOS = "DELETE FROM estudiantes_cambios WHERE secuencia <= ?";
+
     /** SQL para insertar un estudiante */
     public static final String SQL_INSERTAR = "INSERT INTO estudiantes (nombre, apellido, email, carrera, semestre) VALUES (?, ?, ?, ?, ?)";
 
+    /** SQL para obtener el ID generado por la ultima insercion de la conexion */
+    public static final String SQL_ULTIMO_ID = "SELECT last_insert_rowid()";
+
+    /**
+     * Columnas de un estudiante completo, en el orden de las consultas SELECT.
+     * EstudianteDAO la reemplaza por las columnas de un MapeadorFila para
+     * consultar solo esas.
+     */
+    public static final String COLUMNAS_ESTUDIANTE = "id, nombre, apellido, email, carrera, semestre, version";
+
     /** SQL para obtener todos los estudiantes */
-    public static final String SQL_OBTENER_TODOS = "SELECT id, nombre, apellido, email, carrera, semestre FROM estudiantes ORDER BY id";
+    public static final String SQL_OBTENER_TODOS = "SELECT " + COLUMNAS_ESTUDIANTE + " FROM estudiantes ORDER BY id";
+
+    /** SQL para obtener una pagina de estudiantes a partir de un ID (paginacion por clave) */
+    public static final String SQL_OBTENER_PAGINA = "SELECT " + COLUMNAS_ESTUDIANTE + " FROM estudiantes WHERE id > ? ORDER BY id LIMIT ?";
+
+    /** SQL para contar los estudiantes */
+    public static final String SQL_CONTAR = "SELECT COUNT(*) FROM estudiantes";
+
+    /** SQL para contar estudiantes por carrera (recorre el indice carrera, semestre) */
+    public static final String SQL_CONTAR_POR_CARRERA = "SELECT carrera, COUNT(*) FROM estudiantes GROUP BY carrera ORDER BY carrera";
+
+    /** SQL para contar estudiantes por semestre (recorre el indice de semestre) */
+    public static final String SQL_CONTAR_POR_SEMESTRE = "SELECT semestre, COUNT(*) FROM estudiantes GROUP BY semestre";
+
+    /** SQL para contar estudiantes por carrera y semestre */
+    public static final String SQL_CONTAR_POR_CARRERA_SEMESTRE = "SELECT carrera, semestre, COUNT(*) FROM estudiantes GROUP BY carrera, semestre ORDER BY carrera, semestre";
+
+    /** SQL para contar estudiantes de una carrera en un rango de semestres */
+    public static final String SQL_CONTAR_CARRERA_SEMESTRES = "SELECT COUNT(*) FROM estudiantes WHERE carrera = ? AND semestre BETWEEN ? AND ?";
+
+    /** SQL para contar estudiantes de todas las carreras en un rango de semestres */
+    public static final String SQL_CONTAR_SEMESTRES = "SELECT COUNT(*) FROM estudiantes WHERE semestre BETWEEN ? AND ?";
 
     /** SQL para obtener un estudiante por ID */
-    public static final String SQL_OBTENER_POR_ID = "SELECT id, nombre, apellido, email, carrera, semestre FROM estudiantes WHERE id = ?";
+    public static final String SQL_OBTENER_POR_ID = "SELECT " + COLUMNAS_ESTUDIANTE + " FROM estudiantes WHERE id = ?";
 
     /** SQL para buscar estudiantes por nombre */
-    public static final String SQL_BUSCAR_POR_NOMBRE = "SELECT id, nombre, apellido, email, carrera, semestre FROM estudiantes WHERE nombre LIKE ? OR apellido LIKE ?";
+    public static final String SQL_BUSCAR_POR_NOMBRE = "SELECT " + COLUMNAS_ESTUDIANTE + " FROM estudiantes WHERE nombre LIKE ? OR apellido LIKE ?";
+
+    /** SQL para buscar una pagina de estudiantes por nombre a partir de un ID */
+    public static final String SQL_BUSCAR_POR_NOMBRE_PAGINA = "SELECT " + COLUMNAS_ESTUDIANTE + " FROM estudiantes WHERE id > ? AND (nombre LIKE ? OR apellido LIKE ?) ORDER BY id LIMIT ?";
+
+    /**
+     * SQL para buscar estudiantes por prefijo de apellido: rango sobre el
+     * indice (apellido, nombre), que ya entrega las filas en este orden
+     */
+    public static final String SQL_BUSCAR_POR_APELLIDO = "SELECT " + COLUMNAS_ESTUDIANTE + " FROM estudiantes WHERE apellido >= ? AND apellido < ? ORDER BY apellido, nombre, id LIMIT ?";
+
+    /** SQL para buscar estudiantes por nombre con el indice de texto (coincidencia por prefijo) */
+    public static final String SQL_BUSCAR_POR_NOMBRE_TEXTO = "SELECT " + COLUMNAS_ESTUDIANTE + " FROM estudiantes WHERE id IN (SELECT rowid FROM estudiantes_fts WHERE estudiantes_fts MATCH ?) ORDER BY id";
+
+    /** SQL para buscar una pagina de estudiantes por nombre con el indice de texto */
+    public static final String SQL_BUSCAR_POR_NOMBRE_TEXTO_PAGINA = "SELECT " + COLUMNAS_ESTUDIANTE + " FROM estudiantes WHERE id IN (SELECT rowid FROM estudiantes_fts WHERE estudiantes_fts MATCH ?) AND id > ? ORDER BY id LIMIT ?";
 
     /** SQL para actualizar un estudiante */
-    public static final String SQL_ACTUALIZAR = "UPDATE estudiantes SET nombre = ?, apellido = ?, email = ?, carrera = ?, semestre = ? WHERE id = ?";
+    public static final String SQL_ACTUALIZAR = "UPDATE estudiantes SET nombre = ?, apellido = ?, email = ?, carrera = ?, semestre = ?, version = version + 1 WHERE id = ?";
+
+    /** SQL para obtener la version actual de un estudiante */
+    public static final String SQL_OBTENER_VERSION = "SELECT version FROM estudiantes WHERE id = ?";
 
     /** SQL para eliminar un estudiante */
     public static final String SQL_ELIMINAR = "DELETE FROM estudiantes WHERE id = ?";
@@ -57,6 +384,7 @@ public final class Constantes {
     public static final String MSG_EXITO_ELIMINAR = "[OK] Estudiante eliminado exitosamente.";
     public static final String MSG_ERROR_CONEXION = "[ERROR] Error al conectar con la base de datos.";
     public static final String MSG_NO_ENCONTRADO = "[ERROR] Estudiante no encontrado.";
+    public static final String MSG_CONFLICTO_ACTUALIZAR = "[ERROR] Otro usuario modifico este estudiante mientras lo editaba. No se guardaron los cambios.";
     public static final String MSG_LISTA_VACIA = "No hay estudiantes registrados.";
 
     // ==================== CONFIGURACION DE INTERFAZ ====================
@@ -73,11 +401,23 @@ public final class Constantes {
     public static final String SEPARADOR = repetir("=", 80);
     public static final String SEPARADOR_LINEA = repetir("-", 80);
 
+    /** Filas por pagina al listar estudiantes en consola */
+    public static final int TAMANO_PAGINA = 20;
+
+    /**
+     * Ancho de cada columna de la tabla de estudiantes: ID, nombre, apellido,
+     * email, carrera y semestre. Debe coincidir con ENCABEZADO_TABLA.
+     */
+    public static final int[] ANCHOS_TABLA = { 7, 12, 12, 20, 15, 4 };
+
     /** Encabezado de la tabla de estudiantes */
     public static final String ENCABEZADO_TABLA = String.format(
-            "| %-3s | %-12s | %-12s | %-20s | %-15s | %-4s |",
+            "| %-7s | %-12s | %-12s | %-20s | %-15s | %-4s |",
             "ID", "NOMBRE", "APELLIDO", "EMAIL", "CARRERA", "SEM");
 
+    /** Tamano del buffer de salida de las tablas en consola (caracteres) */
+    public static final int CONSOLA_BUFFER = 1 << 16;
+
     // Constructor privado para evitar instanciacion
     private Constantes() {
         throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
@@ -0,0 +1,141 @@
+package com.sena.estudiantes.util;
+
+/**
+ * Mapa de claves int positivas a valores int con direccionamiento abierto
+ * (sondeo lineal), sin objetos Integer ni nodos por entrada. Lo usan
+ * EstudianteRepositoryMemoria e InstantaneaEstudiantes para ubicar la
+ * posición de cada ID en sus arreglos de filas.
+ *
+ * Las claves y los valores viven en dos arreglos paralelos; la clave 0
+ * marca una celda libre. Al eliminar, las entradas siguientes del mismo
+ * grupo se desplazan hacia atrás, así que no quedan marcas de borrado. La
+ * tabla se duplica al superar la mitad de ocupación.
+ *
+ * No es seguro para varios hilos: cada clase que lo usa lo protege con su
+ * candado.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public final class MapaEnteros {
+
+    /** Valor devuelto para una clave que no está en el mapa */
+    public static final int AUSENTE = -1;
+
+    private int[] claves;
+    private int[] valores;
+    private int mascara;
+    private int tamano;
+
+    /**
+     * @param capacidadInicial Entradas previstas
+     */
+    public MapaEnteros(int capacidadInicial) {
+        int celdas = Integer.highestOneBit(Math.max(4, capacidadInicial * 2 - 1)) << 1;
+        claves = new int[celdas];
+        valores = new int[celdas];
+        mascara = celdas - 1;
+    }
+
+    /**
+     * @return Número de entradas
+     */
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * @param clave Clave positiva
+     * @return Valor asociado, o AUSENTE si no existe
+     */
+    public int obtener(int clave) {
+        for (int i = celda(clave);; i = (i + 1) & mascara) {
+            int actual = claves[i];
+            if (actual == clave) {
+                return valores[i];
+            }
+            if (actual == 0) {
+                return AUSENTE;
+            }
+        }
+    }
+
+    /**
+     * @param clave Clave positiva
+     * @param valor Valor a asociar
+     * @return Valor anterior, o AUSENTE si la clave no existía
+     */
+    public int poner(int clave, int valor) {
+        if (clave <= 0) {
+            throw new IllegalArgumentException("La clave debe ser positiva: " + clave);
+        }
+        int i = celda(clave);
+        while (claves[i] != 0) {
+            if (claves[i] == clave) {
+                int anterior = valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++tamano * 2 > claves.length) {
+            crecer();
+        }
+        return AUSENTE;
+    }
+
+    /**
+     * @param clave Clave a eliminar
+     * @return Valor eliminado, o AUSENTE si la clave no existía
+     */
+    public int quitar(int clave) {
+        int i = celda(clave);
+        while (claves[i] != clave) {
+            if (claves[i] == 0) {
+                return AUSENTE;
+            }
+            i = (i + 1) & mascara;
+        }
+        int anterior = valores[i];
+        tamano--;
+
+        // Desplaza hacia el hueco las entradas cuya celda ideal no queda entre el hueco y su posición
+        int hueco = i;
+        for (int j = (i + 1) & mascara; claves[j] != 0; j = (j + 1) & mascara) {
+            int ideal = celda(claves[j]);
+            if (((j - ideal) & mascara) >= ((j - hueco) & mascara)) {
+                claves[hueco] = claves[j];
+                valores[hueco] = valores[j];
+                hueco = j;
+            }
+        }
+        claves[hueco] = 0;
+        return anterior;
+    }
+
+    /** Celda ideal de una clave: hash de Fibonacci con los bits altos, porque los IDs son consecutivos */
+    private int celda(int clave) {
+        return (clave * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mascara) & mascara;
+    }
+
+    private void crecer() {
+        int[] clavesAnteriores = claves;
+        int[] valoresAnteriores = valores;
+        claves = new int[clavesAnteriores.length * 2];
+        valores = new int[clavesAnteriores.length * 2];
+        mascara = claves.length - 1;
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            int clave = clavesAnteriores[i];
+            if (clave != 0) {
+                int j = celda(clave);
+                while (claves[j] != 0) {
+                    j = (j + 1) & mascara;
+                }
+                claves[j] = clave;
+                valores[j] = valoresAnteriores[i];
+            }
+        }
+    }
+}
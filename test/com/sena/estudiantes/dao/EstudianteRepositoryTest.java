@@ -0,0 +1,326 @@
+package com.sena.estudiantes.dao;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.sena.estudiantes.modelo.ConteoCarreras;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Comportamiento que debe tener cualquier EstudianteRepository. Las mismas
+ * pruebas se ejecutan con EstudianteDAO (SQLite en un archivo temporal) y
+ * con EstudianteRepositoryMemoria, para que los dos motores den los mismos
+ * resultados y mensajes.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+@RunWith(Parameterized.class)
+public class EstudianteRepositoryTest {
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> motores() {
+        Supplier<EstudianteRepository> sqlite = EstudianteRepositoryTest::crearSQLite;
+        Supplier<EstudianteRepository> memoria = EstudianteRepositoryMemoria::new;
+        return Arrays.asList(new Object[][] { { "sqlite", sqlite }, { "memoria", memoria } });
+    }
+
+    private final Supplier<EstudianteRepository> fabrica;
+    private EstudianteRepository repositorio;
+
+    public EstudianteRepositoryTest(String motor, Supplier<EstudianteRepository> fabrica) {
+        this.fabrica = fabrica;
+    }
+
+    /**
+     * ConexionBD es única por JVM y lee la URL al crearse, así que todas las
+     * pruebas de SQLite comparten una base temporal que se vacía antes de cada una.
+     */
+    @BeforeClass
+    public static void usarBaseTemporal() throws IOException {
+        Path archivo = Files.createTempFile("estudiantes-prueba", ".db");
+        archivo.toFile().deleteOnExit();
+        System.setProperty(Constantes.PROP_DB_URL, "jdbc:sqlite:" + archivo);
+    }
+
+    private static EstudianteRepository crearSQLite() {
+        EstudianteDAO dao = new EstudianteDAO();
+        for (Estudiante estudiante : dao.obtenerTodos()) {
+            dao.eliminar(estudiante.getId());
+        }
+        return dao;
+    }
+
+    @Before
+    public void crearRepositorio() {
+        repositorio = fabrica.get();
+    }
+
+    // ==================== INSERTAR ====================
+
+    @Test
+    public void insertarAsignaIdYVersion() {
+        Estudiante estudiante = estudiante("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 3);
+
+        assertTrue(repositorio.insertar(estudiante));
+        assertTrue(estudiante.getId() > 0);
+        assertEquals(1, estudiante.getVersion());
+
+        Estudiante leido = repositorio.obtenerPorId(estudiante.getId());
+        assertNotNull(leido);
+        assertEquals("Ana", leido.getNombre());
+        assertEquals("Gomez", leido.getApellido());
+        assertEquals("ana@sena.edu.co", leido.getEmail());
+        assertEquals("Sistemas", leido.getCarrera());
+        assertEquals(3, leido.getSemestre());
+        assertEquals(1, leido.getVersion());
+        assertNull(repositorio.obtenerPorId(estudiante.getId() + 1000));
+    }
+
+    @Test
+    public void insertarRechazaEmailDuplicado() {
+        assertTrue(repositorio.insertar(estudiante("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 3)));
+
+        Estudiante duplicado = estudiante("Otra", "Ana", "ana@sena.edu.co", "Sistemas", 1);
+        assertFalse(repositorio.insertar(duplicado));
+        assertEquals(0, duplicado.getId());
+        assertEquals(1, repositorio.contarEstudiantes());
+    }
+
+    @Test
+    public void insertarLoteInformaLasRestriccionesComoSQLite() {
+        List<Estudiante> lote = new ArrayList<>();
+        lote.add(estudiante("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 3));
+        lote.add(estudiante("Luis", "Perez", "ana@sena.edu.co", "Sistemas", 2));
+        lote.add(estudiante("Eva", "Ruiz", "eva@sena.edu.co", "Sistemas", 11));
+        lote.add(estudiante(null, "Diaz", "sin.nombre@sena.edu.co", "Sistemas", 1));
+        lote.add(estudiante("Juan", "Mora", "juan@sena.edu.co", "Contabilidad", 1));
+
+        ResultadoLote resultado = repositorio.insertarLote(lote);
+
+        assertEquals(2, resultado.getInsertados());
+        assertFalse(resultado.isInterrumpido());
+        List<ResultadoLote.Falla> fallas = resultado.getFallas();
+        assertEquals(3, fallas.size());
+        assertFalla(fallas.get(0), 1, "UNIQUE constraint failed: estudiantes.email");
+        assertFalla(fallas.get(1), 2, "CHECK constraint failed: semestre >= 1 AND semestre <= 10");
+        assertFalla(fallas.get(2), 3, "NOT NULL constraint failed: estudiantes.nombre");
+
+        assertTrue(lote.get(0).getId() > 0);
+        assertTrue(lote.get(4).getId() > lote.get(0).getId());
+        assertEquals(0, lote.get(1).getId());
+        assertEquals(2, repositorio.contarEstudiantes());
+    }
+
+    // ==================== ACTUALIZAR ====================
+
+    @Test
+    public void actualizarCambiosSinCambios() {
+        Estudiante estudiante = insertar("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 3);
+        Estudiante leido = repositorio.obtenerPorId(estudiante.getId());
+
+        assertEquals(ResultadoActualizacion.SIN_CAMBIOS, repositorio.actualizarCambios(leido));
+        assertEquals(1, repositorio.obtenerPorId(estudiante.getId()).getVersion());
+    }
+
+    @Test
+    public void actualizarCambiosIncrementaLaVersion() {
+        Estudiante estudiante = insertar("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 3);
+        Estudiante leido = repositorio.obtenerPorId(estudiante.getId());
+        leido.setSemestre(4);
+
+        assertEquals(ResultadoActualizacion.ACTUALIZADO, repositorio.actualizarCambios(leido));
+        assertEquals(2, leido.getVersion());
+        assertFalse(leido.tieneCambios());
+
+        Estudiante guardado = repositorio.obtenerPorId(estudiante.getId());
+        assertEquals(4, guardado.getSemestre());
+        assertEquals("Ana", guardado.getNombre());
+        assertEquals(2, guardado.getVersion());
+    }
+
+    @Test
+    public void actualizarCambiosDetectaConflicto() {
+        Estudiante estudiante = insertar("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 3);
+        Estudiante primero = repositorio.obtenerPorId(estudiante.getId());
+        Estudiante segundo = repositorio.obtenerPorId(estudiante.getId());
+
+        primero.setSemestre(5);
+        assertEquals(ResultadoActualizacion.ACTUALIZADO, repositorio.actualizarCambios(primero));
+
+        segundo.setCarrera("Contabilidad");
+        assertEquals(ResultadoActualizacion.CONFLICTO, repositorio.actualizarCambios(segundo));
+        assertEquals(1, segundo.getVersion());
+        assertTrue(segundo.tieneCambios());
+
+        Estudiante guardado = repositorio.obtenerPorId(estudiante.getId());
+        assertEquals(5, guardado.getSemestre());
+        assertEquals("Sistemas", guardado.getCarrera());
+    }
+
+    @Test
+    public void actualizarCambiosDeEstudianteEliminado() {
+        Estudiante estudiante = insertar("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 3);
+        Estudiante leido = repositorio.obtenerPorId(estudiante.getId());
+        assertTrue(repositorio.eliminar(estudiante.getId()));
+
+        leido.setSemestre(4);
+        assertEquals(ResultadoActualizacion.NO_ENCONTRADO, repositorio.actualizarCambios(leido));
+        assertFalse(repositorio.eliminar(estudiante.getId()));
+    }
+
+    @Test
+    public void actualizarCambiosRechazaEmailDuplicado() {
+        insertar("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 3);
+        Estudiante otro = insertar("Luis", "Perez", "luis@sena.edu.co", "Sistemas", 2);
+        Estudiante leido = repositorio.obtenerPorId(otro.getId());
+
+        leido.setEmail("ana@sena.edu.co");
+        assertEquals(ResultadoActualizacion.ERROR, repositorio.actualizarCambios(leido));
+        assertEquals(1, leido.getVersion());
+        assertEquals("luis@sena.edu.co", repositorio.obtenerPorId(otro.getId()).getEmail());
+    }
+
+    @Test
+    public void actualizarEscribeTodosLosCampos() {
+        Estudiante estudiante = insertar("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 3);
+        estudiante.setApellido("Gomez Ruiz");
+
+        assertTrue(repositorio.actualizar(estudiante));
+        assertFalse(estudiante.tieneCambios());
+        assertEquals("Gomez Ruiz", repositorio.obtenerPorId(estudiante.getId()).getApellido());
+
+        Estudiante inexistente = estudiante("X", "Y", "x@sena.edu.co", "Sistemas", 1);
+        inexistente.setId(estudiante.getId() + 1000);
+        assertFalse(repositorio.actualizar(inexistente));
+    }
+
+    // ==================== BUSCAR ====================
+
+    @Test
+    public void buscarPorApellidoPorPrefijoYEnOrden() {
+        insertar("Luis", "Gomez", "luis@sena.edu.co", "Sistemas", 1);
+        insertar("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 1);
+        insertar("Eva", "Gonzalez", "eva@sena.edu.co", "Sistemas", 1);
+        insertar("Juan", "gomez", "juan@sena.edu.co", "Sistemas", 1);
+        insertar("Rosa", "Perez", "rosa@sena.edu.co", "Sistemas", 1);
+
+        // Distingue mayúsculas y ordena por apellido y nombre
+        assertEquals(Arrays.asList("Gomez Ana", "Gomez Luis"), apellidosYNombres(
+                repositorio.buscarPorApellido("Gom", 10)));
+        assertEquals(Arrays.asList("Gomez Ana", "Gomez Luis"), apellidosYNombres(
+                repositorio.buscarPorApellido("Go", 2)));
+        assertEquals(Arrays.asList("Gomez Ana", "Gomez Luis", "Gonzalez Eva", "Perez Rosa", "gomez Juan"),
+                apellidosYNombres(repositorio.buscarPorApellido("", 10)));
+        assertTrue(repositorio.buscarPorApellido("Z", 10).isEmpty());
+        assertTrue(repositorio.buscarPorApellido(null, 10).isEmpty());
+    }
+
+    @Test
+    public void buscarPorNombre() {
+        Estudiante ana = insertar("Ana Maria", "Gomez", "ana@sena.edu.co", "Sistemas", 1);
+        insertar("Luis", "Perez", "luis@sena.edu.co", "Sistemas", 1);
+
+        List<Estudiante> encontrados = repositorio.buscarPorNombre("maria");
+        assertEquals(1, encontrados.size());
+        assertEquals(ana.getId(), encontrados.get(0).getId());
+        assertEquals(1, repositorio.buscarPorNombre("gomez", 0, 10).size());
+        assertTrue(repositorio.buscarPorNombre(null).isEmpty());
+        assertTrue(repositorio.buscarPorNombre(null, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void obtenerPaginaSaltaLosEliminados() {
+        int[] ids = new int[5];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = insertar("N" + i, "A" + i, "e" + i + "@sena.edu.co", "Sistemas", 1).getId();
+        }
+        assertTrue(repositorio.eliminar(ids[1]));
+        assertTrue(repositorio.eliminar(ids[2]));
+
+        assertArrayEquals(new int[] { ids[0], ids[3] }, idsDe(repositorio.obtenerPagina(0, 2)));
+        // La página siguiente a un ID eliminado empieza en el siguiente que existe
+        assertArrayEquals(new int[] { ids[3], ids[4] }, idsDe(repositorio.obtenerPagina(ids[1], 2)));
+        assertArrayEquals(new int[] { ids[4] }, idsDe(repositorio.obtenerPagina(ids[3], 2)));
+        assertEquals(0, repositorio.obtenerPagina(ids[4], 2).size());
+    }
+
+    // ==================== CONTAR ====================
+
+    @Test
+    public void conteosSiguenLosCambios() {
+        insertar("Ana", "Gomez", "ana@sena.edu.co", "Sistemas", 1);
+        Estudiante luis = insertar("Luis", "Perez", "luis@sena.edu.co", "Sistemas", 3);
+        insertar("Eva", "Ruiz", "eva@sena.edu.co", "Contabilidad", 3);
+        Estudiante juan = insertar("Juan", "Mora", "juan@sena.edu.co", "Contabilidad", 10);
+
+        assertTrue(repositorio.eliminar(juan.getId()));
+        Estudiante leido = repositorio.obtenerPorId(luis.getId());
+        leido.setCarrera("Contabilidad");
+        assertEquals(ResultadoActualizacion.ACTUALIZADO, repositorio.actualizarCambios(leido));
+
+        assertEquals(3, repositorio.contarEstudiantes());
+
+        int[] porSemestre = repositorio.contarPorSemestre();
+        assertEquals(1, porSemestre[1]);
+        assertEquals(2, porSemestre[3]);
+        assertEquals(0, porSemestre[10]);
+
+        ConteoCarreras porCarrera = repositorio.contarPorCarrera();
+        assertEquals(1, porCarrera.getConteo("Sistemas"));
+        assertEquals(2, porCarrera.getConteo("Contabilidad"));
+
+        assertEquals(2, repositorio.contar("Contabilidad", 1, 10));
+        assertEquals(2, repositorio.contar("Contabilidad", 3, 3));
+        assertEquals(0, repositorio.contar("Contabilidad", 4, 10));
+        assertEquals(0, repositorio.contar("Enfermeria", 1, 10));
+    }
+
+    // ==================== METODOS AUXILIARES ====================
+
+    private static Estudiante estudiante(String nombre, String apellido, String email, String carrera, int semestre) {
+        return new Estudiante(nombre, apellido, email, carrera, semestre);
+    }
+
+    private Estudiante insertar(String nombre, String apellido, String email, String carrera, int semestre) {
+        Estudiante estudiante = estudiante(nombre, apellido, email, carrera, semestre);
+        assertTrue(repositorio.insertar(estudiante));
+        return estudiante;
+    }
+
+    private static void assertFalla(ResultadoLote.Falla falla, int posicion, String mensaje) {
+        assertEquals(posicion, falla.getPosicion());
+        assertTrue("Mensaje inesperado: " + falla.getMensaje(), falla.getMensaje().contains(mensaje));
+    }
+
+    private static List<String> apellidosYNombres(List<Estudiante> estudiantes) {
+        List<String> resultado = new ArrayList<>();
+        for (Estudiante estudiante : estudiantes) {
+            resultado.add(estudiante.getApellido() + " " + estudiante.getNombre());
+        }
+        return resultado;
+    }
+
+    private static int[] idsDe(List<Estudiante> estudiantes) {
+        return estudiantes.stream().mapToInt(Estudiante::getId).toArray();
+    }
+}
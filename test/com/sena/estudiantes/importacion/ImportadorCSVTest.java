@@ -0,0 +1,214 @@
+package com.sena.estudiantes.importacion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.sena.estudiantes.dao.EstudianteRepositoryMemoria;
+import com.sena.estudiantes.importacion.ResultadoImportacion.ErrorLinea;
+import com.sena.estudiantes.modelo.Estudiante;
+import com.sena.estudiantes.util.Constantes;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Interpretación de líneas, encabezado y reanudación de ImportadorCSV, sobre
+ * EstudianteRepositoryMemoria. Los bloques son de dos líneas para que cada
+ * archivo pase por varios bloques y varios hilos de validación.
+ *
+ * @author SENA
+ * @version 1.0
+ */
+public class ImportadorCSVTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private EstudianteRepositoryMemoria repositorio;
+    private ImportadorCSV importador;
+
+    @Before
+    public void crearImportador() {
+        repositorio = new EstudianteRepositoryMemoria();
+        importador = new ImportadorCSV(repositorio, 2, 2, 2);
+    }
+
+    // ==================== ENCABEZADO ====================
+
+    @Test
+    public void aceptaColumnasEnCualquierOrdenEIgnoraLasDemas() throws IOException {
+        ResultadoImportacion resultado = importar(
+                "\uFEFFid,Semestre,EMAIL,nombre,apellido,carrera",
+                "7,3,ana@sena.edu.co,Ana,Gomez,Sistemas");
+
+        assertEquals(1, resultado.getInsertados());
+        Estudiante ana = repositorio.obtenerTodos().get(0);
+        assertEquals("Ana", ana.getNombre());
+        assertEquals("Gomez", ana.getApellido());
+        assertEquals("ana@sena.edu.co", ana.getEmail());
+        assertEquals("Sistemas", ana.getCarrera());
+        assertEquals(3, ana.getSemestre());
+    }
+
+    @Test
+    public void rechazaEncabezadoSinColumnaObligatoria() throws IOException {
+        try {
+            importar("nombre,apellido,carrera,semestre", "Ana,Gomez,Sistemas,3");
+            fail("Se esperaba IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("email"));
+        }
+        assertEquals(0, repositorio.contarEstudiantes());
+    }
+
+    @Test(expected = IOException.class)
+    public void rechazaArchivoVacio() throws IOException {
+        importar();
+    }
+
+    // ==================== CAMPOS ====================
+
+    @Test
+    public void interpretaCamposEntreComillas() throws IOException {
+        ResultadoImportacion resultado = importar(
+                "nombre,apellido,email,carrera,semestre",
+                "\"Ana \"\"Anita\"\"\",\"Gomez, Perez\",ana@sena.edu.co,\"Sistemas\" ,4",
+                "Luis,Diaz,luis@sena.edu.co,,");
+
+        assertEquals(1, resultado.getInsertados());
+        Estudiante ana = repositorio.obtenerTodos().get(0);
+        assertEquals("Ana \"Anita\"", ana.getNombre());
+        assertEquals("Gomez, Perez", ana.getApellido());
+        assertEquals("Sistemas", ana.getCarrera());
+        assertError(resultado, 3, "carrera");
+    }
+
+    @Test
+    public void rechazaTextoDespuesDeLaComillaDeCierre() throws IOException {
+        ResultadoImportacion resultado = importar(
+                "nombre,apellido,email,carrera,semestre",
+                "\"Ana\"Maria,Gomez,ana@sena.edu.co,Sistemas,3",
+                "Luis,Diaz,luis@sena.edu.co,Sistemas,2");
+
+        assertEquals(1, resultado.getInsertados());
+        assertError(resultado, 2, "Comillas");
+        assertEquals("Luis", repositorio.obtenerTodos().get(0).getNombre());
+    }
+
+    @Test
+    public void rechazaComillasSinCerrar() throws IOException {
+        ResultadoImportacion resultado = importar(
+                "nombre,apellido,email,carrera,semestre",
+                "\"Ana,Gomez,ana@sena.edu.co,Sistemas,3");
+
+        assertEquals(0, resultado.getInsertados());
+        assertError(resultado, 2, "Comillas");
+    }
+
+    @Test
+    public void informaCadaLineaRechazadaConSuNumero() throws IOException {
+        ResultadoImportacion resultado = importar(
+                "nombre,apellido,email,carrera,semestre",
+                "Ana,Gomez,ana@sena.edu.co,Sistemas,3",
+                "",
+                "Luis,Diaz,sin-arroba,Sistemas,2",
+                "Eva,Ruiz,eva@sena.edu.co,Sistemas,11",
+                "Juan,Mora,juan@sena.edu.co,Sistemas",
+                "Sara,Vega,ana@sena.edu.co,Sistemas,1",
+                "Pablo,Rios,pablo@sena.edu.co,Sistemas,x");
+
+        assertEquals(1, resultado.getInsertados());
+        assertEquals(5, resultado.getErrores().size());
+        assertError(resultado, 4, "Email");
+        assertError(resultado, 5, "semestre");
+        assertError(resultado, 6, "campos");
+        assertError(resultado, 7, "email");
+        assertError(resultado, 8, "Semestre");
+    }
+
+    // ==================== PUNTO DE CONTROL ====================
+
+    @Test
+    public void reanudaDespuesDeLaUltimaLineaConfirmada() throws IOException {
+        Path archivo = escribir(
+                "nombre,apellido,email,carrera,semestre",
+                "Ana,Gomez,ana@sena.edu.co,Sistemas,3",
+                "Luis,Diaz,luis@sena.edu.co,Sistemas,2",
+                "Eva,Ruiz,eva@sena.edu.co,Sistemas,1");
+        guardarPuntoControl(archivo, 3);
+
+        ResultadoImportacion resultado = importador.importar(archivo);
+
+        assertEquals(1, resultado.getInsertados());
+        assertEquals(2, resultado.getOmitidas());
+        assertEquals(1, repositorio.contarEstudiantes());
+        assertEquals("eva@sena.edu.co", repositorio.obtenerTodos().get(0).getEmail());
+        assertFalse(Files.exists(puntoControl(archivo)));
+    }
+
+    @Test
+    public void ignoraElPuntoControlDeOtroArchivo() throws IOException {
+        Path archivo = escribir(
+                "nombre,apellido,email,carrera,semestre",
+                "Ana,Gomez,ana@sena.edu.co,Sistemas,3",
+                "Luis,Diaz,luis@sena.edu.co,Sistemas,2");
+        Properties propiedades = new Properties();
+        propiedades.setProperty("archivo", "0:0");
+        propiedades.setProperty("linea", "2");
+        try (OutputStream salida = Files.newOutputStream(puntoControl(archivo))) {
+            propiedades.store(salida, null);
+        }
+
+        ResultadoImportacion resultado = importador.importar(archivo);
+
+        assertEquals(2, resultado.getInsertados());
+        assertEquals(0, resultado.getOmitidas());
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private ResultadoImportacion importar(String... lineas) throws IOException {
+        return importador.importar(escribir(lineas));
+    }
+
+    private Path escribir(String... lineas) throws IOException {
+        Path archivo = carpeta.newFile().toPath();
+        Files.write(archivo, String.join("\n", lineas).getBytes(StandardCharsets.UTF_8));
+        return archivo;
+    }
+
+    private static Path puntoControl(Path archivo) {
+        return archivo.resolveSibling(archivo.getFileName() + Constantes.EXTENSION_PUNTO_CONTROL);
+    }
+
+    /** Punto de control con la misma firma (tamaño y fecha) que calcula el importador */
+    private static void guardarPuntoControl(Path archivo, long linea) throws IOException {
+        Properties propiedades = new Properties();
+        propiedades.setProperty("archivo", Files.size(archivo) + ":" + Files.getLastModifiedTime(archivo).toMillis());
+        propiedades.setProperty("linea", Long.toString(linea));
+        try (OutputStream salida = Files.newOutputStream(puntoControl(archivo))) {
+            propiedades.store(salida, null);
+        }
+    }
+
+    private static void assertError(ResultadoImportacion resultado, long linea, String fragmento) {
+        List<ErrorLinea> errores = resultado.getErrores();
+        for (ErrorLinea error : errores) {
+            if (error.getLinea() == linea) {
+                assertTrue(error.getMensaje(), error.getMensaje().contains(fragmento));
+                return;
+            }
+        }
+        fail("No hay error en la linea " + linea + ": " + errores);
+    }
+}